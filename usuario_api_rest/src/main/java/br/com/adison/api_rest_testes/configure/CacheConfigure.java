@@ -0,0 +1,22 @@
+package br.com.adison.api_rest_testes.configure;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Esta classe de configuração CacheConfigure habilita o cache em memória da aplicação.
+ * Com ela as anotações @Cacheable, @CachePut e @CacheEvict dos serviços passam a ser
+ * interceptadas pelo Spring, que consulta o cache antes de executar o método.
+ * <p>
+ * O provedor usado é o Caffeine, escolhido automaticamente pelo Spring Boot por estar no
+ * classpath. Os limites do cache ficam no application.properties, na propriedade
+ * "spring.cache.caffeine.spec": quantidade máxima de entradas (maximumSize), tempo de vida
+ * após a escrita (expireAfterWrite) e o registro das estatísticas de acertos e falhas
+ * (recordStats).
+ * <p>
+ * A anotação, @EnableCaching, ativa o suporte a cache baseado em anotações do Spring.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfigure {
+}
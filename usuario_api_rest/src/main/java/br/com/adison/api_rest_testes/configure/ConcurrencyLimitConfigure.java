@@ -0,0 +1,37 @@
+package br.com.adison.api_rest_testes.configure;
+
+import br.com.adison.api_rest_testes.controller.limit.ConcurrencyLimitInterceptor;
+import br.com.adison.api_rest_testes.controller.resources.UserResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Esta classe de configuração ConcurrencyLimitConfigure registra o ConcurrencyLimitInterceptor nas urls
+ * do UserResource ("/user" e abaixo dela).
+ * <p>
+ * A exportação ("/user/export") fica de fora: ela é um streaming que pode durar minutos por desenho, e
+ * esse tempo seria lido pelo limite de leituras como lentidão do banco, derrubando o limite das demais
+ * consultas.
+ * <p>
+ * A anotação @Profile("!reactive") deixa a configuração fora do modo reativo, que não usa o Spring MVC.
+ */
+@Configuration
+@Profile("!reactive")
+public class ConcurrencyLimitConfigure implements WebMvcConfigurer {
+    @Autowired
+    private ConcurrencyLimitInterceptor interceptor;
+
+    /**
+     * O método addInterceptors inclui o interceptor na cadeia do Spring MVC para as urls do UserResource,
+     * menos a exportação.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor)
+                .addPathPatterns("/user", "/user/**")
+                .excludePathPatterns("/user" + UserResource.EXPORT);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.adison.api_rest_testes.configure;
+
+import br.com.adison.api_rest_testes.model.service.exceptions.ServiceException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Esta classe de configuração ExceptionConfigure aplica a propriedade "api.exceptions.stack-trace" às
+ * exceções do aplicativo (ServiceException). O application.properties a desliga, então um 404 ou 400
+ * não paga o preenchimento do rastro da pilha; para investigar de onde uma exceção é lançada basta
+ * ligá-la, por exemplo com --api.exceptions.stack-trace=true.
+ * <p>
+ * A opção fica em um campo estático da ServiceException, então vale para o processo inteiro, e não só
+ * para este contexto do Spring. Por isso o valor anterior é guardado na criação e devolvido quando o
+ * contexto é fechado, para que outro contexto no mesmo processo (os contextos reaproveitados entre as
+ * classes de teste, ou os benchmarks JMH) não herde a opção de um contexto que já terminou.
+ */
+@Configuration
+public class ExceptionConfigure {
+    @Value("${api.exceptions.stack-trace:true}")
+    private boolean stackTrace;
+    private boolean previous;
+
+    /**
+     * O método, public void apply(), repassa o valor da propriedade para a ServiceException assim que a
+     * configuração é criada, antes de a aplicação atender requisições, guardando o valor que ela tinha.
+     */
+    @PostConstruct
+    public void apply() {
+        previous = ServiceException.isStackTraceEnabled();
+        ServiceException.setStackTraceEnabled(stackTrace);
+    }
+
+    /**
+     * O método, public void restore(), devolve à ServiceException o valor que ela tinha antes deste
+     * contexto, quando o contexto é fechado.
+     */
+    @PreDestroy
+    public void restore() {
+        ServiceException.setStackTraceEnabled(previous);
+    }
+}
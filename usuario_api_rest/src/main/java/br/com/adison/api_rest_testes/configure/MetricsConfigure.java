@@ -0,0 +1,32 @@
+package br.com.adison.api_rest_testes.configure;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Esta classe de configuração MetricsConfigure completa as métricas expostas pelo Actuator em
+ * "/actuator/metrics" e "/actuator/prometheus".
+ * <p>
+ * As requisições HTTP já são medidas pelo Spring Boot no timer "http.server.requests", com as tags
+ * uri, method, status, outcome e exception, ou seja, uma série por endpoint e por resultado. A
+ * vazão de cada série é a contagem (count) do timer ao longo do tempo e os percentis p50, p95, p99
+ * e p999 são configurados no application.properties, nas propriedades
+ * "management.metrics.distribution.*".
+ * <p>
+ * O que falta ao Spring Boot é medir os métodos do UserService. O TimedAspect criado aqui intercepta
+ * as classes e métodos anotados com @Timed, como o UserServiceImplement, e registra o tempo de cada
+ * chamada no timer "user.service", com as tags class, method e exception.
+ */
+@Configuration
+public class MetricsConfigure {
+    /**
+     * O método, public TimedAspect timedAspect(MeterRegistry registry), cria o aspecto que transforma
+     * a anotação @Timed em um timer registrado no MeterRegistry da aplicação.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
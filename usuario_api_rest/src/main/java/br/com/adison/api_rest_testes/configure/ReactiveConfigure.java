@@ -0,0 +1,49 @@
+package br.com.adison.api_rest_testes.configure;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Esta classe de configuração ReactiveConfigure prepara o modo reativo da api, ativado pelo perfil
+ * "reactive" (application-reactive.properties), em que o /user é atendido pelo WebFlux e pelo R2DBC.
+ * <p>
+ * O Spring Boot deixa de criar o DataSource JDBC quando existe um ConnectionFactory do R2DBC, mas
+ * o JPA continua sendo necessário no modo reativo: é o Hibernate que cria a tabela users e a
+ * sequence, o LocalConfigure grava os usuários iniciais pelo UserRepository e o índice de e-mails
+ * é carregado por ele. Por isso o DataSource é declarado aqui com as mesmas propriedades
+ * spring.datasource.*, apontando para o mesmo banco H2 em memória que o R2DBC usa, assim os dois
+ * modos servem os mesmos dados.
+ * <p>
+ * A anotação @Profile("reactive") indica que esta configuração só é ativada no modo reativo.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfigure {
+    /**
+     * O método, public HikariDataSource dataSource(DataSourceProperties properties), cria o pool JDBC
+     * a partir das propriedades spring.datasource.* e aplica as propriedades spring.datasource.hikari.*,
+     * do mesmo jeito que a configuração automática do Spring Boot faria.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * O método, public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(), escolhe o Netty
+     * como servidor do modo reativo. Sem ele o Spring Boot usaria o Tomcat, que também está no
+     * classpath por causa do modo servlet.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
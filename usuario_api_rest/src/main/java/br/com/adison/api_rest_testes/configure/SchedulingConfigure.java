@@ -0,0 +1,16 @@
+package br.com.adison.api_rest_testes.configure;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Esta classe de configuração SchedulingConfigure habilita as tarefas periódicas da aplicação, como a
+ * conferência dos contadores do UserStatistics com o banco.
+ * <p>
+ * A anotação, @EnableScheduling, faz o Spring executar os métodos anotados com @Scheduled, no
+ * agendador padrão do Spring Boot (uma thread).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfigure {
+}
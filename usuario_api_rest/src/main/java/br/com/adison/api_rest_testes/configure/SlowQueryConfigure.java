@@ -0,0 +1,46 @@
+package br.com.adison.api_rest_testes.configure;
+
+import br.com.adison.api_rest_testes.monitoring.SlowQueryLogger;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Esta classe de configuração SlowQueryConfigure liga o SlowQueryLogger ao DataSource da aplicação.
+ * O DataSource criado pelo Spring Boot (ou pelo ReactiveConfigure, no modo reativo) é envolvido pelo
+ * proxy do datasource-proxy, que mede cada comando SQL e avisa o SlowQueryLogger ao final.
+ * <p>
+ * Se o DataSource já tiver sido envolvido por outro proxy do datasource-proxy, o SlowQueryLogger é
+ * apenas acrescentado aos ouvintes desse proxy, em vez de criar um segundo proxy em volta do primeiro.
+ */
+@Configuration
+public class SlowQueryConfigure {
+    /**
+     * O método, public static BeanPostProcessor slowQueryDataSourceProxy(ObjectProvider<SlowQueryLogger>
+     * logger), cria o BeanPostProcessor que envolve o DataSource. Ele é estático para ser criado antes
+     * dos demais beans, e o SlowQueryLogger só é obtido quando o DataSource aparece.
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourceProxy(ObjectProvider<SlowQueryLogger> logger) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ProxyDataSource proxy) {
+                    proxy.getProxyConfig().getQueryListener().addListener(logger.getObject());
+                    return proxy;
+                }
+                if (bean instanceof DataSource dataSource)
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(logger.getObject())
+                            .build();
+                return bean;
+            }
+        };
+    }
+}
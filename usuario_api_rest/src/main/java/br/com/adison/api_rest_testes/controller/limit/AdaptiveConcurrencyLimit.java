@@ -0,0 +1,121 @@
+package br.com.adison.api_rest_testes.controller.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Esta classe AdaptiveConcurrencyLimit é o limite de requisições simultâneas de um grupo de endpoints
+ * (leituras ou gravações do UserResource), ajustado a cada resposta pela latência observada, no estilo
+ * AIMD (aumento aditivo, redução multiplicativa).
+ * <p>
+ * Cada requisição chama tryAcquire() antes de executar e release(...) ao terminar, com o tempo que levou.
+ * Com o limite atingido, tryAcquire() retorna falso na hora e a requisição é recusada, em vez de esperar
+ * numa fila de threads do Tomcat enquanto o banco ou o pool de conexões está lento.
+ * <p>
+ * A cada resposta o limite é ajustado:
+ * <ul>
+ *     <li>uma resposta lenta ou com erro reduz o limite para limit * backoffRatio (sem ficar abaixo de
+ *     minLimit). Lenta é a resposta acima de maxLatency, ou acima de tolerance vezes a latência média do
+ *     grupo quando passa também de minLatency (abaixo disso a variação é ruído e não indica sobrecarga);</li>
+ *     <li>uma resposta normal aumenta o limite em 1 (até maxLimit), mas só quando pelo menos metade do
+ *     limite estava em uso, assim um período tranquilo não infla o limite sem ter sido testado.</li>
+ * </ul>
+ * A latência média é uma média móvel exponencial (SMOOTHING) que acompanha mudanças lentas de patamar,
+ * como no limite por gradiente: a redução reage ao aumento brusco em relação ao histórico recente.
+ * <p>
+ * A contagem em uso (inFlight) é atômica e não passa do limite; o ajuste do limite e da média é
+ * sincronizado, um trecho de poucas operações por resposta.
+ */
+public class AdaptiveConcurrencyLimit {
+    private static final double SMOOTHING = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final long minLatencyNanos;
+    private final long maxLatencyNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+    private double averageNanos;
+
+    /**
+     * Este construtor recebe o limite inicial, os limites mínimo e máximo, a proporção da redução, a
+     * tolerância sobre a latência média e as latências mínima e máxima em nanossegundos.
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                    double tolerance, long minLatencyNanos, long maxLatencyNanos) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.minLatencyNanos = minLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * O método, public boolean tryAcquire(), reserva uma vaga para a requisição, retornando falso (e
+     * contando a recusa) quando todas as vagas do limite atual estão em uso.
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1))
+                return true;
+        }
+    }
+
+    /**
+     * O método, public void release(long latencyNanos, boolean failed), devolve a vaga da requisição e
+     * ajusta o limite pela latência dela; failed indica uma resposta de erro do servidor.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int used = inFlight.getAndDecrement();
+        adjust(latencyNanos, failed, used);
+    }
+
+    /**
+     * O método getLimit() retorna o limite atual de requisições simultâneas.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * O método getInFlight() retorna quantas requisições do grupo estão em execução.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * O método getRejected() retorna quantas requisições foram recusadas desde o início.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Método auxiliar privado que aplica a regra AIMD descrita na classe e atualiza a latência média.
+     */
+    private synchronized void adjust(long latencyNanos, boolean failed, int used) {
+        if (averageNanos == 0) {
+            averageNanos = latencyNanos;
+            return;
+        }
+        boolean slow = failed || latencyNanos > maxLatencyNanos
+                || latencyNanos > Math.max(averageNanos * tolerance, minLatencyNanos);
+        averageNanos += (latencyNanos - averageNanos) * SMOOTHING;
+        if (slow)
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        else if (used * 2 >= limit)
+            limit = Math.min(maxLimit, limit + 1);
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.adison.api_rest_testes.controller.limit;
+
+import br.com.adison.api_rest_testes.controller.resources.UserResource;
+import br.com.adison.api_rest_testes.model.service.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Esta classe ConcurrencyLimitInterceptor recusa rapidamente o excesso de requisições do UserResource
+ * quando o banco ou o pool de conexões ficam lentos. Sem ela as requisições se acumulam nas threads do
+ * Tomcat e a latência de todos os clientes passa de milissegundos para segundos; com ela quem passa do
+ * limite recebe HTTP 503 com o cabeçalho Retry-After imediatamente, e quem é atendido continua rápido.
+ * <p>
+ * São dois limites independentes (AdaptiveConcurrencyLimit), um para as leituras (GET e HEAD) e outro
+ * para as gravações (POST, PUT, PATCH e DELETE, menos o POST de busca "/user/lookup"), assim uma rajada de cadastros lentos não recusa as
+ * consultas, e vice-versa. Os dois se ajustam sozinhos pela latência de cada resposta, a partir das
+ * propriedades "api.concurrency-limit.*".
+ * <p>
+ * No preHandle a vaga é reservada, ou ServiceUnavailableException é lançada, e o ResourceExceptionHandler
+ * monta a resposta 503. No afterCompletion, chamado inclusive quando o controlador lança uma exceção, a
+ * vaga é devolvida com o tempo da requisição; uma resposta 5xx conta como falha.
+ * <p>
+ * As métricas ficam no MeterRegistry com a tag group (read ou write): "user.concurrency.limit" (limite
+ * atual), "user.concurrency.in-flight" (requisições em execução) e "user.concurrency.rejected"
+ * (requisições recusadas).
+ * <p>
+ * O interceptor é registrado nas urls do UserResource pelo ConcurrencyLimitConfigure. A anotação
+ * @Profile("!reactive") o deixa fora do modo reativo, que não usa o Spring MVC.
+ */
+@Component
+@Profile("!reactive")
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+    public static final String SOBRECARGA = "Servidor sobrecarregado, tente novamente em instantes!";
+    private static final String STARTED = ConcurrencyLimitInterceptor.class.getName() + ".started";
+    private static final String LIMIT = ConcurrencyLimitInterceptor.class.getName() + ".limit";
+
+    @Value("${api.concurrency-limit.enabled:true}")
+    private boolean enabled;
+    @Value("${api.concurrency-limit.read.initial:50}")
+    private int readInitial;
+    @Value("${api.concurrency-limit.read.max:200}")
+    private int readMax;
+    @Value("${api.concurrency-limit.write.initial:20}")
+    private int writeInitial;
+    @Value("${api.concurrency-limit.write.max:100}")
+    private int writeMax;
+    @Value("${api.concurrency-limit.min:2}")
+    private int minLimit;
+    @Value("${api.concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio;
+    @Value("${api.concurrency-limit.tolerance:2.0}")
+    private double tolerance;
+    @Value("${api.concurrency-limit.min-latency-ms:10}")
+    private long minLatencyMs;
+    @Value("${api.concurrency-limit.max-latency-ms:500}")
+    private long maxLatencyMs;
+    @Value("${api.concurrency-limit.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private AdaptiveConcurrencyLimit reads;
+    private AdaptiveConcurrencyLimit writes;
+
+    /**
+     * O método, public void start(), cria os limites de leitura e gravação e registra as métricas de cada um.
+     */
+    @PostConstruct
+    public void start() {
+        reads = create(readInitial, readMax, "read");
+        writes = create(writeInitial, writeMax, "write");
+    }
+
+    /**
+     * O método preHandle reserva a vaga do grupo da requisição antes de o controlador ser chamado,
+     * lançando ServiceUnavailableException quando o limite do grupo está esgotado.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled)
+            return true;
+        AdaptiveConcurrencyLimit limit = limitOf(request);
+        if (!limit.tryAcquire())
+            throw new ServiceUnavailableException(SOBRECARGA, retryAfterSeconds);
+        request.setAttribute(LIMIT, limit);
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * O método afterCompletion devolve a vaga reservada no preHandle, informando ao limite o tempo da
+     * requisição e se ela terminou em erro do servidor.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(LIMIT) instanceof AdaptiveConcurrencyLimit limit))
+            return;
+        request.removeAttribute(LIMIT);
+        long latency = System.nanoTime() - (Long) request.getAttribute(STARTED);
+        limit.release(latency, response.getStatus() >= 500);
+    }
+
+    /**
+     * O método getReads() retorna o limite das leituras.
+     */
+    public AdaptiveConcurrencyLimit getReads() {
+        return reads;
+    }
+
+    /**
+     * O método getWrites() retorna o limite das gravações.
+     */
+    public AdaptiveConcurrencyLimit getWrites() {
+        return writes;
+    }
+
+    /**
+     * Método auxiliar privado que escolhe o limite pelo método HTTP: GET e HEAD são leituras, os demais
+     * são gravações. O POST de "/user/lookup" só leva os ids no corpo e também é leitura.
+     */
+    private AdaptiveConcurrencyLimit limitOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || request.getRequestURI().endsWith(UserResource.LOOKUP) ? reads : writes;
+    }
+
+    /**
+     * Método auxiliar privado que cria um limite e registra o limite atual, as requisições em execução e
+     * as recusadas, com a tag group.
+     */
+    private AdaptiveConcurrencyLimit create(int initial, int max, String group) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initial, minLimit, max, backoffRatio,
+                tolerance, TimeUnit.MILLISECONDS.toNanos(minLatencyMs), TimeUnit.MILLISECONDS.toNanos(maxLatencyMs));
+        Gauge.builder("user.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Limite atual de requisições simultâneas")
+                .tag("group", group)
+                .register(registry);
+        Gauge.builder("user.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requisições em execução")
+                .tag("group", group)
+                .register(registry);
+        FunctionCounter.builder("user.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+                .description("Requisições recusadas pelo limite")
+                .tag("group", group)
+                .register(registry);
+        return limit;
+    }
+}
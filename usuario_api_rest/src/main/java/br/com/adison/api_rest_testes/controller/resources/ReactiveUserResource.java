@@ -0,0 +1,101 @@
+package br.com.adison.api_rest_testes.controller.resources;
+
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.mapper.UserMapper;
+import br.com.adison.api_rest_testes.model.service.ReactiveUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Essa classe é a versão reativa do UserResource, ativada pelo perfil "reactive", que sobe a
+ * aplicação sobre o Spring WebFlux (servidor Netty) em vez do Spring MVC (Tomcat). Ela atende as
+ * mesmas urls em "/user" com os mesmos status de resposta, mas nenhum método bloqueia a thread:
+ * cada um devolve um Mono ou Flux que o WebFlux escreve na resposta quando o banco responde.
+ * <p>
+ * A anotação "@Profile("reactive")" indica que este controlador só é registrado no modo reativo,
+ * enquanto o UserResource só é registrado fora dele, assim os dois nunca disputam as mesmas urls.
+ * <p>
+ * Os erros emitidos pelo ReactiveUserService são convertidos em respostas pelo
+ * ReactiveResourceExceptionHandler, com o mesmo corpo StandardError do modo servlet.
+ * <p>
+ * Apenas o CRUD (findById, findAll, create, update e delete) tem versão reativa. As demais urls do
+ * UserResource, como "/user/stats", "/user/search", "/user/lookup", "/user/batch", "/user/export", o
+ * PATCH e os parâmetros "fields" e "ids", só existem no modo servlet.
+ */
+@RestController
+@RequestMapping("/user")
+@Profile("reactive")
+public class ReactiveUserResource {
+    @Autowired
+    private UserMapper mapper;
+    @Autowired
+    private ReactiveUserService service;
+
+    /**
+     * O método, findById(), atende "GET /user/{id}" e responde 200 OK com o UserDTO do usuário, ou
+     * 404 quando o id não existe.
+     */
+    @GetMapping(UserResource.ID)
+    public Mono<ResponseEntity<UserDTO>> findById(@PathVariable Integer id){
+        return service.findById(id)
+                .map(user -> ResponseEntity.ok().body(mapper.toDTO(user)));
+    }
+
+    /**
+     * O método, findAll(), atende "GET /user" com todos os usuários. Com "Accept: application/json"
+     * a resposta é um array JSON e com "Accept: application/x-ndjson" um objeto por linha, e nos dois
+     * casos cada usuário é escrito assim que é lido do banco. As linhas só são pedidas ao banco
+     * conforme a conexão do cliente consome a resposta (backpressure), então um cliente lento não
+     * faz a tabela inteira acumular em memória.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<UserDTO> findAll(){
+        return service.findAll().map(mapper::toDTO);
+    }
+
+    /**
+     * O método, create(), atende "POST /user" e responde 201 Created com a URI do novo usuário no
+     * cabeçalho Location. O UriComponentsBuilder recebido pelo WebFlux já vem preenchido com o
+     * endereço da requisição atual, como o ServletUriComponentsBuilder do modo servlet.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<UserDTO>> create(@RequestBody UserDTO object, UriComponentsBuilder uriBuilder){
+        return service.create(object)
+                .map(newObject -> {
+                    URI uri = uriBuilder
+                            .path("/user" + UserResource.ID)
+                            .buildAndExpand(newObject.getId())
+                            .toUri();
+                    return ResponseEntity.created(uri).build();
+                });
+    }
+
+    /**
+     * O método, update(), atende "PUT /user/{id}", usa o id da url no objeto recebido e responde
+     * 200 OK com o UserDTO atualizado.
+     */
+    @PutMapping(UserResource.ID)
+    public Mono<ResponseEntity<UserDTO>> update(@PathVariable Integer id, @RequestBody UserDTO object){
+        object.setId(id);
+        return service.update(object)
+                .map(newObject -> ResponseEntity.ok().body(mapper.toDTO(newObject)));
+    }
+
+    /**
+     * O método, delete(), atende "DELETE /user/{id}" e responde 204 No Content depois que o usuário
+     * é excluído.
+     */
+    @DeleteMapping(UserResource.ID)
+    public Mono<ResponseEntity<UserDTO>> delete(@PathVariable Integer id){
+        return service.delete(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+}
@@ -1,17 +1,36 @@
 package br.com.adison.api_rest_testes.controller.resources;
 
 import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.BatchItemResult;
+import br.com.adison.api_rest_testes.model.domain.dto.CursorPage;
+import br.com.adison.api_rest_testes.model.domain.dto.MultiGetResult;
 import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.domain.dto.UserSearchHit;
+import br.com.adison.api_rest_testes.model.domain.dto.UserStats;
+import br.com.adison.api_rest_testes.model.mapper.UserMapper;
 import br.com.adison.api_rest_testes.model.service.UserService;
-import org.modelmapper.ModelMapper;
+import br.com.adison.api_rest_testes.model.service.exceptions.InvalidParameterException;
+import br.com.adison.api_rest_testes.model.service.exceptions.PreconditionFailedException;
+import br.com.adison.api_rest_testes.model.service.implement.UserServiceImplement;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Essa classe faz parte da camada resource/controller que faz a comunicação com o
@@ -36,15 +55,31 @@ import java.util.stream.Collectors;
  * <p>
  * As anotações de método HTTP (como @GetMapping, @PostMapping, @PutMapping, @DeleteMapping, etc.)
  * em conjunto com @RequestMapping indicam o tipo de solicitação HTTP que o método manipulará.
+ * <p>
+ * A anotação "@Profile("!reactive")" registra este controlador em todos os modos menos no reativo,
+ * onde as mesmas urls são atendidas pelo ReactiveUserResource.
  */
 @RestController
 @RequestMapping("/user")
+@Profile("!reactive")
 public class UserResource {
     public static final String ID = "/{id}";
+    public static final String DEFAULT_PAGE_SIZE = "50";
+    public static final String EXPORT = "/export";
+    public static final String BATCH = "/batch";
+    public static final String FIELDS = "fields";
+    public static final String SEARCH = "/search";
+    public static final String QUERY = "q";
+    public static final String IDS = "ids";
+    public static final String LOOKUP = "/lookup";
+    public static final String STATS = "/stats";
+    public static final int EXPORT_FLUSH_INTERVAL = 500;
     @Autowired
-    private ModelMapper mapper;
+    private UserMapper mapper;
     @Autowired
     private UserService service;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     /**
      * A anotação, @GetMapping(ID),  fornecida pelo Spring Framework, especificamente
@@ -62,18 +97,28 @@ public class UserResource {
      * <p>
      * O return cria um objeto ResponseEntity com um status HTTP 200 OK (ok()), indicando
      * que a solicitação foi bem-sucedida. O corpo da resposta (body()) é gerado chamando
-     * o método map de um objeto chamado mapper, que é um mapeador utilizado para converter
+     * o método toDTO de um objeto chamado mapper, que é um mapeador utilizado para converter
      * objetos de uma classe para outra. O método findById(id) do serviço (service) é chamado,
      * e o resultado é convertido para um objeto do tipo UserDTO usando o mapeador.
+     * <p>
+     * A versão do usuário é enviada no cabeçalho ETag. Quando o cliente repete a requisição com essa
+     * versão no cabeçalho If-None-Match, o trecho, request.checkNotModified(...), compara a versão atual,
+     * lida do cache ou apenas da coluna version, e responde 304 Not Modified sem corpo, dispensando a
+     * leitura do usuário, o mapeamento e a serialização. Sem o If-None-Match, o caso comum, a versão não é
+     * consultada à parte: o usuário é lido uma única vez e o ETag vem do próprio version dele.
      */
     @GetMapping(ID)
-    public ResponseEntity<UserDTO> findById(@PathVariable Integer id){
-        return ResponseEntity.ok().body(mapper.map(service.findById(id), UserDTO.class));
+    public ResponseEntity<UserDTO> findById(@PathVariable Integer id, WebRequest request){
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(eTag(service.findVersion(id))))
+            return null;
+        Users object = service.findById(id);
+        return ResponseEntity.ok().eTag(eTag(object.getVersion())).body(mapper.toDTO(object));
     }
 
     /**
-     * Este método manipula solicitações GET para recuperar todos os usuários, converte esses
-     * usuários para objetos UserDTO e retorna uma resposta HTTP 200 OK com a lista de UserDTO
+     * Este método manipula solicitações GET para recuperar os usuários de forma paginada por cursor,
+     * converte esses usuários para objetos UserDTO e retorna uma resposta HTTP 200 OK com a página
      * no corpo.
      * <p>
      * A notação, @GetMapping, é uma anotação do Spring Framework que indica que o método
@@ -81,32 +126,179 @@ public class UserResource {
      * não há um valor específico entre parênteses, o que significa que este método será
      * acionado para solicitações GET na URL correspondente ao mapeamento do controlador.
      * <p>
-     * O método controlador, findAll(), é um manipulador para solicitações GET que retorna uma
-     * lista de objetos UserDTO encapsulados em um ResponseEntity.  O ResponseEntity é usado para
-     * representar toda a resposta HTTP, incluindo cabeçalhos, status e corpo.
+     * Os parâmetros, @RequestParam(required = false) String after e @RequestParam(defaultValue = "50")
+     * int limit, recebem da url o cursor opaco da página anterior e a quantidade máxima de registros,
+     * como exemplo: "http://localhost:8080/user?after=aWQ6NTA&limit=50". Sem o cursor é retornada a
+     * primeira página.
      * <p>
-     * O trecho de código, List<Users> list = service.findAll(), chama o método findAll do
-     * serviço (service). Esse método busca todos os usuários no sistema e retorna uma lista
-     * de objetos Users (a entidade do modelo de usuário).
+     * O trecho de código, CursorPage<Users> page = service.findPage(after, limit), chama o serviço que
+     * busca somente os registros após o cursor, assim a memória de cada requisição fica limitada ao
+     * tamanho da página em vez de carregar a tabela inteira.
      * <p>
-     * No trecho de código, List<UserDTO> listDTO = list.stream().
-     * map(objectsUsersDaLista -> mapper.map(objectsUsersDaLista, UserDTO.class)).
-     * collect(Collectors.toList()), a lista de objetos Users é transformada em uma lista de objetos
-     * UserDTO usando a API de Stream do Java. Para cada objeto Users na lista, o método map do objeto
-     * mapper é chamado para converter o objeto para o tipo UserDTO. Em seguida,
-     * collect(Collectors.toList()) é usado para coletar os resultados em uma nova lista.
-     * <p>
-     * No return, return ResponseEntity.ok().body(listDTO), a resposta é construída. Um ResponseEntity
-     * com status HTTP 200 OK é criado, e o corpo da resposta (body()) é preenchido com a lista de UserDTO
-     * recém-criada.
+     * No trecho seguinte a lista de Users da página é convertida para UserDTO pelo mapper, em uma lista
+     * já criada com o tamanho da página, e o cursor da próxima página é repassado no corpo (nextCursor), ficando
+     * nulo quando não existem mais registros.
      */
     @GetMapping
-    public ResponseEntity<List<UserDTO>> findAll(){
-        List<Users> list = service.findAll();
-        List<UserDTO> listDTO = list.stream().map(objectsUsersDaLista -> mapper
-                .map(objectsUsersDaLista, UserDTO.class))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok().body(listDTO);
+    public ResponseEntity<CursorPage<UserDTO>> findAll(@RequestParam(required = false) String after,
+                                                       @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+                                                       WebRequest request){
+        CursorPage<Users> page = service.findPage(after, limit);
+        String eTag = eTag(page);
+        if (request.checkNotModified(eTag))
+            return null;
+        List<UserDTO> listDTO = mapper.toDTOList(page.getContent());
+        return ResponseEntity.ok().eTag(eTag).body(new CursorPage<>(listDTO, page.getNextCursor()));
+    }
+
+    /**
+     * Este método manipula solicitações GET de vários usuários pelo id, como exemplo:
+     * "http://localhost:8080/user?ids=1,2,3", e retorna uma resposta HTTP 200 OK com os usuários
+     * encontrados, na ordem dos ids pedidos, e a lista missing com os ids que não existem. São aceitos até
+     * UserServiceImplement.MAX_MULTI_GET_IDS ids, buscados no banco com poucas consultas "in", em vez de
+     * uma requisição e uma consulta por id.
+     * <p>
+     * A anotação, @GetMapping(params = IDS), faz o Spring escolher este método, em vez do findAll, sempre
+     * que a url traz o parâmetro "ids". Os ids separados por vírgula são convertidos pelo próprio Spring.
+     * O parâmetro "fields" não é aceito junto com "ids" e termina com 400 (InvalidParameterException);
+     * por isso o findFieldsPage exclui as urls com "ids", e as duas não disputam a mesma requisição.
+     */
+    @GetMapping(params = IDS)
+    public ResponseEntity<MultiGetResult> findAllById(@RequestParam(IDS) List<Integer> ids,
+                                                      @RequestParam(value = FIELDS, required = false) String fields){
+        if (fields != null)
+            throw new InvalidParameterException(UserServiceImplement.MULTI_GET_COM_FIELDS);
+        return ResponseEntity.ok().body(service.findAllById(ids));
+    }
+
+    /**
+     * Este método é o findAllById com os ids no corpo da requisição, como exemplo: [1, 2, 3] enviado para
+     * "http://localhost:8080/user/lookup", para as listas grandes demais para a url. A resposta é a mesma
+     * do GET com o parâmetro "ids".
+     * <p>
+     * A anotação, @PostMapping(LOOKUP), indica que o método atende a url "http://localhost:8080/user/lookup".
+     * Apesar do POST, é uma leitura: nada é gravado e o ConcurrencyLimitInterceptor a conta no limite das
+     * leituras.
+     */
+    @PostMapping(LOOKUP)
+    public ResponseEntity<MultiGetResult> lookup(@RequestBody List<Integer> ids){
+        return ResponseEntity.ok().body(service.findAllById(ids));
+    }
+
+    /**
+     * Este método manipula solicitações GET das estatísticas dos usuários, como exemplo:
+     * "http://localhost:8080/user/stats", e retorna uma resposta HTTP 200 OK com o total de usuários e a
+     * quantidade por domínio de e-mail: {"total": 2, "domains": {"gmail.com": 2}}.
+     * <p>
+     * Os números vêm de contadores em memória mantidos a cada gravação, sem percorrer nem serializar a
+     * tabela, e são conferidos periodicamente com o banco.
+     * <p>
+     * A anotação, @GetMapping(STATS), indica que o método atende a url "http://localhost:8080/user/stats",
+     * que o Spring prefere ao "/user/{id}" por ser um caminho fixo.
+     */
+    @GetMapping(STATS)
+    public ResponseEntity<UserStats> stats(){
+        return ResponseEntity.ok().body(service.stats());
+    }
+
+    /**
+     * Este método manipula solicitações GET de um usuário que informam o parâmetro "fields", como exemplo:
+     * "http://localhost:8080/user/1?fields=id,name". Apenas os campos pedidos são lidos do banco e
+     * escritos na resposta, {"id": 1, "name": "Adison"}, reduzindo a consulta, a memória e o tamanho do
+     * corpo para os clientes que não precisam do usuário inteiro.
+     * <p>
+     * A anotação, @GetMapping(value = ID, params = FIELDS), faz o Spring escolher este método, em vez do
+     * findById, sempre que a url traz o parâmetro "fields". Como a versão não é lida, a resposta não
+     * traz ETag.
+     */
+    @GetMapping(value = ID, params = FIELDS)
+    public ResponseEntity<Map<String, Object>> findFieldsById(@PathVariable Integer id,
+                                                              @RequestParam(FIELDS) String fields){
+        return ResponseEntity.ok().body(service.findFieldsById(id, fields));
+    }
+
+    /**
+     * Este método é o findAll com o parâmetro "fields", como exemplo:
+     * "http://localhost:8080/user?fields=id,name&limit=50". A paginação por cursor é a mesma, mas cada
+     * usuário da página traz apenas os campos pedidos, lidos do banco sem as demais colunas. As urls que
+     * também trazem "ids" ficam com o findAllById.
+     */
+    @GetMapping(params = {FIELDS, "!" + IDS})
+    public ResponseEntity<CursorPage<Map<String, Object>>> findFieldsPage(@RequestParam(required = false) String after,
+                                                                          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+                                                                          @RequestParam(FIELDS) String fields){
+        return ResponseEntity.ok().body(service.findFieldsPage(after, limit, fields));
+    }
+
+    /**
+     * Este método manipula solicitações GET de busca por prefixo do nome e/ou do e-mail, sem diferenciar
+     * maiúsculas de minúsculas, como exemplo: "http://localhost:8080/user/search?name=ad&limit=20". Ao
+     * menos um dos parâmetros name e email deve ser informado; com os dois, o usuário precisa atender a
+     * ambos.
+     * <p>
+     * O resultado é paginado por cursor como o findAll: o nextCursor da resposta é enviado no parâmetro
+     * "after" para buscar a próxima página. A busca usa os índices das colunas em minúsculas da tabela
+     * users, então o custo depende do tamanho da página e não da quantidade de usuários cadastrados.
+     */
+    @GetMapping(SEARCH)
+    public ResponseEntity<CursorPage<UserDTO>> search(@RequestParam(required = false) String name,
+                                                      @RequestParam(required = false) String email,
+                                                      @RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit){
+        CursorPage<Users> page = service.search(name, email, after, limit);
+        return ResponseEntity.ok().body(new CursorPage<>(mapper.toDTOList(page.getContent()), page.getNextCursor()));
+    }
+
+    /**
+     * Este método manipula a busca tolerante a erros de digitação no nome e no e-mail, como exemplo:
+     * "http://localhost:8080/user/search?q=adsion&limit=10" encontra o usuário "Adison". O resultado vem
+     * do índice de trigramas em memória, ordenado pela nota de cada usuário, sem consultar o banco.
+     * <p>
+     * A anotação, @GetMapping(value = SEARCH, params = QUERY), faz o Spring escolher este método, em vez
+     * da busca por prefixo, sempre que a url traz o parâmetro "q".
+     */
+    @GetMapping(value = SEARCH, params = QUERY)
+    public ResponseEntity<List<UserSearchHit>> fuzzySearch(@RequestParam(QUERY) String query,
+                                                           @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit){
+        return ResponseEntity.ok().body(service.fuzzySearch(query, limit));
+    }
+
+    /**
+     * Este método manipula solicitações GET para exportar todos os usuários em formato NDJSON
+     * (um objeto JSON por linha), escrevendo cada usuário direto na resposta assim que ele é lido
+     * do banco, em vez de montar listas em memória antes de enviar o primeiro byte.
+     * <p>
+     * A anotação, @GetMapping(value = EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE), indica que
+     * o método atende a url "http://localhost:8080/user/export" e produz o tipo "application/x-ndjson".
+     * <p>
+     * O JsonGenerator é criado sobre o OutputStream da resposta sem o separador padrão entre objetos,
+     * assim cada UserDTO é serializado seguido de uma quebra de linha. O primeiro registro é enviado
+     * imediatamente (flush) e os seguintes são enviados em blocos de EXPORT_FLUSH_INTERVAL linhas.
+     * <p>
+     * O trecho, service.export(...), percorre os usuários por meio de um Stream do banco, então a
+     * memória usada fica estável independente do tamanho da tabela. Como o consumer não pode lançar
+     * IOException, ela é embrulhada em UncheckedIOException e desembrulhada no catch.
+     */
+    @GetMapping(value = EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            int[] written = {0};
+            service.export(user -> {
+                try {
+                    generator.writeObject(mapper.toDTO(user));
+                    generator.writeRaw('\n');
+                    if (++written[0] % EXPORT_FLUSH_INTERVAL == 1)
+                        generator.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
     }
 
     /**
@@ -159,6 +351,22 @@ public class UserResource {
         return ResponseEntity.created(uri).build();
     }
 
+    /**
+     * Este método controlador manipula solicitações POST para criar vários usuários de uma vez.
+     * Ele recebe uma lista de UserDTO no corpo, chama o serviço de cadastro em lote e retorna uma
+     * resposta HTTP 200 OK com o resultado de cada item, na mesma ordem da lista recebida.
+     * <p>
+     * A anotação, @PostMapping(BATCH), indica que o método atende a url "http://localhost:8080/user/batch".
+     * <p>
+     * Diferente do create, um item recusado (e-mail já cadastrado ou campo obrigatório vazio) não
+     * impede a criação dos demais: o resultado informa para cada posição o status, o id gerado ou
+     * a mensagem de erro.
+     */
+    @PostMapping(BATCH)
+    public ResponseEntity<List<BatchItemResult>> createAll(@RequestBody List<UserDTO> objects){
+        return ResponseEntity.ok().body(service.createAll(objects));
+    }
+
     /**
      * Este método controlador manipula solicitações PUT para atualizar um usuário existente no sistema.
      * Ele recebe o ID do usuário a ser atualizado da URL e os dados atualizados no corpo da
@@ -182,16 +390,49 @@ public class UserResource {
      * é chamado, passando o objeto UserDTO atualizado. Esse método executa a lógica de negócios
      * necessária para atualizar o usuário no sistema e retorna o objeto Users atualizado.
      * <p>
-     * Na última linha, return ResponseEntity.ok().body(mapper.map(newObject, UserDTO.class)),
+     * Na última linha, return ResponseEntity.ok().body(mapper.toDTO(newObject)),
      * uma resposta ResponseEntity é construída indicando que a solicitação foi bem-sucedida
      * (status HTTP 200 OK). O corpo da resposta (body()) contém o objeto UserDTO recém-atualizado,
      * que é obtido mapeando o objeto Users atualizado para um objeto UserDTO usando um mapeador (mapper).
+     * <p>
+     * O cabeçalho If-Match é opcional: quando o cliente envia o ETag recebido na leitura, a atualização só
+     * acontece se o usuário ainda estiver nessa versão, caso contrário a resposta é 412 Precondition Failed
+     * e o cliente deve ler o usuário de novo antes de gravar. Nesse caso a resposta traz o ETag da nova
+     * versão; sem o If-Match a nova versão não é lida de volta do banco e a resposta vem sem ETag.
      */
     @PutMapping(ID)
-    public ResponseEntity<UserDTO> update(@PathVariable Integer id, @RequestBody UserDTO object){
+    public ResponseEntity<UserDTO> update(@PathVariable Integer id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          @RequestBody UserDTO object){
+        object.setId(id);
+        Users newObject = service.update(object, version(ifMatch));
+        if (newObject.getVersion() == null)
+            return ResponseEntity.ok().body(mapper.toDTO(newObject));
+        return ResponseEntity.ok().eTag(eTag(newObject.getVersion())).body(mapper.toDTO(newObject));
+    }
+
+    /**
+     * Este método controlador manipula solicitações PATCH para alterar apenas alguns campos de um
+     * usuário. Os campos ausentes (nulos) no corpo não são alterados, como exemplo, o corpo
+     * {"name": "novo nome"} altera somente o nome e mantém o e-mail e a senha.
+     * <p>
+     * A anotação, @PatchMapping(ID), indica que o método atende a url "http://localhost:8080/user/{id}"
+     * com o método HTTP PATCH.
+     * <p>
+     * O serviço grava somente as colunas recebidas com um único comando no banco, sem ler o usuário
+     * antes, por isso a resposta é 204 No Content, sem corpo. Como no update, o If-Match opcional
+     * protege contra alterações concorrentes (412 Precondition Failed) e, quando enviado, a resposta
+     * traz o ETag da nova versão.
+     */
+    @PatchMapping(ID)
+    public ResponseEntity<UserDTO> patch(@PathVariable Integer id,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                         @RequestBody UserDTO object){
         object.setId(id);
-        Users newObject = service.update(object);
-        return ResponseEntity.ok().body(mapper.map(newObject, UserDTO.class));
+        Long newVersion = service.patch(object, version(ifMatch));
+        if (newVersion == null)
+            return ResponseEntity.noContent().build();
+        return ResponseEntity.noContent().eTag(eTag(newVersion)).build();
     }
 
     /**
@@ -217,10 +458,53 @@ public class UserResource {
      * indicando que a solicitação foi bem-sucedida e que não há conteúdo a ser retornado no corpo da
      * resposta (status HTTP 204 No Content). O método noContent() é usado para indicar que a operação
      * foi realizada com sucesso, mas não há conteúdo a ser retornado.
+     * <p>
+     * Assim como no update, o cabeçalho If-Match opcional faz a exclusão acontecer somente se o usuário
+     * ainda estiver na versão informada, respondendo 412 Precondition Failed caso contrário.
      */
     @DeleteMapping(ID)
-    public ResponseEntity<UserDTO> delete(@PathVariable Integer id){
-        service.delete(id);
+    public ResponseEntity<UserDTO> delete(@PathVariable Integer id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        service.delete(id, version(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Método auxiliar que monta o ETag forte de um usuário a partir da sua versão, como exemplo: "3".
+     */
+    static String eTag(Long version){
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Método auxiliar que monta o ETag forte de uma página combinando os ids e as versões dos usuários
+     * e o próximo cursor em um hash de 64 bits.
+     */
+    static String eTag(CursorPage<Users> page){
+        long hash = 1125899906842597L;
+        for (Users object : page.getContent()) {
+            hash = 31 * hash + object.getId();
+            hash = 31 * hash + (object.getVersion() == null ? 0 : object.getVersion());
+        }
+        hash = 31 * hash + Objects.hashCode(page.getNextCursor());
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Método auxiliar que extrai a versão do cabeçalho If-Match, retornando nulo quando ele não foi
+     * enviado ou é "*" (qualquer versão). Um ETag fraco ou que não é uma versão nunca corresponde à
+     * versão atual, então termina com PreconditionFailedException.
+     */
+    static Long version(String ifMatch){
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*"))
+            return null;
+        String value = ifMatch.trim();
+        if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"')
+            throw new PreconditionFailedException(UserServiceImplement.VERSAO_DESATUALIZADA);
+        try {
+            return Long.valueOf(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException(UserServiceImplement.VERSAO_DESATUALIZADA);
+        }
+    }
 }
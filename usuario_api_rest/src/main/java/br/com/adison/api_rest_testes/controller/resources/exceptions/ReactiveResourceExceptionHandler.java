@@ -0,0 +1,72 @@
+package br.com.adison.api_rest_testes.controller.resources.exceptions;
+
+import br.com.adison.api_rest_testes.model.service.exceptions.DataIntegratyViolationException;
+import br.com.adison.api_rest_testes.model.service.exceptions.InvalidParameterException;
+import br.com.adison.api_rest_testes.model.service.exceptions.ObjectNotFoundException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.filter.reactive.ServerHttpObservationFilter;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+
+/**
+ * Essa classe ReactiveResourceExceptionHandler é o equivalente do ResourceExceptionHandler para o
+ * modo reativo (perfil "reactive"). Ela trata as mesmas exceções com os mesmos status HTTP e o
+ * mesmo corpo StandardError, a única diferença é que o caminho da requisição vem do
+ * ServerWebExchange do WebFlux, já que no modo reativo não existe HttpServletRequest.
+ * <p>
+ * A anotação, @ControllerAdvice, registra a classe como tratamento centralizado de exceções dos
+ * controladores, e a anotação @Profile("reactive") faz com que ela só exista no modo reativo.
+ */
+@ControllerAdvice
+@Profile("reactive")
+public class ReactiveResourceExceptionHandler {
+    private static final HttpHeaders NO_HEADERS = HttpHeaders.readOnlyHttpHeaders(new HttpHeaders());
+
+    /**
+     * O método objectNotFound lida com exceções do tipo ObjectNotFoundException e retorna uma
+     * resposta HTTP 404 NOT_FOUND.
+     */
+    @ExceptionHandler(ObjectNotFoundException.class)
+    public ResponseEntity<StandardError> objectNotFound(ObjectNotFoundException exception, ServerWebExchange exchange){
+        return error(HttpStatus.NOT_FOUND, exception, exchange);
+    }
+
+    /**
+     * O método dataIntegrityViolationException lida com exceções do tipo DataIntegratyViolationException
+     * e retorna uma resposta HTTP 400 BAD_REQUEST.
+     */
+    @ExceptionHandler(DataIntegratyViolationException.class)
+    public ResponseEntity<StandardError> dataIntegrityViolationException(DataIntegratyViolationException exception, ServerWebExchange exchange){
+        return error(HttpStatus.BAD_REQUEST, exception, exchange);
+    }
+
+    /**
+     * O método invalidParameter lida com exceções do tipo InvalidParameterException e retorna uma
+     * resposta HTTP 400 BAD_REQUEST.
+     */
+    @ExceptionHandler(InvalidParameterException.class)
+    public ResponseEntity<StandardError> invalidParameter(InvalidParameterException exception, ServerWebExchange exchange){
+        return error(HttpStatus.BAD_REQUEST, exception, exchange);
+    }
+
+    /**
+     * Método auxiliar privado que monta a resposta com o StandardError do status informado, sem criar
+     * cabeçalhos novos (NO_HEADERS), e registra a exceção na observação da requisição, para que a métrica
+     * "http.server.requests" a informe na tag exception, como no ResourceExceptionHandler.
+     */
+    private static ResponseEntity<StandardError> error(HttpStatus status, RuntimeException exception, ServerWebExchange exchange){
+        StandardError error = new StandardError(LocalDateTime.now(),
+                status.value(),
+                exception.getMessage(),
+                exchange.getRequest().getPath().value());
+        ServerHttpObservationFilter.findObservationContext(exchange)
+                .ifPresent(context -> context.setError(exception));
+        return new ResponseEntity<>(error, NO_HEADERS, status);
+    }
+}
@@ -1,12 +1,18 @@
 package br.com.adison.api_rest_testes.controller.resources.exceptions;
 
 import br.com.adison.api_rest_testes.model.service.exceptions.DataIntegratyViolationException;
+import br.com.adison.api_rest_testes.model.service.exceptions.InvalidParameterException;
 import br.com.adison.api_rest_testes.model.service.exceptions.ObjectNotFoundException;
+import br.com.adison.api_rest_testes.model.service.exceptions.PreconditionFailedException;
+import br.com.adison.api_rest_testes.model.service.exceptions.ServiceUnavailableException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
 import java.time.LocalDateTime;
 
@@ -22,9 +28,24 @@ import java.time.LocalDateTime;
  * A anotação, @ControllerAdvice, é uma anotação do Spring que indica que a classe é um controlador
  * de aconselhamento global. Isso significa que a classe é responsável por fornecer a manipulação
  * centralizada de exceções para todos os controladores dentro do aplicativo.
+ * <p>
+ * Os erros tratados aqui são respostas esperadas e frequentes (clientes consultando ids que não
+ * existem), então o caminho é mantido barato: as exceções do aplicativo são criadas sem o rastro da
+ * pilha (ServiceException), as respostas compartilham o mesmo HttpHeaders vazio e o StandardError é
+ * escrito pelo StandardErrorSerializer.
+ * <p>
+ * Cada método também registra a exceção tratada na observação da requisição, assim o timer
+ * "http.server.requests" do Actuator separa as respostas de erro pela tag exception (por exemplo
+ * ObjectNotFoundException ou DataIntegratyViolationException) em vez de agrupá-las como "none".
+ * <p>
+ * A anotação, @Profile("!reactive"), deixa esta classe fora do modo reativo, que não possui
+ * HttpServletRequest e usa o ReactiveResourceExceptionHandler.
  */
 @ControllerAdvice
+@Profile("!reactive")
 public class ResourceExceptionHandler {
+    private static final HttpHeaders NO_HEADERS = HttpHeaders.readOnlyHttpHeaders(new HttpHeaders());
+
     /**
      * Esta anotação, @ExceptionHandler(ObjectNotFoundException.class),indica que o método
      * a seguir (objectNotFound) será chamado quando uma exceção do tipo ObjectNotFoundException
@@ -41,16 +62,19 @@ public class ResourceExceptionHandler {
      * Neste caso, inclui um timestamp, o código de status HTTP 404 (NOT_FOUND), a mensagem
      * da exceção e o URI da requisição.
      * <p>
-     * A linha final, return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error), retorna uma
-     * resposta HTTP 404 NOT_FOUND contendo o objeto StandardError criado no passo anterior.
+     * A linha final, return new ResponseEntity<>(error, NO_HEADERS, HttpStatus.NOT_FOUND), retorna uma
+     * resposta HTTP 404 NOT_FOUND contendo o objeto StandardError criado no passo anterior. A resposta
+     * usa o NO_HEADERS, um HttpHeaders vazio e somente leitura compartilhado por todas as respostas de
+     * erro, em vez de criar um HttpHeaders novo a cada erro como o ResponseEntity.status(...) faz.
      */
     @ExceptionHandler(ObjectNotFoundException.class)
     public ResponseEntity<StandardError> objectNotFound(ObjectNotFoundException exception, HttpServletRequest request){
+        observe(exception, request);
         StandardError error = new StandardError(LocalDateTime.now(),
                 HttpStatus.NOT_FOUND.value(),
                 exception.getMessage(),
                 request.getRequestURI());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return new ResponseEntity<>(error, NO_HEADERS, HttpStatus.NOT_FOUND);
     }
 
     /**
@@ -59,10 +83,69 @@ public class ResourceExceptionHandler {
      */
     @ExceptionHandler(DataIntegratyViolationException.class)
     public ResponseEntity<StandardError> dataIntegrityViolationException(DataIntegratyViolationException exception, HttpServletRequest request){
+        observe(exception, request);
         StandardError error = new StandardError(LocalDateTime.now(),
                 HttpStatus.BAD_REQUEST.value(),
                 exception.getMessage(),
                 request.getRequestURI());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return new ResponseEntity<>(error, NO_HEADERS, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * O método invalidParameter lida com exceções do tipo InvalidParameterException, lançadas quando
+     * um parâmetro da requisição (como o cursor de paginação) não pode ser interpretado, e retorna
+     * uma resposta HTTP 400 BAD_REQUEST.
+     */
+    @ExceptionHandler(InvalidParameterException.class)
+    public ResponseEntity<StandardError> invalidParameter(InvalidParameterException exception, HttpServletRequest request){
+        observe(exception, request);
+        StandardError error = new StandardError(LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                request.getRequestURI());
+        return new ResponseEntity<>(error, NO_HEADERS, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * O método preconditionFailed lida com exceções do tipo PreconditionFailedException, lançadas quando
+     * a versão do cabeçalho If-Match não é mais a versão atual do usuário, e retorna uma resposta HTTP
+     * 412 PRECONDITION_FAILED.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<StandardError> preconditionFailed(PreconditionFailedException exception, HttpServletRequest request){
+        observe(exception, request);
+        StandardError error = new StandardError(LocalDateTime.now(),
+                HttpStatus.PRECONDITION_FAILED.value(),
+                exception.getMessage(),
+                request.getRequestURI());
+        return new ResponseEntity<>(error, NO_HEADERS, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * O método serviceUnavailable lida com exceções do tipo ServiceUnavailableException, lançadas quando
+     * o aplicativo recusa a requisição por sobrecarga (por exemplo a fila de cadastros cheia), e retorna
+     * uma resposta HTTP 503 SERVICE_UNAVAILABLE. Esta resposta não usa o NO_HEADERS: ela leva o cabeçalho
+     * Retry-After com os segundos que o cliente deve esperar antes de repetir a requisição.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<StandardError> serviceUnavailable(ServiceUnavailableException exception, HttpServletRequest request){
+        observe(exception, request);
+        StandardError error = new StandardError(LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                exception.getMessage(),
+                request.getRequestURI());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()));
+        return new ResponseEntity<>(error, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Método auxiliar privado que informa a exceção tratada à observação da requisição HTTP, criada pelo
+     * ServerHttpObservationFilter do Spring. Sem isso a exceção já foi tratada quando a requisição termina
+     * e a métrica "http.server.requests" não saberia qual erro gerou a resposta.
+     */
+    private static void observe(RuntimeException exception, HttpServletRequest request){
+        ServerHttpObservationFilter.findObservationContext(request)
+                .ifPresent(context -> context.setError(exception));
     }
 }
@@ -1,5 +1,6 @@
 package br.com.adison.api_rest_testes.controller.resources.exceptions;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,8 +16,13 @@ import java.time.LocalDateTime;
  * A anotação @Data do Lombok é composta e inclui automaticamente as anotações @ToString,
  * @EqualsAndHashCode, @Getter, @Setter e @RequiredArgsConstructor, elas geram automaticamente
  * métodos como toString(), equals(), hashCode(), getters e setters.
+ * <p>
+ * A anotação @JsonSerialize(using = StandardErrorSerializer.class) indica ao Jackson o serializador
+ * específico desta classe, mais barato que o serializador genérico, já que todo 404 e 400 da api
+ * escreve um StandardError.
  */
 @Data @NoArgsConstructor @AllArgsConstructor
+@JsonSerialize(using = StandardErrorSerializer.class)
 public class StandardError {
     /**
      * O atributo, private LocalDateTime timestamp, é uma declaração de uma variável de instância chamada timestamp
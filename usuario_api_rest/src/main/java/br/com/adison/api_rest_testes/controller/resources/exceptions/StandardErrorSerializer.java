@@ -0,0 +1,81 @@
+package br.com.adison.api_rest_testes.controller.resources.exceptions;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Esta classe StandardErrorSerializer escreve o StandardError em JSON sem passar pelo serializador
+ * genérico de beans do Jackson, que descobre as propriedades por reflexão e formata o timestamp pelo
+ * módulo de datas. O JSON produzido é o mesmo: {"timestamp":"2023-11-20T10:15:30.123","status":404,
+ * "error":"Objeto não encontrado!","path":"/user/99"}, com o timestamp no formato ISO sem fuso, como o
+ * Spring Boot já escrevia.
+ * <p>
+ * Os nomes dos campos são SerializedString criadas uma vez, que guardam o texto já escapado e
+ * codificado em UTF-8. As mensagens de erro também são guardadas assim, porque quase todas são
+ * constantes ("Objeto não encontrado!", "E-mail já cadastrado!"...). O cache de mensagens é limitado a
+ * MAX_CACHED_MESSAGES entradas, já que algumas mensagens incluem o valor recebido na requisição; passado
+ * o limite, as mensagens novas são escritas normalmente.
+ */
+public class StandardErrorSerializer extends StdSerializer<StandardError> {
+    public static final int MAX_CACHED_MESSAGES = 256;
+
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString ERROR = new SerializedString("error");
+    private static final SerializedString PATH = new SerializedString("path");
+
+    private final Map<String, SerializableString> messages = new ConcurrentHashMap<>();
+
+    public StandardErrorSerializer() {
+        super(StandardError.class);
+    }
+
+    /**
+     * O método serialize escreve os quatro campos do StandardError na ordem da classe, omitindo o valor
+     * (null) dos campos nulos como o serializador padrão faria.
+     */
+    @Override
+    public void serialize(StandardError value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(TIMESTAMP);
+        if (value.getTimestamp() == null)
+            gen.writeNull();
+        else
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value.getTimestamp()));
+        gen.writeFieldName(STATUS);
+        if (value.getStatus() == null)
+            gen.writeNull();
+        else
+            gen.writeNumber(value.getStatus());
+        gen.writeFieldName(ERROR);
+        if (value.getError() == null)
+            gen.writeNull();
+        else
+            gen.writeString(message(value.getError()));
+        gen.writeFieldName(PATH);
+        gen.writeString(value.getPath());
+        gen.writeEndObject();
+    }
+
+    /**
+     * Método auxiliar privado que retorna a mensagem já escapada do cache, guardando-a enquanto o cache
+     * não atingiu o limite.
+     */
+    private SerializableString message(String error) {
+        SerializableString cached = messages.get(error);
+        if (cached != null)
+            return cached;
+        SerializableString serialized = new SerializedString(error);
+        if (messages.size() < MAX_CACHED_MESSAGES)
+            messages.putIfAbsent(error, serialized);
+        return serialized;
+    }
+}
@@ -13,20 +13,47 @@ import lombok.*;
  * lombok e substituem os construtores e demais métodos de acesso padrão.
  * <p>
  * As anotações dentro da classe indicam o atributo que atua como "id" e chave
- * primária no banco, e como o banco gera automaticamente o "id", atribuindo
- * automaticamente valores incrementais à chave primária à medida que novas
- * linhas são inseridas na tabela.
+ * primária no banco, e como o "id" é gerado: por uma sequence do banco (users_seq)
+ * que reserva blocos de 50 valores por consulta (allocationSize). Diferente da
+ * coluna identity, o id já é conhecido antes do insert, o que permite ao Hibernate
+ * agrupar os inserts em lotes JDBC (batch) e evita uma ida ao banco por id. O tamanho
+ * do bloco fica em ID_ALLOCATION_SIZE porque a fila de cadastro (UserCreateQueue)
+ * reserva ids da mesma sequence, em blocos do mesmo tamanho.
  * <p>
  * A outra anotação acima de email indica que o mesmo vai ser único,
  * não aceitando valores duplicados.
+ * <p>
+ * O atributo version, marcado com @Version, é o controle de concorrência otimista: o
+ * Hibernate incrementa a versão a cada atualização e inclui a versão lida na cláusula
+ * where do update, recusando a gravação quando outro cliente alterou o registro antes.
+ * A versão também é enviada ao cliente como ETag nas respostas do UserResource. O
+ * construtor sem a versão é usado na criação dos objetos a partir dos dados do cliente.
+ * <p>
+ * Os atributos nameLower e emailLower são colunas geradas pelo próprio banco com o nome e o e-mail
+ * em minúsculas ("generated always as (lower(...))"), usadas pela busca por prefixo sem diferenciar
+ * maiúsculas. O H2 não cria índices sobre expressões, então a coluna gerada com índice cumpre o papel
+ * de um índice funcional lower(email): a consulta compara a coluna diretamente e o banco percorre
+ * apenas o intervalo do índice que começa pelo prefixo. Os índices declarados em @Table incluem o id,
+ * que desempata a ordenação da paginação por cursor da busca.
+ * <p>
+ * As colunas geradas não são enviadas nos inserts e updates (insertable e updatable false), não têm
+ * setter e ficam fora do equals, hashCode e toString, pois só são preenchidas quando o usuário é lido
+ * do banco. Por isso o construtor completo é declarado explicitamente, sem elas.
  */
 @Entity
-@Data @NoArgsConstructor @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_users_name_lower", columnList = "name_lower, id"),
+        @Index(name = "idx_users_email_lower", columnList = "email_lower, id")
+})
+@Data @NoArgsConstructor
 public class Users {
     public static final String CAMPO_OBRIGATORIO = "Campo obrigatório!";
+    public static final String ID_SEQUENCE = "users_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Integer id;
 
     @NotEmpty(message = CAMPO_OBRIGATORIO)
@@ -38,4 +65,29 @@ public class Users {
 
     @NotEmpty(message = CAMPO_OBRIGATORIO)
     private String password;
+
+    @Version
+    private Long version;
+
+    @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude
+    @Column(name = "name_lower", insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as (lower(name))")
+    private String nameLower;
+
+    @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude
+    @Column(name = "email_lower", insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as (lower(email))")
+    private String emailLower;
+
+    public Users(Integer id, String name, String email, String password, Long version) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.password = password;
+        this.version = version;
+    }
+
+    public Users(Integer id, String name, String email, String password) {
+        this(id, name, email, password, null);
+    }
 }
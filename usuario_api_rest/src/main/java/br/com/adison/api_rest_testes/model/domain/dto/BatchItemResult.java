@@ -0,0 +1,30 @@
+package br.com.adison.api_rest_testes.model.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Esta classe BatchItemResult é uma classe de transferência de dados que representa o resultado
+ * de um item do cadastro em lote (POST /user/batch). Cada item do lote recebido gera um resultado,
+ * na mesma posição da lista enviada pelo cliente.
+ * <p>
+ * O atributo, private int index, é a posição do item na lista enviada.
+ * <p>
+ * O atributo, private Status status, indica se o usuário foi criado (CREATED), se o e-mail já estava
+ * cadastrado ou repetido dentro do próprio lote (DUPLICATED_EMAIL) ou se algum campo obrigatório
+ * não foi preenchido (INVALID).
+ * <p>
+ * O atributo, private Integer id, é o id gerado para o usuário criado, nulo nos demais casos.
+ * <p>
+ * O atributo, private String error, é a mensagem do erro do item, nula quando o usuário foi criado.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor
+public class BatchItemResult {
+    public enum Status { CREATED, DUPLICATED_EMAIL, INVALID }
+
+    private int index;
+    private Status status;
+    private Integer id;
+    private String error;
+}
@@ -0,0 +1,26 @@
+package br.com.adison.api_rest_testes.model.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Esta classe CursorPage é uma classe de transferência de dados que representa uma página
+ * de resultados obtida por paginação de cursor (keyset). Ela carrega o conteúdo da página
+ * e o cursor opaco que deve ser enviado no parâmetro "after" para buscar a próxima página.
+ * <p>
+ * O atributo, private List<T> content, guarda os objetos da página atual.
+ * <p>
+ * O atributo, private String nextCursor, guarda o cursor da próxima página, quando ele
+ * vier nulo significa que não existem mais registros a serem buscados.
+ * <p>
+ * A anotação @Data do Lombok é composta e inclui automaticamente as anotações @ToString,
+ * @EqualsAndHashCode, @Getter, @Setter e @RequiredArgsConstructor.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+}
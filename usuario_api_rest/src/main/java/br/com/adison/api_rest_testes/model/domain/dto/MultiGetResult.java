@@ -0,0 +1,23 @@
+package br.com.adison.api_rest_testes.model.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Esta classe MultiGetResult é uma classe de transferência de dados que representa o resultado da
+ * busca de vários usuários pelo id em uma única requisição (GET /user?ids=1,2,3 e POST /user/lookup).
+ * <p>
+ * O atributo, private List<UserDTO> content, guarda os usuários encontrados, na ordem dos ids pedidos.
+ * Um id repetido no pedido aparece uma única vez, na posição da primeira ocorrência.
+ * <p>
+ * O atributo, private List<Integer> missing, guarda os ids pedidos que não existem, também na ordem do
+ * pedido, e vem vazio quando todos foram encontrados.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor
+public class MultiGetResult {
+    private List<UserDTO> content;
+    private List<Integer> missing;
+}
@@ -0,0 +1,24 @@
+package br.com.adison.api_rest_testes.model.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Esta classe UserSearchHit é uma classe de transferência de dados que representa um usuário encontrado
+ * pela busca tolerante a erros de digitação (GET /user/search?q=...), montado a partir do índice em
+ * memória, sem consultar o banco.
+ * <p>
+ * Os atributos, private Integer id, private String name e private String email, são os dados indexados
+ * do usuário; a senha nunca faz parte do índice.
+ * <p>
+ * O atributo, private double score, é a nota de 0 a 1 do usuário para a busca: a fração dos trigramas do
+ * texto procurado que aparecem no nome ou no e-mail.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor
+public class UserSearchHit {
+    private Integer id;
+    private String name;
+    private String email;
+    private double score;
+}
@@ -0,0 +1,22 @@
+package br.com.adison.api_rest_testes.model.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Esta classe UserStats é uma classe de transferência de dados que representa as estatísticas dos
+ * usuários retornadas por GET /user/stats.
+ * <p>
+ * O atributo, private long total, é a quantidade de usuários cadastrados.
+ * <p>
+ * O atributo, private Map<String, Long> domains, é a quantidade de usuários de cada domínio de e-mail
+ * (o trecho depois do "@", em minúsculas), do domínio com mais usuários para o com menos.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor
+public class UserStats {
+    private long total;
+    private Map<String, Long> domains;
+}
@@ -0,0 +1,55 @@
+package br.com.adison.api_rest_testes.model.mapper;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Esta classe UserMapper faz a conversão entre a entidade Users e a classe de transferência
+ * de dados UserDTO. Ela substitui o ModelMapper no caminho das requisições: em vez de descobrir
+ * os atributos por reflexão e regras de correspondência a cada chamada, o objeto destino é
+ * criado pelo construtor com todos os atributos (id, name, email e password), lidos pelos getters do
+ * objeto de origem, o que custa apenas a criação do objeto destino.
+ * <p>
+ * A cópia é a mesma feita pelo ModelMapper, incluindo a senha, que continua protegida na saída
+ * pela anotação @JsonProperty(access = WRITE_ONLY) do UserDTO.
+ * <p>
+ * A anotação @Component registra a classe como um bean gerenciado pelo Spring, podendo ser
+ * injetada nas classes de resource e de serviço.
+ */
+@Component
+public class UserMapper {
+    /**
+     * O método, UserDTO toDTO(Users object), converte uma entidade Users em um UserDTO,
+     * retornando nulo quando o objeto recebido é nulo.
+     */
+    public UserDTO toDTO(Users object) {
+        if (object == null)
+            return null;
+        return new UserDTO(object.getId(), object.getName(), object.getEmail(), object.getPassword());
+    }
+
+    /**
+     * O método, Users toEntity(UserDTO object), converte um UserDTO recebido do cliente em uma
+     * entidade Users, retornando nulo quando o objeto recebido é nulo.
+     */
+    public Users toEntity(UserDTO object) {
+        if (object == null)
+            return null;
+        return new Users(object.getId(), object.getName(), object.getEmail(), object.getPassword());
+    }
+
+    /**
+     * O método, List<UserDTO> toDTOList(List<Users> list), converte uma lista de entidades em uma
+     * lista de UserDTO criada já com o tamanho final, evitando as realocações do array interno.
+     */
+    public List<UserDTO> toDTOList(List<Users> list) {
+        List<UserDTO> listDTO = new ArrayList<>(list.size());
+        for (Users object : list)
+            listDTO.add(toDTO(object));
+        return listDTO;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.adison.api_rest_testes.model.service;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Esta interface ReactiveUserService define as mesmas operações do UserService para o modo
+ * reativo da api (perfil "reactive"). Em vez de devolver os objetos prontos, cada método devolve
+ * um Mono (zero ou um elemento) ou um Flux (vários elementos) que só executa o trabalho quando
+ * alguém se inscreve nele, assim nenhuma thread fica parada esperando o banco.
+ * <p>
+ * Os erros seguem a mesma regra do UserService: um id inexistente termina com
+ * ObjectNotFoundException e um e-mail já cadastrado termina com DataIntegratyViolationException,
+ * emitidas como sinal de erro do Mono.
+ */
+public interface ReactiveUserService {
+    /**
+     * O método, Mono<Users> findById(Integer id), emite o usuário com o ID fornecido.
+     *<p>
+     * O método, Flux<Users> findAll(), emite todos os usuários respeitando a demanda do assinante.
+     *<p>
+     * O método, Mono<Users> create(UserDTO object), cria um novo usuário e emite o objeto recém-criado.
+     *<p>
+     * O método, Mono<Users> update(UserDTO object), atualiza um usuário existente e emite o objeto atualizado.
+     *<p>
+     * O método, Mono<Void> delete(Integer id), exclui o usuário com o ID fornecido e termina vazio.
+     */
+    Mono<Users> findById(Integer id);
+    Flux<Users> findAll();
+    Mono<Users> create(UserDTO object);
+    Mono<Users> update(UserDTO object);
+    Mono<Void> delete(Integer id);
+}
@@ -1,9 +1,16 @@
 package br.com.adison.api_rest_testes.model.service;
 
 import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.BatchItemResult;
+import br.com.adison.api_rest_testes.model.domain.dto.CursorPage;
+import br.com.adison.api_rest_testes.model.domain.dto.MultiGetResult;
 import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.domain.dto.UserSearchHit;
+import br.com.adison.api_rest_testes.model.domain.dto.UserStats;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Esta interface UserService define um conjunto de operações relacionadas à entidade Users.
@@ -20,17 +27,63 @@ public interface UserService {
      *<p>
      * O método, List<Users> findAll(), retorna uma lista de todos os objetos Users.
      *<p>
+     * O método, MultiGetResult findAllById(List<Integer> ids), retorna os usuários dos ids informados, na
+     * ordem do pedido, junto com os ids que não existem.
+     *<p>
+     * O método, UserStats stats(), retorna o total de usuários e a quantidade por domínio de e-mail.
+     *<p>
+     * O método, CursorPage<Users> findPage(String cursor, int limit), retorna uma página limitada de
+     * objetos Users posicionada após o cursor informado, junto com o cursor da próxima página.
+     *<p>
+     * O método, Map<String, Object> findFieldsById(Integer id, String fields), retorna apenas os campos
+     * informados (separados por vírgula) do usuário, lendo do banco somente essas colunas.
+     *<p>
+     * O método, CursorPage<Map<String, Object>> findFieldsPage(String cursor, int limit, String fields), é
+     * o findPage que retorna apenas os campos informados de cada usuário.
+     *<p>
+     * O método, CursorPage<Users> search(String name, String email, String cursor, int limit), retorna uma
+     * página limitada dos usuários cujo nome e/ou e-mail começam pelos prefixos informados, sem diferenciar
+     * maiúsculas de minúsculas.
+     *<p>
+     * O método, List<UserSearchHit> fuzzySearch(String query, int limit), retorna os usuários mais parecidos
+     * com o texto informado, tolerando erros de digitação, a partir do índice em memória.
+     *<p>
      * O método, Users create(UserDTO object), cria um novo objeto Users com base nos dados fornecidos
      * por um objeto UserDTO e retorna o objeto recém-criado.
      *<p>
-     * O método, Users update(UserDTO object), atualiza um objeto Users com base nos dados fornecidos
-     * por um objeto UserDTO e retorna o objeto atualizado.
+     * O método, List<BatchItemResult> createAll(List<UserDTO> objects), cria em lote os usuários recebidos,
+     * retornando o resultado de cada item na mesma ordem da lista.
+     *<p>
+     * O método, Users update(UserDTO object, Long version), atualiza um objeto Users com base nos dados
+     * fornecidos por um objeto UserDTO e retorna o objeto atualizado. Quando a versão não é nula, a
+     * atualização só acontece se o usuário ainda estiver nessa versão.
+     *<p>
+     * O método, void delete(Integer id, Long version), exclui um objeto Users com base no ID fornecido
+     * como parâmetro, com a mesma condição de versão do update.
+     *<p>
+     * O método, Long patch(UserDTO object, Long version), altera apenas os campos não nulos do objeto,
+     * retornando a nova versão quando a versão informada não é nula.
+     *<p>
+     * O método, Long findVersion(Integer id), retorna a versão atual do usuário sem precisar carregar
+     * o objeto inteiro.
      *<p>
-     * O método, void delete(Integer id), exclui um objeto Users com base no ID fornecido como parâmetro.
+     * O método, void export(Consumer<Users> consumer), percorre todos os objetos Users entregando um
+     * por vez ao consumer, sem carregar a tabela inteira em memória.
      */
     Users findById(Integer id);
     List<Users> findAll();
+    MultiGetResult findAllById(List<Integer> ids);
+    UserStats stats();
+    CursorPage<Users> findPage(String cursor, int limit);
+    Map<String, Object> findFieldsById(Integer id, String fields);
+    CursorPage<Map<String, Object>> findFieldsPage(String cursor, int limit, String fields);
+    CursorPage<Users> search(String name, String email, String cursor, int limit);
+    List<UserSearchHit> fuzzySearch(String query, int limit);
     Users create(UserDTO object);
-    Users update(UserDTO object);
-    void delete(Integer id);
+    List<BatchItemResult> createAll(List<UserDTO> objects);
+    Users update(UserDTO object, Long version);
+    Long patch(UserDTO object, Long version);
+    void delete(Integer id, Long version);
+    Long findVersion(Integer id);
+    void export(Consumer<Users> consumer);
 }
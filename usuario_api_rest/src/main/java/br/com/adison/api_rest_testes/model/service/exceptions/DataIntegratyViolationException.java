@@ -7,15 +7,15 @@ package br.com.adison.api_rest_testes.model.service.exceptions;
  * O uso de uma exceção personalizada permite que o código cliente identifique e trate de
  * forma específica esse tipo de erro durante a execução do aplicativo.
  * <p>
- * A classe estende RuntimeException, é uma exceção não verificada (unchecked exception)
- * do Java.
+ * A classe estende ServiceException, uma RuntimeException (exceção não verificada) cujo
+ * rastro da pilha pode ser desligado pela propriedade "api.exceptions.stack-trace".
  * <p>
  * Este construtor, DataIntegratyViolationException(String message) { super(message), recebe
- * uma mensagem como parâmetro e chama o construtor da classe pai (RuntimeException) passando
+ * uma mensagem como parâmetro e chama o construtor da classe pai (ServiceException) passando
  * essa mensagem. O construtor é usado para criar instâncias da exceção com uma mensagem
  * específica que pode ser exibida ao lidar com a exceção.
  */
-public class DataIntegratyViolationException extends RuntimeException{
+public class DataIntegratyViolationException extends ServiceException{
     public DataIntegratyViolationException(String message) {
         super(message);
     }
@@ -0,0 +1,20 @@
+package br.com.adison.api_rest_testes.model.service.exceptions;
+
+/**
+ * Essa classe InvalidParameterException é uma exceção específica do aplicativo.
+ * Ela é usada para representar situações em que o cliente envia um parâmetro
+ * de requisição que não pode ser interpretado, por exemplo um cursor de paginação
+ * adulterado ou que não foi gerado pela própria api.
+ * <p>
+ * A classe estende ServiceException, uma RuntimeException (exceção não verificada) cujo
+ * rastro da pilha pode ser desligado pela propriedade "api.exceptions.stack-trace".
+ * <p>
+ * Este construtor, public InvalidParameterException(String message) { super(message),
+ * recebe uma mensagem como parâmetro e chama o construtor da classe pai (ServiceException)
+ * passando essa mensagem.
+ */
+public class InvalidParameterException extends ServiceException{
+    public InvalidParameterException(String message) {
+        super(message);
+    }
+}
@@ -9,15 +9,15 @@ package br.com.adison.api_rest_testes.model.service.exceptions;
  * personalizada permite que o código cliente identifique e trate de forma
  * específica esse tipo de erro durante a execução do aplicativo.
  * <p>
- * A classe estende RuntimeException, que é uma exceção não
- * verificada (unchecked exception) do Java.
+ * A classe estende ServiceException, uma RuntimeException (exceção não verificada) cujo
+ * rastro da pilha pode ser desligado pela propriedade "api.exceptions.stack-trace".
  * <p>
  * Este construtor,public ObjectNotFoundException(String message) { super(message),
- * recebe uma mensagem como parâmetro e chama o construtor da classe pai (RuntimeException)
+ * recebe uma mensagem como parâmetro e chama o construtor da classe pai (ServiceException)
  * passando essa mensagem. O construtor é usado para criar instâncias da exceção com
  * uma mensagem específica que pode ser exibida ao lidar com a exceção.
  */
-public class ObjectNotFoundException extends RuntimeException{
+public class ObjectNotFoundException extends ServiceException{
     public ObjectNotFoundException(String message) {
         super(message);
     }
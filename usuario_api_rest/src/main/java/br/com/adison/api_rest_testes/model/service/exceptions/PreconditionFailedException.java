@@ -0,0 +1,21 @@
+package br.com.adison.api_rest_testes.model.service.exceptions;
+
+/**
+ * Essa classe PreconditionFailedException é uma exceção específica do aplicativo.
+ * Ela é usada quando a versão informada pelo cliente no cabeçalho If-Match não é
+ * mais a versão atual do usuário, ou seja, outro cliente alterou ou excluiu o registro
+ * depois da última leitura. Recusar a gravação nesse caso evita que uma atualização
+ * sobrescreva a outra sem perceber (lost update).
+ * <p>
+ * A classe estende ServiceException, uma RuntimeException (exceção não verificada) cujo
+ * rastro da pilha pode ser desligado pela propriedade "api.exceptions.stack-trace".
+ * <p>
+ * Este construtor, public PreconditionFailedException(String message) { super(message),
+ * recebe uma mensagem como parâmetro e chama o construtor da classe pai (ServiceException)
+ * passando essa mensagem.
+ */
+public class PreconditionFailedException extends ServiceException{
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
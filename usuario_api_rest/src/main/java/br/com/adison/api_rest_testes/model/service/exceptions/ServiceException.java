@@ -0,0 +1,49 @@
+package br.com.adison.api_rest_testes.model.service.exceptions;
+
+/**
+ * Essa classe ServiceException é a classe pai das exceções do aplicativo (ObjectNotFoundException,
+ * DataIntegratyViolationException, InvalidParameterException, PreconditionFailedException e
+ * ServiceUnavailableException). Todas elas representam respostas de erro esperadas, como um id
+ * inexistente, que o ResourceExceptionHandler transforma em status HTTP, então o rastro da pilha (stack
+ * trace) não é usado por ninguém.
+ * <p>
+ * Preencher o rastro da pilha percorre todos os quadros da chamada, que passam de uma centena dentro do
+ * Spring, e é a parte mais cara de criar a exceção. Por isso o rastro pode ser desligado pela propriedade
+ * "api.exceptions.stack-trace" (aplicada pelo ExceptionConfigure): desligado, as exceções são criadas
+ * sem rastro e sem a lista de exceções suprimidas. O padrão da classe é manter o rastro, como qualquer
+ * RuntimeException, e o application.properties o desliga na aplicação.
+ * <p>
+ * A opção é um campo estático, então vale para todo o processo (JVM), e não para um contexto do Spring:
+ * as exceções são criadas com new em vários pontos, inclusive fora de beans, e não têm como receber a
+ * configuração de um contexto. O ExceptionConfigure devolve o valor anterior quando o seu contexto é
+ * fechado; quem muda a opção fora dele (testes e benchmarks) deve devolvê-la ao terminar.
+ * <p>
+ * A classe estende RuntimeException, que é uma exceção não verificada (unchecked exception) do Java.
+ */
+public abstract class ServiceException extends RuntimeException {
+    private static volatile boolean stackTraceEnabled = true;
+
+    /**
+     * Este construtor, protected ServiceException(String message), repassa a mensagem ao construtor da
+     * classe pai, ligando o rastro da pilha e as exceções suprimidas conforme stackTraceEnabled.
+     */
+    protected ServiceException(String message) {
+        super(message, null, stackTraceEnabled, stackTraceEnabled);
+    }
+
+    /**
+     * O método, public static void setStackTraceEnabled(boolean enabled), liga ou desliga o rastro da
+     * pilha das exceções criadas a partir deste momento.
+     */
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
+    }
+
+    /**
+     * O método, public static boolean isStackTraceEnabled(), informa se as novas exceções terão o rastro
+     * da pilha.
+     */
+    public static boolean isStackTraceEnabled() {
+        return stackTraceEnabled;
+    }
+}
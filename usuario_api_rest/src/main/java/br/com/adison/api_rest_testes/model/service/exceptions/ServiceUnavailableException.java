@@ -0,0 +1,27 @@
+package br.com.adison.api_rest_testes.model.service.exceptions;
+
+/**
+ * Essa classe ServiceUnavailableException é uma exceção específica do aplicativo.
+ * Ela é usada quando o aplicativo está sobrecarregado e recusa a requisição em vez de enfileirá-la
+ * sem limite, por exemplo quando a fila de gravação do cadastro (UserCreateQueue) está cheia. O
+ * cliente pode repetir a mesma requisição depois de alguns segundos.
+ * <p>
+ * A classe estende ServiceException, uma RuntimeException (exceção não verificada) cujo
+ * rastro da pilha pode ser desligado pela propriedade "api.exceptions.stack-trace".
+ * <p>
+ * Este construtor, public ServiceUnavailableException(String message, long retryAfterSeconds),
+ * recebe a mensagem e a quantidade de segundos sugerida para a nova tentativa, que o
+ * ResourceExceptionHandler devolve no cabeçalho Retry-After.
+ */
+public class ServiceUnavailableException extends ServiceException{
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
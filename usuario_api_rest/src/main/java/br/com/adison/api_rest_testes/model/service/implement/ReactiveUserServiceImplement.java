@@ -0,0 +1,147 @@
+package br.com.adison.api_rest_testes.model.service.implement;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.mapper.UserMapper;
+import br.com.adison.api_rest_testes.model.service.ReactiveUserService;
+import br.com.adison.api_rest_testes.model.service.exceptions.DataIntegratyViolationException;
+import br.com.adison.api_rest_testes.model.service.exceptions.InvalidParameterException;
+import br.com.adison.api_rest_testes.model.service.exceptions.ObjectNotFoundException;
+import br.com.adison.api_rest_testes.repository.ReactiveUserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Esta classe implementa a lógica do ReactiveUserService, a versão não bloqueante do
+ * UserServiceImplement usada pelo modo reativo da api (perfil "reactive"). As regras são as
+ * mesmas do modo servlet: o e-mail não pode pertencer a outro usuário e um id inexistente
+ * resulta em ObjectNotFoundException, só que as exceções são emitidas como sinal de erro do
+ * Mono em vez de lançadas.
+ * <p>
+ * Como o ReactiveUserRepository não passa pelo Hibernate, os campos obrigatórios da entidade
+ * são validados aqui com o Validator antes da gravação. Um campo inválido termina com
+ * InvalidParameterException, com a mesma mensagem do UserServiceImplement ("name: Campo obrigatório!"),
+ * e recebe o mesmo 400 do modo servlet.
+ * <p>
+ * A anotação @Profile("reactive") indica que o serviço só é criado no modo reativo.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveUserServiceImplement implements ReactiveUserService {
+    /**
+     * A anotação, @Autowired, da declaração, private ReactiveUserRepository repository, injeta o
+     * repositório R2DBC da tabela users.
+     * <p>
+     * A anotação, @Autowired, da declaração, UserMapper mapper, injeta o mesmo mapeador usado pelo
+     * modo servlet para converter UserDTO em Users.
+     * <p>
+     * A anotação, @Autowired, da declaração, Validator validator, injeta o validador das anotações
+     * de campo obrigatório da entidade.
+     */
+    @Autowired
+    private ReactiveUserRepository repository;
+    @Autowired
+    private UserMapper mapper;
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Implementação do método findById que emite o usuário com o id informado, ou termina com
+     * ObjectNotFoundException se ele não existir.
+     */
+    @Override
+    public Mono<Users> findById(Integer id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ObjectNotFoundException("Objeto não encontrado!")));
+    }
+
+    /**
+     * Implementação do método findAll que emite todos os usuários do banco, conforme a demanda
+     * de quem se inscreve.
+     */
+    @Override
+    public Flux<Users> findAll() {
+        return repository.findAll();
+    }
+
+    /**
+     * Implementação do método create que grava um novo usuário, terminando com
+     * InvalidParameterException se faltar um campo obrigatório ou com DataIntegratyViolationException
+     * se o e-mail já estiver cadastrado. O repositório só é chamado depois da validação.
+     */
+    @Override
+    public Mono<Users> create(UserDTO object) {
+        Users newObject = mapper.toEntity(object);
+        newObject.setId(null);
+        return Mono.defer(() -> {
+                    validate(newObject);
+                    return findByEmail(object).then(repository.insert(newObject));
+                })
+                .onErrorMap(org.springframework.dao.DataIntegrityViolationException.class,
+                        ex -> new DataIntegratyViolationException("E-mail já cadastrado!"));
+    }
+
+    /**
+     * Implementação do método update que atualiza um usuário existente, terminando com
+     * InvalidParameterException se faltar um campo obrigatório, com DataIntegratyViolationException se
+     * o novo e-mail pertencer a outro usuário ou com ObjectNotFoundException se nenhuma linha for
+     * alterada. Como no create, o repositório só é chamado depois da validação.
+     */
+    @Override
+    public Mono<Users> update(UserDTO object) {
+        Users newObject = mapper.toEntity(object);
+        return Mono.defer(() -> {
+                    validate(newObject);
+                    return findByEmail(object).then(repository.update(newObject));
+                })
+                .onErrorMap(org.springframework.dao.DataIntegrityViolationException.class,
+                        ex -> new DataIntegratyViolationException("E-mail já cadastrado!"))
+                .flatMap(rows -> rows == 0
+                        ? Mono.error(new ObjectNotFoundException("Objeto não encontrado!"))
+                        : Mono.just(newObject));
+    }
+
+    /**
+     * Implementação do método delete que exclui o usuário com o id informado, terminando com
+     * ObjectNotFoundException se nenhuma linha for excluída. A exclusão é feita com um único
+     * comando, sem a busca prévia do modo servlet.
+     */
+    @Override
+    public Mono<Void> delete(Integer id) {
+        return repository.deleteById(id)
+                .flatMap(rows -> rows == 0
+                        ? Mono.<Void>error(new ObjectNotFoundException("Objeto não encontrado!"))
+                        : Mono.<Void>empty());
+    }
+
+    /**
+     * Método auxiliar privado que termina com DataIntegratyViolationException se o e-mail do objeto
+     * já estiver associado a outro usuário.
+     */
+    private Mono<Void> findByEmail(UserDTO object) {
+        return repository.findByEmail(object.getEmail())
+                .filter(users -> !users.getId().equals(object.getId()))
+                .flatMap(users -> Mono.<Void>error(new DataIntegratyViolationException("E-mail já cadastrado!")));
+    }
+
+    /**
+     * Método auxiliar privado que valida os campos obrigatórios da entidade, lançando
+     * InvalidParameterException com os campos inválidos quando algum deles estiver vazio.
+     */
+    private void validate(Users object) {
+        Set<ConstraintViolation<Users>> violations = validator.validate(object);
+        if (!violations.isEmpty())
+            throw new InvalidParameterException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+    }
+}
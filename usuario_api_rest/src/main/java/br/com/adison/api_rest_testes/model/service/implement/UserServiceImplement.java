@@ -1,41 +1,163 @@
 package br.com.adison.api_rest_testes.model.service.implement;
 
 import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.BatchItemResult;
+import br.com.adison.api_rest_testes.model.domain.dto.CursorPage;
+import br.com.adison.api_rest_testes.model.domain.dto.MultiGetResult;
 import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.domain.dto.UserSearchHit;
+import br.com.adison.api_rest_testes.model.domain.dto.UserStats;
+import br.com.adison.api_rest_testes.model.mapper.UserMapper;
 import br.com.adison.api_rest_testes.model.service.UserService;
 import br.com.adison.api_rest_testes.model.service.exceptions.DataIntegratyViolationException;
+import br.com.adison.api_rest_testes.model.service.exceptions.InvalidParameterException;
 import br.com.adison.api_rest_testes.model.service.exceptions.ObjectNotFoundException;
+import br.com.adison.api_rest_testes.model.service.exceptions.PreconditionFailedException;
+import br.com.adison.api_rest_testes.model.service.index.UserEmailIndex;
+import br.com.adison.api_rest_testes.model.service.index.UserSearchIndex;
+import br.com.adison.api_rest_testes.model.service.loader.SingleFlight;
+import br.com.adison.api_rest_testes.model.service.loader.UserBatchLoader;
+import br.com.adison.api_rest_testes.model.service.queue.UserCreateQueue;
+import br.com.adison.api_rest_testes.model.service.stats.UserStatistics;
 import br.com.adison.api_rest_testes.repository.UserRepository;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Esta classe implementa a lógica para operações relacionadas a usuários, interagindo com o
- * banco de dados por meio do UserRepository e usando o ModelMapper para mapeamento de objetos.
+ * banco de dados por meio do UserRepository e usando o UserMapper para mapeamento de objetos.
  * Ela lida com exceções personalizadas para situações específicas, como objetos não encontrados
  * ou violações de integridade de dados. Essa classe é marcada como um serviço (@Service) e
  * pode ser injetada em outras partes do aplicativo que precisam interagir com usuários.
  * <p>
  * A a anotação @Service, marca a classe como um serviço gerenciado pelo Spring, essa classe
  * implementa a interface UserService, por isso é obrigada a implementar seus métodos.
+ * <p>
+ * A anotação @Timed("user.service") faz o TimedAspect (MetricsConfigure) medir o tempo de cada
+ * método público chamado pelo proxy do Spring, com as tags class, method e exception. Uma leitura
+ * respondida pelo cache "users" também é medida, então o timer mostra o tempo visto por quem chama.
  */
 @Service
+@Timed("user.service")
 public class UserServiceImplement implements UserService {
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_ITEMS = 5000;
+    public static final int EMAIL_QUERY_CHUNK = 1000;
+    public static final int MAX_MULTI_GET_IDS = 1000;
+    public static final int ID_QUERY_CHUNK = 500;
+    public static final String MULTI_GET_SEM_IDS = "Informe de 1 a " + MAX_MULTI_GET_IDS + " ids!";
+    public static final String MULTI_GET_COM_FIELDS = "O parâmetro fields não é aceito na busca por ids!";
+    public static final String USERS_CACHE = "users";
+    public static final String VERSAO_DESATUALIZADA = "O usuário foi alterado por outra requisição!";
+    public static final List<String> PROJECTABLE_FIELDS = List.of("id", "name", "email");
+    public static final String CAMPOS_INVALIDOS = "fields: informe um ou mais campos entre " + PROJECTABLE_FIELDS + "!";
+    public static final String BUSCA_SEM_TEXTO = "Informe o texto da busca no parâmetro q!";
+    public static final String BUSCA_SEM_FILTRO = "Informe o prefixo do name ou do email para a busca!";
+    private static final String CURSOR_PREFIX = "id:";
+    private static final String SEARCH_CURSOR_PREFIX = "search:";
+
     /**
      * A anotação, @Autowired, da declaração, private UserRepository repository, é uma injeção de
      * dependência do UserRepository para interagir com o banco de dados.
      *<p>
-     * A anotação, @Autowired, da declaração, ModelMapper mapper, é uma injeção de dependência do
-     * ModelMapper para realizar mapeamentos entre objetos.
+     * A anotação, @Autowired, da declaração, UserMapper mapper, é uma injeção de dependência do
+     * UserMapper para realizar mapeamentos entre objetos.
+     *<p>
+     * A anotação, @PersistenceContext, da declaração, EntityManager entityManager, injeta o contexto de
+     * persistência usado para desanexar as entidades já exportadas, mantendo a memória constante.
+     *<p>
+     * A anotação, @Autowired, da declaração, UserEmailIndex emailIndex, injeta o índice de e-mails em
+     * memória usado na verificação de e-mail duplicado, e a declaração, UserSearchIndex searchIndex, o
+     * índice de trigramas usado pela busca tolerante a erros de digitação. Os dois são mantidos aqui a
+     * cada gravação, assim como os contadores do UserStatistics statistics, que respondem o stats.
+     *<p>
+     * As declarações, Validator validator e TransactionTemplate transactionTemplate, são usadas pelo
+     * cadastro em lote para validar os itens antes de gravar e para gravar o lote em uma só transação.
+     * O batchSize é o mesmo tamanho de lote JDBC configurado para o Hibernate.
+     *<p>
+     * A declaração, CacheManager cacheManager, dá acesso ao cache "users" para consultar a versão de
+     * um usuário já guardado sem ir ao banco.
+     *<p>
+     * A declaração, UserCreateQueue createQueue, é a fila de gravação adiada do cadastro, usada pelo
+     * create quando a propriedade api.write-behind.enabled está ligada.
+     *<p>
+     * A declaração, SingleFlight findByIdFlight, agrupa as leituras simultâneas do mesmo id em uma única
+     * consulta; os contadores dela são registrados no MeterRegistry registry. A declaração, UserBatchLoader
+     * batchLoader, junta as leituras simultâneas de ids diferentes em uma consulta "in", quando a
+     * propriedade api.batch-loader.enabled está ligada.
      */
     @Autowired
     private UserRepository repository;
     @Autowired
-    private ModelMapper mapper;
+    private UserMapper mapper;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private UserEmailIndex emailIndex;
+    @Autowired
+    private UserSearchIndex searchIndex;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private UserCreateQueue createQueue;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private UserBatchLoader batchLoader;
+    @Autowired
+    private UserStatistics statistics;
+    private final SingleFlight<Integer, Users> findByIdFlight = new SingleFlight<>("user.find-by-id");
+
+    /**
+     * O método, public void bindMetrics(), registra os contadores do findByIdFlight ("user.find-by-id.loads"
+     * e "user.find-by-id.coalesced") quando o serviço é criado pelo Spring.
+     */
+    @PostConstruct
+    public void bindMetrics() {
+        findByIdFlight.bindTo(registry);
+    }
 
     /**
      * Implementação do método findById da interface UserService. Este método busca um usuário pelo
@@ -45,11 +167,59 @@ public class UserServiceImplement implements UserService {
      * A anotação @Override é usada em métodos de uma classe para indicar que esse método está substituindo
      * um método da superclasse. Essa anotação ajuda a garantir que o método na subclasse realmente está
      * substituindo um método da superclasse, fornecendo assim uma verificação de segurança durante a compilação.
+     * <p>
+     * A anotação @Cacheable faz a leitura passar primeiro pelo cache "users": quando o id já está no
+     * cache o objeto é devolvido sem consultar o banco, caso contrário o método é executado e o
+     * resultado é guardado. Exceções não são guardadas, então um id inexistente continua sendo
+     * consultado no banco.
+     * <p>
+     * Um usuário aceito pela fila de gravação adiada e ainda não gravado é devolvido pela própria fila,
+     * então quem acabou de cadastrar já consegue lê-lo.
+     * <p>
+     * As leituras simultâneas do mesmo id que não estão no cache, como as centenas de requisições para um
+     * usuário popular logo depois de uma limpeza do cache, passam pelo findByIdFlight: apenas a primeira
+     * consulta o banco e as demais recebem o mesmo usuário, ou a mesma ObjectNotFoundException. Com o
+     * batchLoader ligado, essa consulta ainda é juntada às leituras de outros ids feitas na mesma janela.
      */
     @Override
+    @Cacheable(cacheNames = USERS_CACHE, key = "#id")
     public Users findById(Integer id) {
-        Optional<Users> object = repository.findById(id);
-        return object.orElseThrow(()-> new ObjectNotFoundException("Objeto não encontrado!"));
+        Users queued = createQueue.pending(id);
+        if (queued != null)
+            return queued;
+        return findByIdFlight.execute(id, () -> {
+            Optional<Users> object = batchLoader.isEnabled() ? batchLoader.load(id) : repository.findById(id);
+            return object.orElseThrow(()-> new ObjectNotFoundException("Objeto não encontrado!"));
+        });
+    }
+
+    /**
+     * Implementação do método stats que retorna o total de usuários e a quantidade por domínio de e-mail
+     * a partir dos contadores do UserStatistics, sem consultar o banco. Os contadores são conferidos com o
+     * banco periodicamente, então uma gravação feita fora deste serviço aparece após a próxima conferência.
+     */
+    @Override
+    public UserStats stats() {
+        return statistics.snapshot();
+    }
+
+    /**
+     * Implementação do método findVersion que retorna a versão atual do usuário, usada nas requisições
+     * condicionais. Quando o usuário está no cache "users" a versão é lida dele, sem consultar o banco;
+     * caso contrário é buscada apenas a coluna version, sem carregar a linha inteira. Como toda gravação
+     * deste serviço atualiza ou remove a entrada do cache, a versão guardada é sempre a última gravada.
+     */
+    @Override
+    public Long findVersion(Integer id) {
+        Cache cache = cacheManager.getCache(USERS_CACHE);
+        Users cached = cache == null ? null : cache.get(id, Users.class);
+        if (cached != null)
+            return cached.getVersion();
+        Users queued = createQueue.pending(id);
+        if (queued != null)
+            return queued.getVersion();
+        return repository.findVersionById(id)
+                .orElseThrow(()-> new ObjectNotFoundException("Objeto não encontrado!"));
     }
 
     /**
@@ -59,6 +229,161 @@ public class UserServiceImplement implements UserService {
         return repository.findAll();
     }
 
+    /**
+     * Implementação do método findAllById que busca de uma vez os usuários de uma lista de ids, para os
+     * clientes que antes chamavam o findById em laço:
+     * <p>
+     * * PRIMEIRO: os ids repetidos são descartados, mantendo a ordem da primeira ocorrência. A lista vazia,
+     * com id nulo ou com mais de MAX_MULTI_GET_IDS ids termina com InvalidParameterException.<p>
+     * * SEGUNDO: os usuários que estão no cache "users" ou na fila de cadastro adiado são lidos de lá, sem
+     * consultar o banco.<p>
+     * * TERCEIRO: os demais são buscados com consultas "in" de até ID_QUERY_CHUNK ids cada, uma ida ao
+     * banco por bloco em vez de uma por id.<p>
+     * * QUARTO: numa única passada pelos ids pedidos, cada usuário encontrado é convertido para UserDTO e
+     * cada id sem usuário vai para a lista missing.<p>
+     * <p>
+     * Os usuários lidos do banco não são guardados no cache, para que uma busca grande não desloque as
+     * entradas mais usadas pelo findById.
+     */
+    @Override
+    public MultiGetResult findAllById(List<Integer> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_MULTI_GET_IDS)
+            throw new InvalidParameterException(MULTI_GET_SEM_IDS);
+        Set<Integer> requested = new LinkedHashSet<>(ids);
+        if (requested.contains(null))
+            throw new InvalidParameterException(MULTI_GET_SEM_IDS);
+        Map<Integer, Users> found = new HashMap<>(requested.size() * 2);
+        List<Integer> misses = new ArrayList<>(requested.size());
+        Cache cache = cacheManager.getCache(USERS_CACHE);
+        for (Integer id : requested) {
+            Users known = cache == null ? null : cache.get(id, Users.class);
+            if (known == null)
+                known = createQueue.pending(id);
+            if (known != null)
+                found.put(id, known);
+            else
+                misses.add(id);
+        }
+        for (int start = 0; start < misses.size(); start += ID_QUERY_CHUNK)
+            for (Users object : repository.findAllById(misses.subList(start, Math.min(start + ID_QUERY_CHUNK, misses.size()))))
+                found.put(object.getId(), object);
+
+        List<UserDTO> content = new ArrayList<>(found.size());
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : requested) {
+            Users object = found.get(id);
+            if (object == null)
+                missing.add(id);
+            else
+                content.add(mapper.toDTO(object));
+        }
+        return new MultiGetResult(content, missing);
+    }
+
+    /**
+     * Implementação do método findPage que retorna uma página de usuários usando paginação por
+     * cursor (keyset). O cursor é decodificado para o último id entregue e a consulta busca
+     * somente os registros com id maior, então a memória usada por requisição fica limitada
+     * ao tamanho da página e páginas profundas custam o mesmo que a primeira.
+     * <p>
+     * O limite é ajustado para o intervalo entre 1 e MAX_PAGE_SIZE. É buscado um registro a
+     * mais que o limite apenas para saber se existe uma próxima página, assim o cursor seguinte
+     * só é gerado quando realmente há mais dados, evitando que o cliente busque uma página vazia.
+     */
+    @Override
+    public CursorPage<Users> findPage(String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Users> list = repository.findByIdGreaterThanOrderByIdAsc(decodeCursor(cursor), PageRequest.of(0, size + 1));
+        if (list.size() <= size)
+            return new CursorPage<>(list, null);
+        List<Users> content = list.subList(0, size);
+        return new CursorPage<>(content, encodeCursor(content.get(size - 1).getId()));
+    }
+
+    /**
+     * Implementação do método search que retorna uma página dos usuários cujo nome e/ou e-mail começam
+     * pelos prefixos informados, sem diferenciar maiúsculas de minúsculas. Os prefixos são passados para
+     * minúsculas aqui e comparados com as colunas geradas name_lower e email_lower, que têm índice, então
+     * a busca lê apenas as linhas do intervalo do prefixo em vez de percorrer a tabela.
+     * <p>
+     * Ao menos um dos prefixos é obrigatório, uma busca sem filtro seria o findAll e termina com
+     * InvalidParameterException. O limite e a linha a mais seguem o findPage; o cursor da busca guarda o
+     * id e o valor da coluna ordenada do último usuário, pois a ordem é a do índice e não a do id.
+     */
+    @Override
+    public CursorPage<Users> search(String name, String email, String cursor, int limit) {
+        String namePrefix = prefix(name);
+        String emailPrefix = prefix(email);
+        if (namePrefix == null && emailPrefix == null)
+            throw new InvalidParameterException(BUSCA_SEM_FILTRO);
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        String[] after = decodeSearchCursor(cursor);
+        List<Users> list = repository.searchByPrefix(namePrefix, emailPrefix,
+                after == null ? null : after[1], after == null ? null : Integer.valueOf(after[0]), size + 1);
+        if (list.size() <= size)
+            return new CursorPage<>(list, null);
+        List<Users> content = list.subList(0, size);
+        Users last = content.get(size - 1);
+        String value = emailPrefix != null ? last.getEmail() : last.getName();
+        return new CursorPage<>(content, encodeSearchCursor(last.getId(), value.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Implementação do método fuzzySearch que responde a busca tolerante a erros de digitação pelo
+     * UserSearchIndex, sem consultar o banco: o resultado traz o id, o nome, o e-mail e a nota de cada
+     * usuário, do mais parecido para o menos parecido. O texto é obrigatório e o limite é ajustado para
+     * o intervalo entre 1 e MAX_PAGE_SIZE.
+     */
+    @Override
+    public List<UserSearchHit> fuzzySearch(String query, int limit) {
+        if (query == null || query.isBlank())
+            throw new InvalidParameterException(BUSCA_SEM_TEXTO);
+        return searchIndex.search(query, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Implementação do método findFieldsById que retorna apenas os campos pedidos do usuário, como
+     * exemplo: fields "id,name" retorna {"id": 1, "name": "Adison"}. Os campos aceitos são os de
+     * PROJECTABLE_FIELDS, a senha nunca é retornada.
+     * <p>
+     * Se o usuário estiver no cache "users", ou ainda na fila de gravação adiada, os campos são copiados
+     * dele, sem consultar o banco; caso contrário a consulta seleciona somente as colunas pedidas. Um id
+     * inexistente termina com ObjectNotFoundException, como no findById.
+     */
+    @Override
+    public Map<String, Object> findFieldsById(Integer id, String fields) {
+        List<String> selected = parseFields(fields);
+        Cache cache = cacheManager.getCache(USERS_CACHE);
+        Users cached = cache == null ? null : cache.get(id, Users.class);
+        if (cached != null)
+            return project(cached, selected);
+        Users queued = createQueue.pending(id);
+        if (queued != null)
+            return project(queued, selected);
+        return repository.findFieldsById(id, selected)
+                .orElseThrow(()-> new ObjectNotFoundException("Objeto não encontrado!"));
+    }
+
+    /**
+     * Implementação do método findFieldsPage que segue a mesma paginação por cursor do findPage, mas
+     * cada usuário da página traz apenas os campos pedidos. O id é sempre lido, pois posiciona o cursor
+     * da próxima página, e só é removido do resultado depois de gerado o cursor quando não foi pedido.
+     */
+    @Override
+    public CursorPage<Map<String, Object>> findFieldsPage(String cursor, int limit, String fields) {
+        List<String> selected = parseFields(fields);
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Map<String, Object>> content = repository.findFieldsAfter(decodeCursor(cursor), selected, size + 1);
+        String nextCursor = null;
+        if (content.size() > size) {
+            content = content.subList(0, size);
+            nextCursor = encodeCursor((Integer) content.get(size - 1).get("id"));
+        }
+        if (!selected.contains("id"))
+            content.forEach(user -> user.remove("id"));
+        return new CursorPage<>(content, nextCursor);
+    }
+
     /**
      * Implementação do método create que cria um novo usuário no banco de dados,
      * lançando uma exceção DataIntegratyViolationException se o e-mail já estiver
@@ -71,11 +396,87 @@ public class UserServiceImplement implements UserService {
      * Ao utilizar @Override, o compilador verifica se o método na subclasse realmente está sobrescrevendo
      * um método correspondente na superclasse. Se não estiver, o compilador gerará um erro, alertando sobre
      * o problema.
+     * <p>
+     * A anotação @CachePut guarda o usuário recém-criado no cache, com o id gerado pelo banco.
+     * <p>
+     * As anotações de validação da entidade são conferidas antes de tudo, com a gravação adiada ligada ou
+     * não, então um corpo inválido termina sempre com InvalidParameterException (400), em vez de falhar
+     * só no commit da transação.
+     * <p>
+     * Com a gravação adiada ligada (api.write-behind.enabled), o usuário recebe um id reservado pela
+     * UserCreateQueue e entra na fila, que o grava em lote pouco depois; a resposta não espera o insert. Um e-mail que já está em outro cadastro pendente é recusado pela própria fila, e a
+     * fila cheia termina com ServiceUnavailableException.
      */
     @Override
+    @CachePut(cacheNames = USERS_CACHE, key = "#result.id")
     public Users create(UserDTO object) {
+        Users entity = mapper.toEntity(object);
+        String violation = validate(entity);
+        if (violation != null)
+            throw new InvalidParameterException(violation);
         findByEmail(object);
-        return repository.save(mapper.map(object, Users.class));
+        if (createQueue.isEnabled())
+            return enqueue(entity);
+        Users newObject = save(entity);
+        emailIndex.put(newObject.getId(), newObject.getEmail());
+        searchIndex.put(newObject.getId(), newObject.getName(), newObject.getEmail());
+        statistics.added(newObject.getEmail());
+        return newObject;
+    }
+
+    /**
+     * Implementação do método createAll que cria em lote os usuários recebidos, retornando o resultado
+     * de cada item na mesma posição da lista. O lote inteiro custa poucas idas ao banco:
+     * <p>
+     * * PRIMEIRO: cada item é validado em memória e os e-mails repetidos dentro do próprio lote são
+     * recusados, sem consultar o banco.<p>
+     * * SEGUNDO: os e-mails restantes são verificados de uma só vez com uma consulta "in" (em blocos de
+     * EMAIL_QUERY_CHUNK e-mails), e quando o índice de e-mails está pronto apenas os e-mails que ele
+     * conhece precisam ser confirmados no banco.<p>
+     * * TERCEIRO: os usuários aceitos são gravados em uma só transação; como o id vem de uma sequence,
+     * o Hibernate agrupa os inserts em lotes JDBC de batchSize linhas, e o contexto de persistência é
+     * esvaziado a cada lote para manter a memória constante.<p>
+     * <p>
+     * Se outro cadastro gravar um dos e-mails entre a verificação e a gravação, a restrição unique do
+     * banco recusa a transação inteira com DataIntegratyViolationException.
+     */
+    @Override
+    public List<BatchItemResult> createAll(List<UserDTO> objects) {
+        if (objects.size() > MAX_BATCH_ITEMS)
+            throw new InvalidParameterException("O lote deve ter no máximo " + MAX_BATCH_ITEMS + " usuários!");
+        BatchItemResult[] results = new BatchItemResult[objects.size()];
+        Users[] entities = new Users[objects.size()];
+        Map<String, Integer> accepted = new LinkedHashMap<>();
+        for (int index = 0; index < objects.size(); index++) {
+            Users newObject = entities[index] = mapper.toEntity(objects.get(index));
+            String violation = validate(newObject);
+            if (violation != null)
+                results[index] = new BatchItemResult(index, BatchItemResult.Status.INVALID, null, violation);
+            else if (accepted.putIfAbsent(newObject.getEmail(), index) != null)
+                results[index] = duplicatedEmail(index);
+        }
+        for (String email : findExistingEmails(accepted.keySet())) {
+            Integer index = accepted.remove(email);
+            results[index] = duplicatedEmail(index);
+        }
+
+        List<Users> newObjects = new ArrayList<>(accepted.size());
+        for (Integer index : accepted.values()) {
+            Users newObject = entities[index];
+            newObject.setId(null);
+            newObjects.add(newObject);
+        }
+        persistAll(newObjects);
+
+        Iterator<Users> created = newObjects.iterator();
+        for (Integer index : accepted.values()) {
+            Users newObject = created.next();
+            emailIndex.put(newObject.getId(), newObject.getEmail());
+            searchIndex.put(newObject.getId(), newObject.getName(), newObject.getEmail());
+            statistics.added(newObject.getEmail());
+            results[index] = new BatchItemResult(index, BatchItemResult.Status.CREATED, newObject.getId(), null);
+        }
+        return Arrays.asList(results);
     }
 
     /**
@@ -90,11 +491,70 @@ public class UserServiceImplement implements UserService {
      * Ao utilizar @Override, o compilador verifica se o método na subclasse realmente está sobrescrevendo
      * um método correspondente na superclasse. Se não estiver, o compilador gerará um erro, alertando sobre
      * o problema.
+     * <p>
+     * A anotação @CachePut substitui a entrada do cache pelo usuário atualizado, assim uma leitura
+     * após a atualização nunca devolve os dados antigos.
+     * <p>
+     * O parâmetro version é a versão informada pelo cliente no If-Match, ou nulo quando a atualização
+     * é incondicional. A gravação é um único update condicional, sem ler o usuário antes (nem o select
+     * do merge): o id e a versão ficam na cláusula where e a quantidade de linhas alteradas informa o
+     * resultado. Zero linhas termina com ObjectNotFoundException (id inexistente) ou
+     * PreconditionFailedException (versão desatualizada).
+     * <p>
+     * Quando a versão é conhecida, o usuário atualizado já está completo (versão + 1) e é guardado no
+     * cache pela anotação @CachePut; na atualização incondicional a nova versão não é lida de volta, então
+     * a entrada é apenas removida pelo @CacheEvict, e a próxima leitura busca o usuário no banco. A remoção
+     * é feita antes da gravação e, na atualização incondicional, repetida depois dela: um findById executado
+     * entre as duas guardaria no cache o usuário antigo, servido até o fim do tempo de vida da entrada.
      */
     @Override
-    public Users update(UserDTO object) {
+    @Caching(evict = {@CacheEvict(cacheNames = USERS_CACHE, key = "#object.id", beforeInvocation = true),
+                    @CacheEvict(cacheNames = USERS_CACHE, key = "#object.id", condition = "#version == null")},
+            put = @CachePut(cacheNames = USERS_CACHE, key = "#result.id", unless = "#result.version == null"))
+    public Users update(UserDTO object, Long version) {
+        requireNotBlank("name", object.getName(), true);
+        requireNotBlank("email", object.getEmail(), true);
+        requireNotBlank("password", object.getPassword(), true);
         findByEmail(object);
-        return repository.save(mapper.map(object, Users.class));
+        updateColumns(object, version);
+        statistics.changed(emailIndex.put(object.getId(), object.getEmail()), object.getEmail());
+        searchIndex.put(object.getId(), object.getName(), object.getEmail());
+        Users newObject = mapper.toEntity(object);
+        newObject.setVersion(version == null ? null : version + 1);
+        return newObject;
+    }
+
+    /**
+     * Implementação do método patch que altera apenas os campos informados (não nulos) do usuário,
+     * retornando a nova versão quando a versão anterior é conhecida, ou nulo caso contrário.
+     * <p>
+     * Em vez de carregar a entidade e gravá-la inteira, o repository envia um único update com as
+     * colunas alteradas e o incremento da versão. A verificação de e-mail só é feita quando o e-mail
+     * foi informado, e é dispensada quando o índice mostra que ele já pertence a este usuário, então
+     * a edição comum de apenas um nome custa um único comando no banco.
+     * <p>
+     * Quando o update não altera nenhuma linha, a versão atual é consultada para diferenciar um id
+     * inexistente (ObjectNotFoundException) de uma versão desatualizada (PreconditionFailedException).
+     * <p>
+     * A anotação @CacheEvict remove o usuário do cache, já que o update não passa pelo contexto de
+     * persistência e o objeto guardado ficaria com os dados antigos.
+     */
+    @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#object.id")
+    public Long patch(UserDTO object, Long version) {
+        requireNotBlank("name", object.getName(), false);
+        requireNotBlank("email", object.getEmail(), false);
+        requireNotBlank("password", object.getPassword(), false);
+        if (object.getName() == null && object.getEmail() == null && object.getPassword() == null)
+            return checkVersion(object.getId(), version);
+        if (object.getEmail() != null)
+            findByEmail(object);
+        updateColumns(object, version);
+        if (object.getEmail() != null)
+            statistics.changed(emailIndex.put(object.getId(), object.getEmail()), object.getEmail());
+        if (object.getName() != null || object.getEmail() != null)
+            searchIndex.put(object.getId(), object.getName(), object.getEmail());
+        return version == null ? null : version + 1;
     }
 
     /**
@@ -108,21 +568,316 @@ public class UserServiceImplement implements UserService {
      * Ao utilizar @Override, o compilador verifica se o método na subclasse realmente está sobrescrevendo
      * um método correspondente na superclasse. Se não estiver, o compilador gerará um erro, alertando sobre
      * o problema.
+     * <p>
+     * A anotação @CacheEvict remove o usuário excluído do cache depois que a exclusão é concluída.
+     * <p>
+     * A exclusão é um único comando delete que informa a quantidade de linhas excluídas, sem a busca
+     * prévia do findById nem a leitura que o deleteById do Spring Data faz antes de remover. Quando o
+     * cliente informa a versão (If-Match), ela faz parte da cláusula where. Zero linhas termina com
+     * ObjectNotFoundException ou, se o usuário existe em outra versão, PreconditionFailedException.
+     * Um usuário ainda na fila de gravação adiada é gravado antes da exclusão.
+     */
+    @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
+    public void delete(Integer id, Long version) {
+        createQueue.flush(id);
+        int rows = version == null
+                ? repository.deleteByIdReturningCount(id)
+                : repository.deleteByIdAndVersion(id, version);
+        if (rows == 0)
+            throwNotFoundOrStale(id, version);
+        statistics.removed(emailIndex.remove(id));
+        searchIndex.remove(id);
+    }
+
+    /**
+     * Implementação do método export que percorre todos os usuários do banco por meio do Stream do
+     * UserRepository, entregando cada um ao consumer assim que é lido. Cada entidade é desanexada do
+     * contexto de persistência depois de entregue, então o heap fica estável independente do tamanho
+     * da tabela.
+     * <p>
+     * A anotação @Transactional(readOnly = true) mantém a transação (e o cursor do banco) aberta
+     * enquanto o Stream é consumido, o try-with-resources garante que o cursor seja fechado no final.
      */
     @Override
-    public void delete(Integer id) {
-        findById(id);
-        repository.deleteById(id);
+    @Transactional(readOnly = true)
+    public void export(Consumer<Users> consumer) {
+        try (Stream<Users> users = repository.streamAll()) {
+            users.forEach(user -> {
+                consumer.accept(user);
+                entityManager.detach(user);
+            });
+        }
     }
 
     /**
      * Método auxiliar privado para verificar se um e-mail já está cadastrado no banco
      * de dados, lançando uma exceção DataIntegratyViolationException se o e-mail já
      * estiver associado a outro usuário.
+     * <p>
+     * Quando o índice de e-mails em memória já está pronto e não conhece o e-mail, caso comum de
+     * um e-mail novo, a consulta ao banco é dispensada, assim como quando o índice mostra que o e-mail
+     * já pertence ao próprio usuário (e-mail não alterado). Se o índice associa o e-mail a outro usuário
+     * a confirmação continua sendo feita no banco, assim uma entrada desatualizada do índice nunca
+     * recusa um cadastro válido. Um e-mail de outro cadastro ainda na fila de gravação adiada é recusado
+     * sem consultar o banco, que ainda não o conhece.
      */
     private void findByEmail(UserDTO object){
+        if (createQueue.isPendingEmail(object.getEmail(), object.getId()))
+            throw new DataIntegratyViolationException("E-mail já cadastrado!");
+        if (emailIndex.isReady()) {
+            Integer id = emailIndex.idOf(object.getEmail());
+            if (id == null || id.equals(object.getId()))
+                return;
+        }
         Optional<Users> users = repository.findByEmail(object.getEmail());
         if (users.isPresent() && !users.get().getId().equals(object.getId()))
             throw new DataIntegratyViolationException("E-mail já cadastrado!");
     }
+
+    /**
+     * Método auxiliar privado que grava o usuário no banco. Como a verificação de e-mail pode ser
+     * respondida pelo índice em memória, a restrição unique da coluna email continua sendo a
+     * garantia final: a violação informada pelo banco é convertida na mesma exceção
+     * DataIntegratyViolationException da verificação.
+     */
+    private Users save(Users object){
+        try {
+            return repository.save(object);
+        } catch (org.springframework.dao.DataIntegrityViolationException ex){
+            throw new DataIntegratyViolationException("E-mail já cadastrado!");
+        }
+    }
+
+    /**
+     * Método auxiliar privado do create com a gravação adiada, chamado com o usuário já validado: reserva
+     * o id, entrega o usuário à fila e o registra nos índices.
+     */
+    private Users enqueue(Users newObject){
+        newObject.setId(createQueue.reserveId());
+        newObject.setVersion(0L);
+        createQueue.submit(newObject);
+        emailIndex.put(newObject.getId(), newObject.getEmail());
+        searchIndex.put(newObject.getId(), newObject.getName(), newObject.getEmail());
+        statistics.added(newObject.getEmail());
+        return newObject;
+    }
+
+    /**
+     * Método auxiliar privado que grava as colunas informadas com um único update condicional, usado
+     * pelo update e pelo patch. A violação da restrição unique do e-mail é convertida em
+     * DataIntegratyViolationException e zero linhas alteradas é resolvido por throwNotFoundOrStale. Um
+     * usuário ainda na fila de gravação adiada é gravado antes.
+     */
+    private void updateColumns(UserDTO object, Long version){
+        createQueue.flush(object.getId());
+        int rows;
+        try {
+            rows = repository.updatePartially(object.getId(), version,
+                    object.getName(), object.getEmail(), object.getPassword());
+        } catch (org.springframework.dao.DataIntegrityViolationException
+                 | org.hibernate.exception.ConstraintViolationException ex){
+            throw new DataIntegratyViolationException("E-mail já cadastrado!");
+        }
+        if (rows == 0)
+            throwNotFoundOrStale(object.getId(), version);
+    }
+
+    /**
+     * Método auxiliar privado chamado quando um comando condicional não alterou nenhuma linha. A versão
+     * atual é consultada apenas neste caminho de erro, lançando ObjectNotFoundException quando o usuário
+     * não existe e PreconditionFailedException quando ele existe em outra versão.
+     */
+    private void throwNotFoundOrStale(Integer id, Long version){
+        checkVersion(id, version);
+        throw new PreconditionFailedException(VERSAO_DESATUALIZADA);
+    }
+
+    /**
+     * Método auxiliar privado que retorna a versão atual do usuário, lançando ObjectNotFoundException
+     * se ele não existir e PreconditionFailedException se o cliente informou uma versão diferente.
+     */
+    private Long checkVersion(Integer id, Long version){
+        Long current = findVersion(id);
+        if (version != null && !version.equals(current))
+            throw new PreconditionFailedException(VERSAO_DESATUALIZADA);
+        return current;
+    }
+
+    /**
+     * Método auxiliar privado que recusa, com InvalidParameterException, um campo vazio. No patch um
+     * campo nulo significa que ele não foi informado e não é alterado (required falso), já no update
+     * todos os campos são obrigatórios (required verdadeiro), como nas anotações da entidade.
+     */
+    private static void requireNotBlank(String field, String value, boolean required){
+        if (value == null ? required : value.isEmpty())
+            throw new InvalidParameterException(field + ": " + Users.CAMPO_OBRIGATORIO);
+    }
+
+    /**
+     * Método auxiliar privado que valida as anotações da entidade (campos obrigatórios) antes da
+     * gravação em lote, retornando as mensagens dos campos inválidos ou nulo se estiver válida.
+     */
+    private String validate(Users object){
+        if (object == null)
+            return Users.CAMPO_OBRIGATORIO;
+        Set<ConstraintViolation<Users>> violations = validator.validate(object);
+        if (violations.isEmpty())
+            return null;
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Método auxiliar privado que retorna quais dos e-mails informados já estão cadastrados ou na fila de
+     * gravação adiada. Quando o índice de e-mails está pronto, apenas os e-mails conhecidos por ele são
+     * confirmados no banco.
+     */
+    private List<String> findExistingEmails(Collection<String> emails){
+        List<String> candidates = new ArrayList<>(emails.size());
+        List<String> existing = new ArrayList<>();
+        for (String email : emails)
+            if (createQueue.isPendingEmail(email, null))
+                existing.add(email);
+            else if (!emailIndex.isReady() || emailIndex.idOf(email) != null)
+                candidates.add(email);
+        for (int start = 0; start < candidates.size(); start += EMAIL_QUERY_CHUNK)
+            existing.addAll(repository.findExistingEmails(
+                    candidates.subList(start, Math.min(start + EMAIL_QUERY_CHUNK, candidates.size()))));
+        return existing;
+    }
+
+    /**
+     * Método auxiliar privado que grava os usuários em uma só transação, enviando os inserts ao banco
+     * e esvaziando o contexto de persistência a cada batchSize usuários.
+     */
+    private void persistAll(List<Users> objects){
+        if (objects.isEmpty())
+            return;
+        int size = Math.max(1, batchSize);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int index = 0; index < objects.size(); index++) {
+                    entityManager.persist(objects.get(index));
+                    if ((index + 1) % size == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+            });
+        } catch (org.springframework.dao.DataIntegrityViolationException
+                 | org.hibernate.exception.ConstraintViolationException ex){
+            throw new DataIntegratyViolationException("E-mail já cadastrado!");
+        }
+    }
+
+    /**
+     * Método auxiliar privado que cria o resultado de um item recusado por e-mail duplicado.
+     */
+    private static BatchItemResult duplicatedEmail(int index){
+        return new BatchItemResult(index, BatchItemResult.Status.DUPLICATED_EMAIL, null, "E-mail já cadastrado!");
+    }
+
+    /**
+     * Método auxiliar que interpreta o parâmetro "fields", separado por vírgulas, retornando os campos
+     * pedidos na ordem de PROJECTABLE_FIELDS e sem repetições. Um campo desconhecido ou a lista vazia
+     * terminam com InvalidParameterException.
+     */
+    static List<String> parseFields(String fields){
+        Set<String> requested = new HashSet<>();
+        for (String field : fields == null ? new String[0] : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty() && !PROJECTABLE_FIELDS.contains(name))
+                throw new InvalidParameterException(CAMPOS_INVALIDOS);
+            requested.add(name);
+        }
+        List<String> selected = PROJECTABLE_FIELDS.stream().filter(requested::contains).toList();
+        if (selected.isEmpty())
+            throw new InvalidParameterException(CAMPOS_INVALIDOS);
+        return selected;
+    }
+
+    /**
+     * Método auxiliar privado que copia os campos pedidos de um usuário já carregado (do cache) para
+     * um mapa, no mesmo formato retornado pelo repositório.
+     */
+    private static Map<String, Object> project(Users users, List<String> fields){
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "id" -> map.put(field, users.getId());
+                case "name" -> map.put(field, users.getName());
+                case "email" -> map.put(field, users.getEmail());
+                default -> throw new InvalidParameterException(CAMPOS_INVALIDOS);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Método auxiliar que normaliza o prefixo da busca para minúsculas, retornando nulo quando o
+     * parâmetro não foi informado ou está em branco.
+     */
+    static String prefix(String value){
+        if (value == null || value.isBlank())
+            return null;
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Método auxiliar que gera o cursor opaco da busca a partir do id e do valor em minúsculas da coluna
+     * ordenada do último usuário da página, como exemplo: "search:7:adison".
+     */
+    static String encodeSearchCursor(Integer id, String value){
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((SEARCH_CURSOR_PREFIX + id + ":" + value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Método auxiliar que decodifica o cursor da busca, retornando o id e o valor da coluna ordenada, nulo
+     * para a primeira página, e lançando uma exceção InvalidParameterException se o cursor for inválido.
+     */
+    static String[] decodeSearchCursor(String cursor){
+        if (cursor == null || cursor.isBlank())
+            return null;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.startsWith(SEARCH_CURSOR_PREFIX)
+                    ? value.substring(SEARCH_CURSOR_PREFIX.length()).split(":", 2) : new String[0];
+            if (parts.length != 2)
+                throw new InvalidParameterException("Cursor inválido!");
+            Integer.parseInt(parts[0]);
+            return parts;
+        } catch (IllegalArgumentException ex){
+            throw new InvalidParameterException("Cursor inválido!");
+        }
+    }
+
+    /**
+     * Método auxiliar que gera o cursor opaco a partir do último id da página, codificando-o em
+     * Base64 (url safe) para que o cliente não dependa do formato interno da paginação.
+     */
+    static String encodeCursor(Integer id){
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Método auxiliar que decodifica o cursor recebido no parâmetro "after", retornando 0 para a
+     * primeira página e lançando uma exceção InvalidParameterException se o cursor for inválido.
+     */
+    static Integer decodeCursor(String cursor){
+        if (cursor == null || cursor.isBlank())
+            return 0;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(CURSOR_PREFIX))
+                throw new InvalidParameterException("Cursor inválido!");
+            return Integer.valueOf(value.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException ex){
+            throw new InvalidParameterException("Cursor inválido!");
+        }
+    }
 }
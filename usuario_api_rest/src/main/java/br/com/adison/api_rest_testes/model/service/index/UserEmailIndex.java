@@ -0,0 +1,103 @@
+package br.com.adison.api_rest_testes.model.service.index;
+
+import br.com.adison.api_rest_testes.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Esta classe UserEmailIndex mantém em memória um índice concorrente de e-mail para id dos
+ * usuários. Ele é usado pelo UserServiceImplement para responder, sem ir ao banco, a verificação
+ * de e-mail duplicado no caso mais comum, quando o e-mail ainda não está cadastrado.
+ * <p>
+ * O índice é carregado a partir do UserRepository quando a aplicação termina de iniciar e é
+ * mantido pelo serviço a cada create, update e delete. Enquanto a carga não termina, isReady()
+ * retorna falso e o serviço continua consultando o banco. Ele não substitui a restrição unique
+ * da coluna email: se outro processo gravar o mesmo e-mail, o banco ainda recusa a inserção.
+ * <p>
+ * Os dois mapas (emailToId e idToEmail) permitem remover o e-mail antigo quando um usuário é
+ * atualizado ou excluído, recebendo apenas o id.
+ * <p>
+ * A anotação @Component registra a classe como um bean gerenciado pelo Spring.
+ */
+@Component
+public class UserEmailIndex {
+    private final Map<String, Integer> emailToId = new ConcurrentHashMap<>();
+    private final Map<Integer, String> idToEmail = new ConcurrentHashMap<>();
+    private final Set<Integer> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @Autowired
+    private UserRepository repository;
+
+    /**
+     * O método warmUp é chamado pelo Spring quando a aplicação termina de iniciar, por causa da
+     * anotação @EventListener(ApplicationReadyEvent.class). Ele percorre os pares id/e-mail do banco
+     * e preenche o índice sem sobrescrever o que o serviço já gravou durante a carga, e sem incluir
+     * usuários excluídos durante a carga, só então o índice passa a ser considerado pronto.
+     * <p>
+     * A anotação @Transactional(readOnly = true) mantém aberto o cursor do Stream durante a leitura.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        try (Stream<UserRepository.EmailView> emails = repository.streamEmails()) {
+            emails.forEach(view -> {
+                if (view.getEmail() != null && !removedWhileLoading.contains(view.getId())
+                        && idToEmail.putIfAbsent(view.getId(), view.getEmail()) == null)
+                    emailToId.put(view.getEmail(), view.getId());
+            });
+        }
+        removedWhileLoading.clear();
+        ready = true;
+    }
+
+    /**
+     * O método isReady() informa se o índice já foi carregado e pode responder pelas consultas.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * O método idOf(String email) retorna o id do usuário dono do e-mail ou nulo se ele não estiver
+     * no índice.
+     */
+    public Integer idOf(String email) {
+        return email == null ? null : emailToId.get(email);
+    }
+
+    /**
+     * O método put(Integer id, String email) registra o e-mail atual do usuário, removendo o e-mail
+     * anterior dele quando houver troca, e retorna o e-mail anterior (nulo se o índice não o conhecia).
+     */
+    public String put(Integer id, String email) {
+        if (id == null || email == null)
+            return null;
+        String previous = idToEmail.put(id, email);
+        if (previous != null && !previous.equals(email))
+            emailToId.remove(previous, id);
+        emailToId.put(email, id);
+        return previous;
+    }
+
+    /**
+     * O método remove(Integer id) retira do índice o e-mail do usuário excluído e o retorna (nulo se o
+     * índice não o conhecia).
+     */
+    public String remove(Integer id) {
+        if (!ready)
+            removedWhileLoading.add(id);
+        String previous = idToEmail.remove(id);
+        if (previous != null)
+            emailToId.remove(previous, id);
+        return previous;
+    }
+}
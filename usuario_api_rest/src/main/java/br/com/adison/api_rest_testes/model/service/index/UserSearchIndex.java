@@ -0,0 +1,349 @@
+package br.com.adison.api_rest_testes.model.service.index;
+
+import br.com.adison.api_rest_testes.model.domain.dto.UserSearchHit;
+import br.com.adison.api_rest_testes.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Esta classe UserSearchIndex mantém em memória um índice invertido de trigramas do nome e do e-mail
+ * dos usuários, usado pela busca tolerante a erros de digitação (GET /user/search?q=...). Um "like
+ * '%texto%'" no banco só pode ser respondido percorrendo a tabela inteira e não tolera letras trocadas;
+ * aqui cada trigrama aponta para os ids dos usuários que o contêm, então a busca lê apenas as listas
+ * dos trigramas do texto procurado, sem ir ao banco.
+ * <p>
+ * Os textos são normalizados (minúsculas, sem acentos) e quebrados em palavras, e cada palavra gera os
+ * trigramas com dois espaços no início e um no fim, como o pg_trgm do PostgreSQL: "ana" vira "  a",
+ * " an", "ana" e "na ". A nota de um usuário é a fração dos trigramas da busca que ele contém, então
+ * "adsion" ainda encontra "Adison" pelos trigramas em comum, e os empates ficam com o usuário de texto
+ * mais curto (mais parecido com a busca) e depois com o menor id.
+ * <p>
+ * Como o UserEmailIndex, o índice é carregado a partir do UserRepository quando a aplicação termina de
+ * iniciar e é mantido pelo UserServiceImplement a cada create, update, patch e delete, sem sobrescrever
+ * as alterações feitas durante a carga. Enquanto a carga não termina a busca responde apenas com os
+ * usuários já carregados.
+ * <p>
+ * O mapa documents guarda o nome e o e-mail indexados de cada id, necessários para retirar os trigramas
+ * antigos quando o usuário muda e para montar o resultado. As alterações de um mesmo id são feitas dentro
+ * do compute desse mapa, então duas gravações simultâneas do mesmo usuário não misturam as listas.
+ * <p>
+ * A propriedade, api.search-index.min-score, é a nota mínima (de 0 a 1) para um usuário entrar no
+ * resultado.
+ */
+@Component
+public class UserSearchIndex {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+    private final Map<Integer, Document> documents = new ConcurrentHashMap<>();
+    private final Set<Integer> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    private final Queue<Scratch> scratches = new ConcurrentLinkedQueue<>();
+    private volatile boolean ready;
+    private volatile int maxId;
+
+    @Autowired
+    private UserRepository repository;
+    @Value("${api.search-index.min-score:0.3}")
+    private double minScore;
+
+    /**
+     * O método warmUp é chamado pelo Spring quando a aplicação termina de iniciar e percorre o id, o nome
+     * e o e-mail de cada usuário do banco, indexando os que o serviço ainda não indexou nem excluiu
+     * durante a carga.
+     * <p>
+     * A anotação @Transactional(readOnly = true) mantém aberto o cursor do Stream durante a leitura.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        try (Stream<UserRepository.SearchView> users = repository.streamSearchViews()) {
+            users.forEach(view -> {
+                if (!removedWhileLoading.contains(view.getId()))
+                    documents.computeIfAbsent(view.getId(), id -> index(id, new Document(view.getName(), view.getEmail())));
+            });
+        }
+        removedWhileLoading.clear();
+        ready = true;
+    }
+
+    /**
+     * O método isReady() informa se a carga inicial já terminou.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * O método size() retorna a quantidade de usuários indexados.
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * O método put(Integer id, String name, String email) indexa o nome e o e-mail atuais do usuário,
+     * retirando os trigramas que deixaram de existir. Um nome ou e-mail nulo mantém o valor já indexado,
+     * como na alteração parcial (patch).
+     */
+    public void put(Integer id, String name, String email) {
+        if (id == null)
+            return;
+        documents.compute(id, (key, previous) -> {
+            Document document = new Document(
+                    name != null ? name : previous == null ? null : previous.name(),
+                    email != null ? email : previous == null ? null : previous.email());
+            if (previous != null) {
+                Set<String> kept = trigrams(document.name(), document.email());
+                for (String trigram : trigrams(previous.name(), previous.email()))
+                    if (!kept.contains(trigram))
+                        unlink(trigram, key);
+            }
+            return index(key, document);
+        });
+    }
+
+    /**
+     * O método remove(Integer id) retira o usuário excluído de todas as listas de trigramas.
+     */
+    public void remove(Integer id) {
+        if (!ready)
+            removedWhileLoading.add(id);
+        documents.computeIfPresent(id, (key, previous) -> {
+            for (String trigram : trigrams(previous.name(), previous.email()))
+                unlink(trigram, key);
+            return null;
+        });
+    }
+
+    /**
+     * O método search(String query, int limit) retorna até limit usuários ordenados pela nota, da maior
+     * para a menor, considerando apenas os que atingem a nota mínima.
+     * <p>
+     * Para cada trigrama da busca é somado um acerto aos ids da sua lista, em um vetor de contagem indexado
+     * pelo id (Scratch), sem criar objetos por usuário encontrado. Os vetores ficam em uma fila e são
+     * reaproveitados pelas buscas seguintes, então existem tantos quantas buscas simultâneas já houve, e
+     * não um por thread do servidor. Um histograma das contagens indica a menor contagem que ainda cabe
+     * entre os limit melhores, e só os usuários a partir dela são comparados pela nota e pelo desempate, em
+     * uma fila de prioridade com no máximo limit itens.
+     */
+    public List<UserSearchHit> search(String query, int limit) {
+        Set<String> wanted = trigrams(query, null);
+        if (wanted.isEmpty() || limit <= 0)
+            return List.of();
+        Scratch scratch = scratches.poll();
+        if (scratch == null)
+            scratch = new Scratch();
+        try {
+            return rank(scratch.prepare(maxId), wanted, limit);
+        } finally {
+            scratches.offer(scratch.clear());
+        }
+    }
+
+    /**
+     * Método auxiliar da busca que conta os acertos de cada id no vetor de trabalho e monta o resultado.
+     */
+    private List<UserSearchHit> rank(Scratch scratch, Set<String> wanted, int limit) {
+        for (String trigram : wanted) {
+            Postings ids = postings.get(trigram);
+            if (ids != null)
+                ids.countInto(scratch);
+        }
+
+        int[] histogram = new int[wanted.size() + 1];
+        for (int index = 0; index < scratch.touched; index++)
+            histogram[scratch.counts[scratch.ids[index]]]++;
+        int required = Math.min(wanted.size(), Math.max(1, (int) Math.ceil(minScore * wanted.size())));
+        int cut = wanted.size();
+        int found = histogram[cut];
+        while (cut > required && found < limit)
+            found += histogram[--cut];
+
+        Comparator<UserSearchHit> ranking = Comparator.comparingDouble(UserSearchHit::getScore)
+                .thenComparing(hit -> -length(hit))
+                .thenComparing(UserSearchHit::getId, Comparator.reverseOrder());
+        PriorityQueue<UserSearchHit> best = new PriorityQueue<>(limit + 1, ranking);
+        for (int index = 0; index < scratch.touched; index++) {
+            int id = scratch.ids[index];
+            int count = scratch.counts[id];
+            if (count < cut)
+                continue;
+            Document document = documents.get(id);
+            if (document == null)
+                continue;
+            best.add(new UserSearchHit(id, document.name(), document.email(), (double) count / wanted.size()));
+            if (best.size() > limit)
+                best.poll();
+        }
+        List<UserSearchHit> hits = new ArrayList<>(best);
+        hits.sort(ranking.reversed());
+        return hits;
+    }
+
+    /**
+     * Método auxiliar que gera o conjunto de trigramas dos textos informados, ignorando os nulos.
+     */
+    static Set<String> trigrams(String first, String second) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        addTrigrams(first, trigrams);
+        addTrigrams(second, trigrams);
+        return trigrams;
+    }
+
+    /**
+     * Método auxiliar que normaliza o texto (sem acentos e em minúsculas), separa as palavras e acrescenta
+     * os trigramas de cada palavra com o preenchimento de espaços no início e no fim.
+     */
+    private static void addTrigrams(String text, Set<String> trigrams) {
+        if (text == null)
+            return;
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String word : SEPARATORS.split(normalized)) {
+            if (word.isEmpty())
+                continue;
+            String padded = "  " + word + " ";
+            for (int index = 0; index + 3 <= padded.length(); index++)
+                trigrams.add(padded.substring(index, index + 3));
+        }
+    }
+
+    /**
+     * Método auxiliar que acrescenta o id na lista de cada trigrama do documento, retornando o documento.
+     * A inclusão é feita dentro do compute do mapa, assim ela não se perde em uma lista que outra thread
+     * acabou de descartar por ter ficado vazia.
+     */
+    private Document index(Integer id, Document document) {
+        for (String trigram : trigrams(document.name(), document.email()))
+            postings.compute(trigram, (key, ids) -> {
+                Postings list = ids == null ? new Postings() : ids;
+                list.add(id);
+                return list;
+            });
+        if (id > maxId)
+            synchronized (this) {
+                maxId = Math.max(maxId, id);
+            }
+        return document;
+    }
+
+    /**
+     * Método auxiliar que retira o id da lista do trigrama, descartando a lista que ficar vazia.
+     */
+    private void unlink(String trigram, Integer id) {
+        postings.computeIfPresent(trigram, (key, ids) -> ids.remove(id) ? null : ids);
+    }
+
+    /**
+     * Método auxiliar que retorna o tamanho do texto indexado do resultado, usado no desempate.
+     */
+    private static int length(UserSearchHit hit) {
+        return (hit.getName() == null ? 0 : hit.getName().length()) + (hit.getEmail() == null ? 0 : hit.getEmail().length());
+    }
+
+    /**
+     * A classe Postings é a lista de ids de um trigrama, mantida ordenada em um vetor de int em vez de um
+     * conjunto de Integer, o que reduz a memória do índice e permite percorrer a lista sem criar objetos.
+     * As operações são sincronizadas na própria lista.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        /**
+         * Acrescenta o id na posição ordenada, ignorando o id que já está na lista.
+         */
+        synchronized void add(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0)
+                return;
+            position = -position - 1;
+            if (size == ids.length)
+                ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        /**
+         * Retira o id da lista, retornando verdadeiro quando a lista ficou vazia.
+         */
+        synchronized boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+            }
+            return size == 0;
+        }
+
+        /**
+         * Soma um acerto para cada id da lista no vetor de contagem da busca.
+         */
+        synchronized void countInto(Scratch scratch) {
+            int[] counts = scratch.counts;
+            for (int index = 0; index < size; index++) {
+                int id = ids[index];
+                if (id < counts.length && counts[id]++ == 0)
+                    scratch.touch(id);
+            }
+        }
+    }
+
+    /**
+     * A classe Scratch guarda os vetores de trabalho de uma busca: a contagem de acertos indexada pelo id e
+     * os ids que receberam algum acerto, usados para zerar apenas as posições alteradas ao devolver o
+     * Scratch para a fila.
+     */
+    private static final class Scratch {
+        private int[] counts = new int[0];
+        private int[] ids = new int[16];
+        private int touched;
+
+        Scratch prepare(int maxId) {
+            if (counts.length <= maxId)
+                counts = new int[maxId + 1 + maxId / 4];
+            return this;
+        }
+
+        void touch(int id) {
+            if (touched == ids.length)
+                ids = Arrays.copyOf(ids, touched * 2);
+            ids[touched++] = id;
+        }
+
+        Scratch clear() {
+            for (int index = 0; index < touched; index++)
+                counts[ids[index]] = 0;
+            touched = 0;
+            return this;
+        }
+    }
+
+    /**
+     * O record Document guarda o nome e o e-mail indexados de um usuário.
+     */
+    private record Document(String name, String email) {
+    }
+}
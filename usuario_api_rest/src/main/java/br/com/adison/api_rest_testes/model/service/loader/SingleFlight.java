@@ -0,0 +1,110 @@
+package br.com.adison.api_rest_testes.model.service.loader;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Esta classe SingleFlight agrupa as chamadas simultâneas para a mesma chave em uma única execução: a
+ * primeira chamada (a líder) executa a carga e as que chegam enquanto ela não termina esperam e recebem o
+ * mesmo resultado, ou a mesma exceção. Terminada a carga, a chave é liberada e a próxima chamada executa
+ * uma carga nova, então nada é guardado além do tempo da própria carga (o cache continua sendo papel do
+ * Spring Cache).
+ * <p>
+ * O caso de uso é o findById do UserServiceImplement: depois de uma limpeza do cache, centenas de
+ * requisições para o mesmo usuário popular fariam, cada uma, a mesma consulta no banco; com o SingleFlight
+ * é uma consulta por id de cada vez.
+ * <p>
+ * A carga roda na thread da líder, sem pool próprio. As demais esperam com CompletableFuture.join(), e uma
+ * RuntimeException ou Error da carga é relançada nelas sem o invólucro CompletionException.
+ * <p>
+ * Como MeterBinder, a classe registra no MeterRegistry os contadores name + ".loads" (cargas executadas)
+ * e name + ".coalesced" (chamadas atendidas pela carga de outra thread).
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+    private final String name;
+    private final Map<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Este construtor recebe o prefixo dos nomes das métricas.
+     */
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * O método, public V execute(K key, Supplier<V> loader), executa a carga da chave ou, se outra thread
+     * já a estiver executando, espera e retorna o resultado dela.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> flight = flights.putIfAbsent(key, mine);
+        if (flight != null) {
+            coalesced.increment();
+            return await(flight);
+        }
+        loads.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(key, mine);
+        }
+    }
+
+    /**
+     * O método getLoads() retorna quantas cargas foram executadas.
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * O método getCoalesced() retorna quantas chamadas receberam o resultado da carga de outra thread.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * O método bindTo registra os contadores de cargas e de chamadas agrupadas no MeterRegistry.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(name + ".loads", this, SingleFlight::getLoads)
+                .description("Cargas executadas")
+                .register(registry);
+        FunctionCounter.builder(name + ".coalesced", this, SingleFlight::getCoalesced)
+                .description("Chamadas atendidas pela carga simultânea de outra thread")
+                .register(registry);
+    }
+
+    /**
+     * Método auxiliar que espera a carga de outra thread, relançando a exceção original dela. Também é
+     * usado pelo UserBatchLoader.
+     */
+    static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+            if (ex.getCause() instanceof Error cause)
+                throw cause;
+            throw ex;
+        }
+    }
+}
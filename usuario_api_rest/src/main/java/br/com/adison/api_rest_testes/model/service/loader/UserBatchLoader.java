@@ -0,0 +1,144 @@
+package br.com.adison.api_rest_testes.model.service.loader;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Esta classe UserBatchLoader junta as leituras de ids diferentes feitas ao mesmo tempo por requisições
+ * diferentes em uma única consulta "where id in (...)" (findAllById), no estilo do DataLoader. Ela fica
+ * abaixo do UserServiceImplement.findById, depois do cache e do SingleFlight (que já junta as leituras do
+ * mesmo id), e é usada quando a propriedade api.batch-loader.enabled está ligada.
+ * <p>
+ * A primeira leitura de um lote é a líder: ela espera até api.batch-loader.window-ms milissegundos pelas
+ * leituras de outras threads, ou até o lote juntar api.batch-loader.max-batch ids distintos, e então
+ * executa a consulta na própria thread e entrega a cada leitura o seu usuário (ou vazio, se o id não
+ * existir). Uma exceção da consulta chega a todas as leituras do lote. Não há thread própria: cada lote
+ * é consultado pela thread da requisição que o abriu.
+ * <p>
+ * O lote aberto é protegido por um ReentrantLock, e a líder espera a janela na Condition closed, em vez
+ * de synchronized e wait: no perfil de threads virtuais, uma thread virtual parada dentro de um bloco
+ * synchronized prende a thread de plataforma que a executa, e muitas leituras esperando a janela
+ * esgotariam essas threads.
+ * <p>
+ * O custo é a janela: uma leitura sozinha espera a janela inteira antes de consultar, por isso o modo vem
+ * desligado e a janela padrão é curta. Sob muitas leituras simultâneas de ids diferentes, a troca é
+ * várias idas ao banco por uma só.
+ * <p>
+ * A métrica "user.find-by-id.batch" registra quantos ids cada consulta buscou; a contagem dela é a
+ * quantidade de consultas.
+ */
+@Component
+public class UserBatchLoader {
+    @Value("${api.batch-loader.enabled:false}")
+    private boolean enabled;
+    @Value("${api.batch-loader.window-ms:2}")
+    private long windowMs;
+    @Value("${api.batch-loader.max-batch:100}")
+    private int maxBatch;
+
+    @Autowired
+    private UserRepository repository;
+    @Autowired
+    private MeterRegistry registry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition closed = lock.newCondition();
+    private Map<Integer, CompletableFuture<Optional<Users>>> open;
+    private DistributionSummary batches;
+
+    /**
+     * O método, public void start(), registra a métrica do tamanho dos lotes.
+     */
+    @PostConstruct
+    public void start() {
+        batches = DistributionSummary.builder("user.find-by-id.batch")
+                .description("Ids buscados por consulta")
+                .register(registry);
+    }
+
+    /**
+     * O método isEnabled() informa se as leituras devem passar pelo lote.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * O método, public Optional<Users> load(Integer id), inclui o id no lote aberto (ou abre um lote, se
+     * não houver) e espera o resultado da consulta do lote.
+     */
+    public Optional<Users> load(Integer id) {
+        Map<Integer, CompletableFuture<Optional<Users>>> batch;
+        CompletableFuture<Optional<Users>> result;
+        boolean leader;
+        lock.lock();
+        try {
+            leader = open == null;
+            if (leader)
+                open = new LinkedHashMap<>();
+            batch = open;
+            result = batch.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (batch.size() >= maxBatch) {
+                open = null;
+                closed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (leader)
+            dispatch(awaitWindow(batch));
+        return SingleFlight.await(result);
+    }
+
+    /**
+     * Método auxiliar privado da líder: espera a janela ou o lote completo, o que vier antes, e fecha o
+     * lote para que as próximas leituras abram outro.
+     */
+    private Map<Integer, CompletableFuture<Optional<Users>>> awaitWindow(Map<Integer, CompletableFuture<Optional<Users>>> batch) {
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(windowMs);
+            while (open == batch && remaining > 0)
+                remaining = closed.awaitNanos(remaining);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (open == batch)
+                open = null;
+            lock.unlock();
+        }
+        return batch;
+    }
+
+    /**
+     * Método auxiliar privado que busca os ids do lote com uma única consulta e completa a espera de cada
+     * leitura, com o usuário encontrado, vazio ou a exceção da consulta.
+     */
+    private void dispatch(Map<Integer, CompletableFuture<Optional<Users>>> batch) {
+        try {
+            Map<Integer, Users> found = new HashMap<>();
+            for (Users users : repository.findAllById(batch.keySet()))
+                found.put(users.getId(), users);
+            batch.forEach((id, result) -> result.complete(Optional.ofNullable(found.get(id))));
+        } catch (RuntimeException | Error ex) {
+            batch.values().forEach(result -> result.completeExceptionally(ex));
+        } finally {
+            batches.record(batch.size());
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package br.com.adison.api_rest_testes.model.service.queue;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.service.exceptions.DataIntegratyViolationException;
+import br.com.adison.api_rest_testes.model.service.exceptions.ServiceUnavailableException;
+import br.com.adison.api_rest_testes.model.service.implement.UserServiceImplement;
+import br.com.adison.api_rest_testes.model.service.index.UserEmailIndex;
+import br.com.adison.api_rest_testes.model.service.index.UserSearchIndex;
+import br.com.adison.api_rest_testes.model.service.stats.UserStatistics;
+import br.com.adison.api_rest_testes.repository.UserIdBlock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Esta classe UserCreateQueue é a fila de gravação adiada (write-behind) do cadastro de usuários, usada
+ * pelo UserServiceImplement.create quando a propriedade api.write-behind.enabled está ligada. Em picos de
+ * POST /user cada cadastro deixa de abrir e confirmar a própria transação: o serviço valida o usuário
+ * (inclusive o e-mail duplicado), recebe o id reservado aqui e responde 201, e uma única thread de fundo
+ * grava os cadastros acumulados em um lote JDBC por transação.
+ * <p>
+ * O lote é gravado quando junta api.write-behind.batch-size usuários ou quando passam
+ * api.write-behind.window-ms milissegundos desde o primeiro usuário do lote, o que vier antes.
+ * <p>
+ * Os ids vêm da mesma sequence do Hibernate (Users.ID_SEQUENCE), pelo bloco do UserIdBlock, compartilhado
+ * com o modo reativo: Users.ID_ALLOCATION_SIZE valores por consulta, com a mesma faixa que o otimizador
+ * pooled do Hibernate usa para cada valor lido, então os ids reservados aqui nunca coincidem com os ids do
+ * cadastro em lote ou de um create com a fila desligada.
+ * <p>
+ * Enquanto não é gravado, o usuário fica em pending (por id) e o e-mail em pendingEmails: o serviço
+ * responde o findById a partir dele e recusa um segundo cadastro com o mesmo e-mail, que o banco ainda não
+ * conhece. Uma gravação (update, patch ou delete) de um usuário pendente chama flush(id) antes, que grava
+ * a fila na hora. As listagens (findAll, findPage, search e export) só mostram o usuário depois do lote.
+ * <p>
+ * A entrega é "durável o bastante", não durável como o commit de cada requisição:
+ * <ul>
+ *     <li>falhas temporárias do banco repetem o lote até MAX_ATTEMPTS vezes, com espera crescente;</li>
+ *     <li>se o lote ainda falhar, ou se o banco recusar um e-mail gravado por outro caminho (restrição
+ *     unique), os usuários são gravados um a um e apenas os recusados são descartados, contados em
+ *     "user.create.failed", registrados no log e retirados dos índices e do cache;</li>
+ *     <li>no encerramento da aplicação (@PreDestroy) a fila é gravada inteira antes de o DataSource fechar;</li>
+ *     <li>uma queda do processo perde o que estava na fila, no máximo a janela de gravação em cadastros.</li>
+ * </ul>
+ * A fila tem o tamanho api.write-behind.queue-capacity: cheia, o cadastro é recusado com
+ * ServiceUnavailableException (HTTP 503 com o cabeçalho Retry-After), em vez de acumular memória sem limite.
+ * Como o lote em montagem já saiu da fila, os cadastros aceitos e não gravados são no máximo a capacidade
+ * da fila mais um lote.
+ * <p>
+ * As métricas ficam no MeterRegistry: "user.create.queue" (usuários na fila), "user.create.batch"
+ * (tamanho de cada lote), "user.create.flush" (tempo de gravação de cada lote), "user.create.rejected"
+ * (cadastros recusados por fila cheia) e "user.create.failed" (cadastros descartados na gravação).
+ */
+@Slf4j
+@Component
+public class UserCreateQueue {
+    public static final String FILA_CHEIA = "Muitos cadastros em andamento, tente novamente em instantes!";
+    public static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MS = 100;
+    private static final long POLL_MS = 100;
+    private static final String INSERT = "insert into users (id, name, email, password, version) values (?, ?, ?, ?, ?)";
+
+    @Value("${api.write-behind.enabled:false}")
+    private boolean enabled;
+    @Value("${api.write-behind.batch-size:100}")
+    private int batchSize;
+    @Value("${api.write-behind.window-ms:20}")
+    private long windowMs;
+    @Value("${api.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+    @Value("${api.write-behind.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private UserEmailIndex emailIndex;
+    @Autowired
+    private UserSearchIndex searchIndex;
+    @Autowired
+    private UserStatistics statistics;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private UserIdBlock idBlock;
+    @Autowired
+    private MeterRegistry registry;
+
+    private final Map<Integer, Users> pending = new ConcurrentHashMap<>();
+    private final Map<String, Integer> pendingEmails = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+    private BlockingQueue<Users> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private DistributionSummary batches;
+    private Timer flushes;
+    private Counter rejected;
+    private Counter failed;
+
+    /**
+     * O método, public void start(), cria a fila limitada e registra as métricas. A thread de fundo só é
+     * criada quando a gravação adiada está ligada.
+     */
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        Gauge.builder("user.create.queue", queue, BlockingQueue::size)
+                .description("Cadastros aguardando a gravação em lote")
+                .register(registry);
+        batches = DistributionSummary.builder("user.create.batch")
+                .description("Usuários gravados por lote")
+                .register(registry);
+        flushes = Timer.builder("user.create.flush")
+                .description("Tempo de gravação de cada lote")
+                .register(registry);
+        rejected = Counter.builder("user.create.rejected")
+                .description("Cadastros recusados por fila cheia")
+                .register(registry);
+        failed = Counter.builder("user.create.failed")
+                .description("Cadastros aceitos e descartados na gravação")
+                .register(registry);
+        if (!enabled)
+            return;
+        running = true;
+        flusher = new Thread(this::run, "user-create-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * O método, public void stop(), pede o fim da thread de fundo, espera que ela grave o que está na
+     * fila e, se ela não terminar a tempo, grava o restante nesta mesma thread antes de o DataSource fechar.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null)
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        flushLock.lock();
+        try {
+            drainAndWrite();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * O método isEnabled() informa se o cadastro deve passar pela fila.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * O método, public synchronized Integer reserveId(), entrega o próximo id do bloco reservado,
+     * consultando a sequence apenas quando o bloco acaba.
+     */
+    public synchronized Integer reserveId() {
+        Integer id = idBlock.next();
+        if (id != null)
+            return id;
+        return idBlock.start(jdbcTemplate.queryForObject(UserIdBlock.NEXT_VALUE, Long.class));
+    }
+
+    /**
+     * O método, public void submit(Users users), coloca na fila o usuário já validado e com o id
+     * reservado. Ele lança DataIntegratyViolationException se o e-mail já estiver em outro cadastro
+     * pendente e ServiceUnavailableException se a fila estiver cheia.
+     */
+    public void submit(Users users) {
+        if (pendingEmails.putIfAbsent(users.getEmail(), users.getId()) != null)
+            throw new DataIntegratyViolationException("E-mail já cadastrado!");
+        pending.put(users.getId(), users);
+        if (!queue.offer(users)) {
+            release(users);
+            rejected.increment();
+            throw new ServiceUnavailableException(FILA_CHEIA, retryAfterSeconds);
+        }
+    }
+
+    /**
+     * O método, public Users pending(Integer id), retorna o usuário aceito e ainda não gravado, ou nulo.
+     */
+    public Users pending(Integer id) {
+        return id == null ? null : pending.get(id);
+    }
+
+    /**
+     * O método, public boolean isPendingEmail(String email, Integer id), informa se o e-mail pertence a
+     * um cadastro pendente de outro usuário que não o id informado (nulo quando não há usuário).
+     */
+    public boolean isPendingEmail(String email, Integer id) {
+        Integer owner = email == null ? null : pendingEmails.get(email);
+        return owner != null && !owner.equals(id);
+    }
+
+    /**
+     * O método, public void flush(Integer id), garante que o usuário pendente esteja gravado antes de
+     * uma gravação que depende dele. Sem cadastro pendente com esse id ele retorna sem esperar nada; caso
+     * contrário grava a fila nesta thread e, se o usuário já estiver no lote da thread de fundo, espera
+     * esse lote terminar.
+     */
+    public void flush(Integer id) {
+        if (id == null || !pending.containsKey(id))
+            return;
+        flushLock.lock();
+        try {
+            while (pending.containsKey(id))
+                if (!drainAndWrite() && !flushed.await(windowMs + POLL_MS, TimeUnit.MILLISECONDS))
+                    break;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * O método, public <T> T withPending(Function<Collection<Users>, T> action), executa a ação com os
+     * usuários pendentes sem que nenhum lote seja gravado enquanto ela executa, então quem consulta o
+     * banco dentro da ação vê cada usuário aceito ou no banco ou entre os pendentes, nunca nos dois nem em
+     * nenhum. É usado pelo UserStatistics na conferência com o banco.
+     */
+    public <T> T withPending(Function<Collection<Users>, T> action) {
+        flushLock.lock();
+        try {
+            return action.apply(List.copyOf(pending.values()));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Método auxiliar privado executado pela thread de fundo. Ela espera o primeiro usuário, junta os que
+     * chegarem até completar o lote ou acabar a janela e grava o lote, repetindo até o encerramento e a
+     * fila vazia.
+     */
+    private void run() {
+        List<Users> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Users first = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                flushLock.lock();
+                try {
+                    batch.add(first);
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                    while (batch.size() < batchSize) {
+                        Users next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null)
+                            break;
+                        batch.add(next);
+                        queue.drainTo(batch, batchSize - batch.size());
+                    }
+                    write(batch);
+                } finally {
+                    batch.clear();
+                    flushLock.unlock();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Falha inesperada na gravação dos cadastros", ex);
+            }
+        }
+    }
+
+    /**
+     * Método auxiliar privado, chamado com o flushLock, que grava tudo o que está na fila em lotes de
+     * batchSize, retornando falso se a fila já estava vazia.
+     */
+    private boolean drainAndWrite() {
+        List<Users> batch = new ArrayList<>(batchSize);
+        boolean wrote = false;
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+            wrote = true;
+        }
+        return wrote;
+    }
+
+    /**
+     * Método auxiliar privado, chamado com o flushLock, que grava o lote em uma transação, repetindo as
+     * falhas temporárias e passando à gravação um a um quando o lote não pode ser gravado inteiro. Ao
+     * final os usuários deixam de ser pendentes e quem espera em flush(id) é avisado.
+     */
+    private void write(List<Users> batch) {
+        long start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (statement, users) -> {
+                            statement.setInt(1, users.getId());
+                            statement.setString(2, users.getName());
+                            statement.setString(3, users.getEmail());
+                            statement.setString(4, users.getPassword());
+                            statement.setLong(5, users.getVersion());
+                        }));
+                batch.forEach(this::release);
+                break;
+            } catch (DataIntegrityViolationException ex) {
+                writeEach(batch);
+                break;
+            } catch (RuntimeException ex) {
+                if (attempt == MAX_ATTEMPTS) {
+                    writeEach(batch);
+                    break;
+                }
+                log.warn("Falha na gravação de {} cadastros, tentativa {} de {}: {}",
+                        batch.size(), attempt, MAX_ATTEMPTS, ex.getMessage());
+                sleep(RETRY_DELAY_MS * attempt);
+            }
+        }
+        batches.record(batch.size());
+        flushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        flushed.signalAll();
+    }
+
+    /**
+     * Método auxiliar privado que grava os usuários do lote um a um, descartando apenas os que o banco
+     * recusar.
+     */
+    private void writeEach(List<Users> batch) {
+        for (Users users : batch) {
+            try {
+                jdbcTemplate.update(INSERT, users.getId(), users.getName(), users.getEmail(),
+                        users.getPassword(), users.getVersion());
+            } catch (RuntimeException ex) {
+                discard(users, ex);
+            }
+            release(users);
+        }
+    }
+
+    /**
+     * Método auxiliar privado que desfaz um cadastro já respondido e que não pôde ser gravado: o usuário
+     * sai dos índices, das estatísticas e do cache, e o descarte é contado e registrado no log.
+     */
+    private void discard(Users users, RuntimeException ex) {
+        failed.increment();
+        log.error("Cadastro descartado na gravação: id={} email={}: {}", users.getId(), users.getEmail(), ex.getMessage());
+        emailIndex.remove(users.getId());
+        searchIndex.remove(users.getId());
+        statistics.removed(users.getEmail());
+        Cache cache = cacheManager.getCache(UserServiceImplement.USERS_CACHE);
+        if (cache != null)
+            cache.evict(users.getId());
+    }
+
+    /**
+     * Método auxiliar privado que retira o usuário dos mapas de cadastros pendentes.
+     */
+    private void release(Users users) {
+        pending.remove(users.getId(), users);
+        pendingEmails.remove(users.getEmail(), users.getId());
+    }
+
+    /**
+     * Método auxiliar privado que espera antes de uma nova tentativa, preservando a interrupção.
+     */
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
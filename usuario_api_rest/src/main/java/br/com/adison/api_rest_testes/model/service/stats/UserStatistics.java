@@ -0,0 +1,207 @@
+package br.com.adison.api_rest_testes.model.service.stats;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserStats;
+import br.com.adison.api_rest_testes.model.service.queue.UserCreateQueue;
+import br.com.adison.api_rest_testes.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Esta classe UserStatistics mantém em memória a quantidade de usuários e a quantidade por domínio de
+ * e-mail, respondendo GET /user/stats sem percorrer a tabela. Os contadores são LongAdder, que espalham
+ * os incrementos simultâneos em células separadas, então os cadastros concorrentes não disputam a mesma
+ * variável; a soma só é feita na leitura das estatísticas.
+ * <p>
+ * Os contadores são mantidos pelo UserServiceImplement a cada create, update, patch e delete, e pela
+ * UserCreateQueue quando descarta um cadastro adiado, nos mesmos pontos em que o UserEmailIndex é
+ * atualizado. O e-mail anterior de um update vem do próprio índice de e-mails; quando ele não o conhece
+ * (índice ainda carregando) a troca de domínio é ignorada.
+ * <p>
+ * O método reconcile confere os contadores com o banco, com uma única consulta agrupada por domínio, na
+ * inicialização (após api.stats.reconcile-initial-delay-ms) e depois a cada api.stats.reconcile-interval-ms
+ * milissegundos, corrigindo o que os contadores perderam, como gravações feitas por outro processo. Os
+ * cadastros ainda na fila da UserCreateQueue já estão nos contadores e ainda não estão no banco, por isso
+ * são somados à contagem do banco, lidos junto com a consulta sem que a fila grave um lote no meio.
+ * <p>
+ * O valor de cada contador é lido antes da consulta e a correção é a diferença entre a contagem e esse
+ * valor, somada ao contador sem trocá-lo. Um contador que mudou enquanto a consulta executava não é
+ * corrigido nessa rodada, pois não há como saber se a gravação que o mudou entrou na contagem; ele é
+ * conferido de novo na seguinte. A soma das correções, depois da carga inicial, fica na métrica
+ * "user.stats.drift"; o total atual, em "user.stats.total".
+ */
+@Slf4j
+@Component
+public class UserStatistics {
+    private final LongAdder total = new LongAdder();
+    private final Map<String, LongAdder> domains = new ConcurrentHashMap<>();
+    private final LongAdder drift = new LongAdder();
+    private volatile boolean loaded;
+
+    @Autowired
+    private UserRepository repository;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private ObjectProvider<UserCreateQueue> createQueue;
+
+    /**
+     * O método, public void start(), registra as métricas do total de usuários e das correções.
+     */
+    @PostConstruct
+    public void start() {
+        Gauge.builder("user.stats.total", total, LongAdder::sum)
+                .description("Usuários cadastrados, pelos contadores em memória")
+                .register(registry);
+        FunctionCounter.builder("user.stats.drift", drift, LongAdder::sum)
+                .description("Diferença corrigida pela conferência com o banco")
+                .register(registry);
+    }
+
+    /**
+     * O método added(String email) conta um usuário criado.
+     */
+    public void added(String email) {
+        total.increment();
+        if (email != null)
+            counterOf(domainOf(email)).increment();
+    }
+
+    /**
+     * O método removed(String email) desconta um usuário excluído; com o e-mail nulo (desconhecido) só o
+     * total é descontado.
+     */
+    public void removed(String email) {
+        total.decrement();
+        if (email != null)
+            counterOf(domainOf(email)).decrement();
+    }
+
+    /**
+     * O método changed(String previous, String current) move o usuário de domínio quando o e-mail muda.
+     */
+    public void changed(String previous, String current) {
+        if (previous == null || current == null)
+            return;
+        String from = domainOf(previous);
+        String to = domainOf(current);
+        if (from.equals(to))
+            return;
+        counterOf(from).decrement();
+        counterOf(to).increment();
+    }
+
+    /**
+     * O método, public UserStats snapshot(), soma os contadores e retorna o total e os domínios com
+     * usuários, do que tem mais para o que tem menos.
+     */
+    public UserStats snapshot() {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>(domains.size());
+        domains.forEach((domain, counter) -> {
+            long count = counter.sum();
+            if (count > 0)
+                counts.add(Map.entry(domain, count));
+        });
+        counts.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return new UserStats(Math.max(0, total.sum()), result);
+    }
+
+    /**
+     * O método reconcile confere os contadores com a contagem do banco mais os cadastros pendentes,
+     * aplicando a cada contador a diferença para o valor que ele tinha antes da consulta. A anotação
+     * @Scheduled o executa na inicialização e depois a cada intervalo configurado, contado a partir do fim
+     * da execução anterior.
+     */
+    @Scheduled(initialDelayString = "${api.stats.reconcile-initial-delay-ms:0}",
+            fixedDelayString = "${api.stats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        long totalBefore = total.sum();
+        Map<String, Long> before = new HashMap<>();
+        domains.forEach((domain, counter) -> before.put(domain, counter.sum()));
+
+        Map<String, Long> counted = new HashMap<>();
+        long sum = createQueue.getObject().withPending(pending -> {
+            long rows = pending.size();
+            for (UserRepository.DomainCount row : repository.countByEmailDomain()) {
+                rows += row.getTotal();
+                if (row.getDomain() != null)
+                    counted.merge(row.getDomain(), row.getTotal(), Long::sum);
+            }
+            for (Users users : pending)
+                counted.merge(domainOf(users.getEmail()), 1L, Long::sum);
+            return rows;
+        });
+        for (String domain : before.keySet())
+            counted.putIfAbsent(domain, 0L);
+
+        long corrected = 0;
+        boolean skipped = false;
+        Long difference = adjust(total, totalBefore, sum);
+        if (difference == null)
+            skipped = true;
+        else
+            corrected += difference;
+        for (Map.Entry<String, Long> entry : counted.entrySet()) {
+            difference = adjust(counterOf(entry.getKey()), before.getOrDefault(entry.getKey(), 0L), entry.getValue());
+            if (difference == null)
+                skipped = true;
+            else
+                corrected += difference;
+        }
+        if (loaded && corrected > 0) {
+            drift.add(corrected);
+            log.info("Estatísticas de usuários corrigidas pela conferência com o banco: diferença={}", corrected);
+        }
+        if (!skipped)
+            loaded = true;
+    }
+
+    /**
+     * Método auxiliar privado que retorna o contador do domínio, criando-o na primeira vez.
+     */
+    private LongAdder counterOf(String domain) {
+        return domains.computeIfAbsent(domain, key -> new LongAdder());
+    }
+
+    /**
+     * Método auxiliar privado que soma ao contador a diferença entre o valor esperado e o valor lido antes
+     * da consulta, retornando o tamanho da correção, ou nulo, sem alterar o contador, quando ele mudou
+     * desde a leitura.
+     */
+    private static Long adjust(LongAdder counter, long before, long expected) {
+        if (counter.sum() != before)
+            return null;
+        long difference = expected - before;
+        counter.add(difference);
+        return Math.abs(difference);
+    }
+
+    /**
+     * Método auxiliar que retorna o domínio do e-mail em minúsculas, o trecho depois do primeiro "@", da
+     * mesma forma que a consulta countByEmailDomain.
+     */
+    static String domainOf(String email) {
+        String lower = email.toLowerCase(Locale.ROOT);
+        return lower.substring(lower.indexOf('@') + 1);
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.adison.api_rest_testes.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Esta classe ServiceMethodAspect guarda, enquanto um método do UserService está executando, o nome
+ * desse método na thread atual. O SlowQueryLogger lê esse nome quando um comando SQL termina na mesma
+ * thread, assim o log de uma consulta lenta informa qual operação do serviço a originou, por exemplo
+ * "UserService.findPage".
+ * <p>
+ * O nome anterior é restaurado ao final da chamada, então uma chamada aninhada não apaga o nome de
+ * quem a chamou. Comandos executados fora de um método do serviço (como a carga do índice de e-mails)
+ * ficam sem nome.
+ * <p>
+ * A anotação @Aspect registra a classe como um aspecto do Spring AOP e a anotação @Component a torna
+ * um bean, para que o aspecto seja aplicado ao proxy do UserService.
+ */
+@Aspect
+@Component
+public class ServiceMethodAspect {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    /**
+     * O método, public Object track(ProceedingJoinPoint joinPoint), intercepta cada método da interface
+     * UserService, guarda o nome na thread atual durante a execução e restaura o nome anterior no final.
+     */
+    @Around("execution(* br.com.adison.api_rest_testes.model.service.UserService.*(..))")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        String previous = CURRENT.get();
+        CURRENT.set("UserService." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null)
+                CURRENT.remove();
+            else
+                CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * O método, public static String current(), retorna o método do UserService em execução na thread
+     * atual, ou nulo quando a thread não está dentro de um método do serviço.
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.adison.api_rest_testes.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Esta classe SlowQueryLogger substitui o spring.jpa.show-sql, que imprimia cada comando SQL na saída
+ * padrão, de forma síncrona, dentro da requisição. Ela recebe cada comando executado pelo DataSource
+ * (por meio do proxy criado no SlowQueryConfigure) e registra no log apenas:
+ * <ul>
+ *     <li>os comandos que levaram pelo menos api.slow-query.threshold-ms milissegundos;</li>
+ *     <li>uma amostra dos demais, na proporção api.slow-query.sample-rate (0 desliga a amostragem e 1
+ *     registra todos).</li>
+ * </ul>
+ * Cada linha traz o tempo, o motivo (slow ou sample), o método do UserService que originou o comando
+ * (ServiceMethodAspect), o SQL e, se api.slow-query.log-parameters estiver ligado (o padrão é desligado),
+ * os parâmetros vinculados de cada execução. Mesmo ligado, os valores vinculados à coluna password são
+ * escritos como MASK, para que as senhas dos inserts e updates não cheguem ao log em texto puro.
+ * <p>
+ * A escrita é feita por uma única thread de fundo, então a thread da requisição só monta a mensagem e a
+ * entrega. A fila dessa thread tem o tamanho api.slow-query.queue-capacity: se o log não der conta do
+ * volume, as mensagens excedentes são descartadas e contadas em getDropped(), em vez de travar as
+ * requisições ou ocupar memória sem limite.
+ */
+@Slf4j
+@Component
+public class SlowQueryLogger implements QueryExecutionListener {
+    public static final String MASK = "****";
+    private static final Pattern INSERT_COLUMNS = Pattern.compile(
+            "^\\s*insert\\s+into\\s+\\S+\\s*\\(([^)]*)\\)\\s*values\\s*\\((.*)\\)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern PASSWORD_COMPARED = Pattern.compile("\\bpassword\\s*=\\s*$", Pattern.CASE_INSENSITIVE);
+    @Value("${api.slow-query.threshold-ms:200}")
+    private long thresholdMs;
+    @Value("${api.slow-query.sample-rate:0}")
+    private double sampleRate;
+    @Value("${api.slow-query.log-parameters:false}")
+    private boolean logParameters;
+    @Value("${api.slow-query.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private ThreadPoolExecutor writer;
+
+    /**
+     * O método, public void start(), cria a thread de fundo que escreve o log, com a fila limitada e a
+     * política de descartar (contando) o que não couber na fila.
+     */
+    @PostConstruct
+    public void start() {
+        writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-log");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> dropped.incrementAndGet());
+    }
+
+    /**
+     * O método, public void stop(), escreve o que ainda está na fila e encerra a thread de fundo quando a
+     * aplicação é finalizada.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Nada a fazer antes da execução: o tempo do comando é informado pelo proxy no afterQuery.
+     */
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    /**
+     * O método afterQuery decide se o comando executado deve ir para o log. Os comandos rápidos que não
+     * foram sorteados saem daqui sem montar nenhuma mensagem, que é o caminho da grande maioria.
+     */
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        String reason;
+        if (elapsed >= thresholdMs)
+            reason = "slow";
+        else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)
+            reason = "sample";
+        else
+            return;
+        String message = format(elapsed, reason, ServiceMethodAspect.current(), execInfo, queryInfoList);
+        writer.execute(() -> log.info(message));
+    }
+
+    /**
+     * O método, public long getDropped(), retorna quantas mensagens foram descartadas por fila cheia.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Método auxiliar privado que monta a linha do log na thread da requisição, enquanto os parâmetros
+     * ainda estão disponíveis no QueryInfo.
+     */
+    private String format(long elapsed, String reason, String method, ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        StringBuilder message = new StringBuilder()
+                .append(reason).append(' ').append(elapsed).append("ms")
+                .append(" method=").append(method == null ? "-" : method)
+                .append(execInfo.isBatch() ? " batch=" + execInfo.getBatchSize() : "")
+                .append(execInfo.isSuccess() ? "" : " failed");
+        for (QueryInfo queryInfo : queryInfoList) {
+            message.append(" sql=[").append(queryInfo.getQuery()).append(']');
+            if (logParameters && !queryInfo.getParametersList().isEmpty()) {
+                Set<Integer> masked = passwordParameters(queryInfo.getQuery());
+                message.append(" params=").append(queryInfo.getParametersList().stream()
+                        .map(operations -> parameters(operations, masked))
+                        .collect(Collectors.joining(", ", "[", "]")));
+            }
+        }
+        return message.toString();
+    }
+
+    /**
+     * Método auxiliar privado que lista os valores vinculados de uma execução, na ordem em que foram
+     * vinculados, trocando por MASK os das posições recebidas em masked.
+     */
+    private static String parameters(List<ParameterSetOperation> operations, Set<Integer> masked) {
+        return operations.stream()
+                .map(operation -> {
+                    Object[] args = operation.getArgs();
+                    if (args.length > 0 && args[0] instanceof Integer index && masked.contains(index))
+                        return MASK;
+                    return String.valueOf(args.length > 1 ? args[1] : null);
+                })
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    /**
+     * Método auxiliar que retorna as posições (a partir de 1) dos parâmetros do SQL vinculados à coluna
+     * password. No insert, a coluna é procurada na lista de colunas e a posição vem do valor
+     * correspondente; nos demais comandos, são os "?" precedidos de "password =", como no set do update
+     * ou em uma comparação do where.
+     */
+    static Set<Integer> passwordParameters(String sql) {
+        Set<Integer> positions = new HashSet<>();
+        Matcher insert = INSERT_COLUMNS.matcher(sql);
+        if (insert.find()) {
+            String[] columns = insert.group(1).split(",");
+            String[] values = insert.group(2).split(",");
+            int position = 0;
+            for (int index = 0; index < values.length; index++) {
+                boolean password = index < columns.length && columns[index].trim().equalsIgnoreCase("password");
+                for (char character : values[index].toCharArray()) {
+                    if (character != '?')
+                        continue;
+                    position++;
+                    if (password)
+                        positions.add(position);
+                }
+            }
+            return positions;
+        }
+        int position = 0;
+        for (int index = sql.indexOf('?'); index >= 0; index = sql.indexOf('?', index + 1)) {
+            position++;
+            if (PASSWORD_COMPARED.matcher(sql.substring(0, index)).find())
+                positions.add(position);
+        }
+        return positions;
+    }
+}
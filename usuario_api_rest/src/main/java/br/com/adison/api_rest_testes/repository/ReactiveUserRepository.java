@@ -0,0 +1,144 @@
+package br.com.adison.api_rest_testes.repository;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Esta classe ReactiveUserRepository é o equivalente não bloqueante do UserRepository, usada
+ * pelo modo reativo da api (perfil "reactive"). Ela acessa a mesma tabela users do banco H2 por
+ * meio do R2DBC, então nenhuma consulta prende uma thread esperando o banco: cada método devolve
+ * um Mono ou Flux que só executa a consulta quando alguém se inscreve nele.
+ * <p>
+ * Diferente do UserRepository ela não é uma interface do Spring Data, porque a entidade Users
+ * é mapeada pelo JPA (que também cria a tabela e a sequence). As consultas são escritas em SQL
+ * sobre o DatabaseClient e cada linha é convertida em Users pelo método toUsers.
+ * <p>
+ * O id dos novos usuários vem da mesma sequence users_seq usada pelo Hibernate, pelo bloco do
+ * UserIdBlock compartilhado com a UserCreateQueue: cada valor lido reserva allocationSize ids, na
+ * mesma faixa do Hibernate, e a sequence só é consultada (pelo R2DBC, sem bloquear) quando o bloco
+ * acaba, em vez de gastar um bloco inteiro a cada cadastro.
+ * <p>
+ * A anotação @Profile("reactive") indica que este repositório só é criado no modo reativo, o
+ * único em que o DatabaseClient do R2DBC está configurado.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveUserRepository {
+    private static final String COLUMNS = "select id, name, email, password, version from users";
+
+    @Autowired
+    private DatabaseClient client;
+    @Autowired
+    private UserIdBlock idBlock;
+
+    /**
+     * O método, Mono<Users> findById(Integer id), busca o usuário pelo id, terminando vazio quando
+     * ele não existe.
+     */
+    public Mono<Users> findById(Integer id) {
+        return client.sql(COLUMNS + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toUsers)
+                .one();
+    }
+
+    /**
+     * O método, Flux<Users> findAll(), emite todos os usuários ordenados pelo id. As linhas são
+     * entregues conforme o assinante pede (backpressure), então a tabela não é carregada inteira
+     * em memória antes do primeiro elemento.
+     */
+    public Flux<Users> findAll() {
+        return client.sql(COLUMNS + " order by id")
+                .map(ReactiveUserRepository::toUsers)
+                .all();
+    }
+
+    /**
+     * O método, Mono<Users> findByEmail(String email), busca o usuário que possui o e-mail informado,
+     * terminando vazio quando o e-mail não está cadastrado.
+     */
+    public Mono<Users> findByEmail(String email) {
+        return client.sql(COLUMNS + " where email = :email")
+                .bind("email", email)
+                .map(ReactiveUserRepository::toUsers)
+                .one();
+    }
+
+    /**
+     * O método, Mono<Users> insert(Users object), reserva o próximo id do bloco, grava o usuário com
+     * esse id e a versão inicial 0 e devolve o próprio objeto com o id preenchido.
+     */
+    public Mono<Users> insert(Users object) {
+        return reserveId()
+                .flatMap(id -> client.sql("insert into users (id, name, email, password, version) values (:id, :name, :email, :password, 0)")
+                        .bind("id", id)
+                        .bind("name", object.getName())
+                        .bind("email", object.getEmail())
+                        .bind("password", object.getPassword())
+                        .then()
+                        .then(Mono.fromSupplier(() -> {
+                            object.setId(id);
+                            object.setVersion(0L);
+                            return object;
+                        })));
+    }
+
+    /**
+     * O método, Mono<Long> update(Users object), atualiza nome, e-mail e senha do usuário com o id do
+     * objeto e incrementa a versão, como o Hibernate faria, devolvendo a quantidade de linhas alteradas
+     * (zero quando o id não existe).
+     */
+    public Mono<Long> update(Users object) {
+        return client.sql("update users set name = :name, email = :email, password = :password, version = version + 1 where id = :id")
+                .bind("id", object.getId())
+                .bind("name", object.getName())
+                .bind("email", object.getEmail())
+                .bind("password", object.getPassword())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * O método, Mono<Long> deleteById(Integer id), exclui o usuário com o id informado, devolvendo a
+     * quantidade de linhas excluídas (zero quando o id não existe).
+     */
+    public Mono<Long> deleteById(Integer id) {
+        return client.sql("delete from users where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Método auxiliar privado que entrega o próximo id do UserIdBlock e, quando o bloco acabou, lê o
+     * próximo valor da sequence para começar um novo bloco.
+     */
+    private Mono<Integer> reserveId() {
+        return Mono.defer(() -> {
+            Integer id = idBlock.next();
+            if (id != null)
+                return Mono.just(id);
+            return client.sql(UserIdBlock.NEXT_VALUE)
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(idBlock::start);
+        });
+    }
+
+    /**
+     * Método auxiliar privado que converte uma linha do resultado em um objeto Users.
+     */
+    private static Users toUsers(Readable row) {
+        return new Users(row.get("id", Integer.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("password", String.class),
+                row.get("version", Long.class));
+    }
+}
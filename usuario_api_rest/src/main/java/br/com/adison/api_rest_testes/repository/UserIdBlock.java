@@ -0,0 +1,46 @@
+package br.com.adison.api_rest_testes.repository;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import org.springframework.stereotype.Component;
+
+/**
+ * Esta classe UserIdBlock guarda o bloco de ids reservado da sequence users_seq (Users.ID_SEQUENCE) pelos
+ * caminhos que gravam o usuário sem o Hibernate: a UserCreateQueue, da gravação adiada, e o
+ * ReactiveUserRepository, do modo reativo. Cada valor lido da sequence reserva Users.ID_ALLOCATION_SIZE
+ * ids, na mesma faixa que o otimizador pooled do Hibernate usa (do valor menos o bloco, mais um, até o
+ * próprio valor), então esses ids nunca coincidem com os do Hibernate e a sequence só é consultada
+ * quando o bloco acaba, em vez de uma vez por cadastro.
+ * <p>
+ * A consulta da sequence fica com quem usa o bloco, pois a fila a faz pelo JDBC e o modo reativo pelo
+ * R2DBC, sem bloquear a thread: quando next() retorna nulo, quem chamou lê o próximo valor com NEXT_VALUE
+ * e o entrega a start(long). Se dois cadastros reativos encontrarem o bloco vazio ao mesmo tempo, o
+ * segundo bloco substitui o primeiro e o restante do primeiro fica sem uso, o que deixa um intervalo na
+ * numeração, mas nunca repete um id.
+ */
+@Component
+public class UserIdBlock {
+    public static final String NEXT_VALUE = "select next value for " + Users.ID_SEQUENCE;
+
+    private int nextId;
+    private int lastId = -1;
+
+    /**
+     * O método, public synchronized Integer next(), entrega o próximo id do bloco, ou nulo quando o
+     * bloco acabou e a sequence precisa ser consultada.
+     */
+    public synchronized Integer next() {
+        if (nextId > lastId)
+            return null;
+        return nextId++;
+    }
+
+    /**
+     * O método, public synchronized Integer start(long value), troca o bloco pelo que termina no valor
+     * lido da sequence e entrega o primeiro id dele.
+     */
+    public synchronized Integer start(long value) {
+        lastId = Math.toIntExact(value);
+        nextId = Math.max(1, lastId - Users.ID_ALLOCATION_SIZE + 1);
+        return nextId++;
+    }
+}
@@ -1,10 +1,20 @@
 package br.com.adison.api_rest_testes.repository;
 
 import br.com.adison.api_rest_testes.model.domain.Users;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Esta interface UserRepository estende JpaRepository, fornecendo métodos padrão
@@ -21,10 +31,11 @@ import java.util.Optional;
  * O método, public interface UserRepository extends JpaRepository<Users, Integer>
  * é a Declaração da interface UserRepository, que estende JpaRepository. Isso
  * significa que UserRepository herda todos os métodos fornecidos por JpaRepository
- * para a entidade Users, usando um identificador do tipo Integer.
+ * para a entidade Users, usando um identificador do tipo Integer. Ela também estende
+ * UserRepositoryCustom, com as operações implementadas manualmente em UserRepositoryCustomImpl.
  */
 @Repository
-public interface UserRepository extends JpaRepository<Users, Integer> {
+public interface UserRepository extends JpaRepository<Users, Integer>, UserRepositoryCustom {
     /**
      *A linha, Optional<Users> findByEmail(String email), é uma consulta
      * derivada, onde o Spring Data JPA irá automaticamente gerar uma consulta
@@ -35,4 +46,120 @@ public interface UserRepository extends JpaRepository<Users, Integer> {
      * pode ou não ser encontrado.
      */
     Optional<Users> findByEmail(String email);
+
+    /**
+     * A linha, List<Users> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable), é a
+     * consulta de paginação por chave (keyset/cursor). Ela busca apenas os usuários com id maior
+     * que o último id já entregue ao cliente, ordenados por id, limitando a quantidade de linhas
+     * pelo tamanho informado no Pageable.
+     * <p>
+     * Diferente da paginação por offset, o banco usa o índice da chave primária para posicionar
+     * a leitura diretamente após o cursor, então as páginas profundas custam o mesmo que a
+     * primeira. O retorno em List (e não Page) evita a consulta extra de contagem total.
+     */
+    List<Users> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    /**
+     * A linha, Stream<Users> streamAll(), executa uma consulta que percorre a tabela inteira ordenada
+     * por id, mas em vez de carregar todos os registros em uma lista ela devolve um Stream apoiado
+     * no cursor do banco, lendo as linhas aos poucos.
+     * <p>
+     * A anotação @QueryHints define o fetch size, quantidade de linhas buscadas do banco por vez, e
+     * marca as entidades como somente leitura para o Hibernate não guardar cópias para dirty checking.
+     * O Stream precisa ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from Users u order by u.id")
+    Stream<Users> streamAll();
+
+    /**
+     * A linha, List<String> findExistingEmails(Collection<String> emails), verifica de uma só vez, com
+     * uma consulta "in", quais dos e-mails informados já estão cadastrados, retornando apenas esses.
+     * É usada pelo cadastro em lote no lugar de uma consulta findByEmail por usuário.
+     */
+    @Query("select u.email from Users u where u.email in :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * A linha, Stream<EmailView> streamEmails(), percorre a tabela buscando apenas as colunas id e
+     * email, usadas para montar o índice de e-mails em memória na inicialização da aplicação sem
+     * carregar as entidades completas.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.id as id, u.email as email from Users u")
+    Stream<EmailView> streamEmails();
+
+    /**
+     * A linha, Stream<SearchView> streamSearchViews(), percorre a tabela buscando apenas as colunas id,
+     * name e email, usadas para montar o índice de busca por trigramas na inicialização da aplicação.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.id as id, u.name as name, u.email as email from Users u")
+    Stream<SearchView> streamSearchViews();
+
+    /**
+     * A linha, Optional<Long> findVersionById(Integer id), busca apenas a versão do usuário, usada para
+     * responder às requisições condicionais (If-None-Match e If-Match) sem carregar a linha inteira.
+     */
+    @Query("select u.version from Users u where u.id = :id")
+    Optional<Long> findVersionById(Integer id);
+
+    /**
+     * A linha, int deleteByIdReturningCount(Integer id), exclui o usuário com um único comando delete e
+     * retorna a quantidade de linhas excluídas. Diferente do deleteById do Spring Data, que carrega a
+     * entidade antes de removê-la, aqui o banco recebe apenas o delete, e zero linhas indica que o id
+     * não existe.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Users u where u.id = :id")
+    int deleteByIdReturningCount(Integer id);
+
+    /**
+     * A linha, int deleteByIdAndVersion(Integer id, Long version), exclui o usuário somente se ele ainda
+     * estiver na versão informada, retornando a quantidade de linhas excluídas. Com a versão na cláusula
+     * where, a verificação e a exclusão acontecem no mesmo comando, sem espaço para outra gravação entre elas.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Users u where u.id = :id and u.version = :version")
+    int deleteByIdAndVersion(Integer id, Long version);
+
+    /**
+     * A linha, List<DomainCount> countByEmailDomain(), conta os usuários de cada domínio de e-mail (o
+     * trecho depois do "@", em minúsculas) com uma única consulta agrupada. Ela é usada pelo
+     * UserStatistics para conferir periodicamente os contadores mantidos em memória.
+     */
+    @Query("select substring(u.emailLower, locate('@', u.emailLower) + 1) as domain, count(u) as total "
+            + "from Users u group by substring(u.emailLower, locate('@', u.emailLower) + 1)")
+    List<DomainCount> countByEmailDomain();
+
+    /**
+     * A interface EmailView é uma projeção do Spring Data com apenas o id e o email do usuário.
+     */
+    interface EmailView {
+        Integer getId();
+        String getEmail();
+    }
+
+    /**
+     * A interface DomainCount é uma projeção do Spring Data com um domínio de e-mail e a quantidade de
+     * usuários dele.
+     */
+    interface DomainCount {
+        String getDomain();
+        Long getTotal();
+    }
+
+    /**
+     * A interface SearchView é uma projeção do Spring Data com o id, o nome e o email do usuário.
+     */
+    interface SearchView {
+        Integer getId();
+        String getName();
+        String getEmail();
+    }
 }
@@ -0,0 +1,47 @@
+package br.com.adison.api_rest_testes.repository;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Esta interface UserRepositoryCustom declara as operações do UserRepository que não podem ser
+ * geradas pelo Spring Data a partir do nome do método ou de uma @Query fixa, porque o comando
+ * SQL muda de acordo com os dados recebidos. O UserRepository estende esta interface e o Spring
+ * Data encaminha as chamadas para a implementação UserRepositoryCustomImpl.
+ */
+public interface UserRepositoryCustom {
+    /**
+     * O método, int updatePartially(Integer id, Long version, String name, String email, String password),
+     * atualiza apenas as colunas cujos valores não são nulos, incrementando a versão, e retorna a quantidade
+     * de linhas alteradas. Quando a versão não é nula, o usuário só é alterado se ainda estiver nela.
+     */
+    int updatePartially(Integer id, Long version, String name, String email, String password);
+
+    /**
+     * O método, Optional<Map<String, Object>> findFieldsById(Integer id, List<String> fields), busca
+     * apenas as colunas informadas do usuário, retornando um mapa do nome do campo para o valor, na
+     * ordem da lista, ou vazio quando o id não existe.
+     */
+    Optional<Map<String, Object>> findFieldsById(Integer id, List<String> fields);
+
+    /**
+     * O método, List<Map<String, Object>> findFieldsAfter(Integer afterId, List<String> fields, int limit),
+     * busca até limit usuários com id maior que afterId, ordenados pelo id, trazendo apenas as colunas
+     * informadas. O id é sempre incluído no mapa, mesmo fora da lista, porque é ele que posiciona o
+     * cursor da próxima página.
+     */
+    List<Map<String, Object>> findFieldsAfter(Integer afterId, List<String> fields, int limit);
+
+    /**
+     * O método, List<Users> searchByPrefix(String name, String email, String afterValue, Integer afterId,
+     * int limit), busca até limit usuários cujo nome e/ou e-mail começam pelos prefixos informados (já em
+     * minúsculas, nulo quando o filtro não foi pedido). Quando o e-mail é informado a busca percorre o
+     * índice de email_lower, senão o de name_lower, e o resultado vem ordenado por essa coluna e pelo id.
+     * O afterValue e o afterId são o valor da coluna ordenada e o id do último usuário já entregue, ou
+     * nulos na primeira página.
+     */
+    List<Users> searchByPrefix(String name, String email, String afterValue, Integer afterId, int limit);
+}
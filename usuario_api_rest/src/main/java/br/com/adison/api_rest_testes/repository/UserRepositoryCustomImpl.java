@@ -0,0 +1,176 @@
+package br.com.adison.api_rest_testes.repository;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Esta classe UserRepositoryCustomImpl implementa as operações da UserRepositoryCustom com a
+ * Criteria API do JPA. O nome da classe segue a convenção do Spring Data (nome da interface
+ * seguido de "Impl"), assim ela é encontrada e ligada ao UserRepository automaticamente.
+ * <p>
+ * A anotação, @PersistenceContext, da declaração, EntityManager entityManager, injeta o contexto
+ * de persistência usado para montar e executar os comandos.
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Implementação do método updatePartially que monta um único comando update apenas com as colunas
+     * informadas, sem carregar a entidade antes. Diferente do save de uma entidade desanexada, que faz
+     * um select (merge) e depois um update de todas as colunas, aqui o banco recebe um só comando, como
+     * exemplo: "update users set name = ?, version = version + 1 where id = ?".
+     * <p>
+     * Como o comando não passa pelo contexto de persistência, quem chama é responsável por atualizar os
+     * caches que guardam o usuário.
+     */
+    @Override
+    @Transactional
+    public int updatePartially(Integer id, Long version, String name, String email, String password) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Users> update = builder.createCriteriaUpdate(Users.class);
+        Root<Users> root = update.from(Users.class);
+        if (name != null)
+            update.set(root.<String>get("name"), name);
+        if (email != null)
+            update.set(root.<String>get("email"), email);
+        if (password != null)
+            update.set(root.<String>get("password"), password);
+        update.set(root.<Long>get("version"), builder.sum(root.<Long>get("version"), 1L));
+
+        Predicate where = builder.equal(root.get("id"), id);
+        if (version != null)
+            where = builder.and(where, builder.equal(root.get("version"), version));
+        update.where(where);
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    /**
+     * Implementação do método findFieldsById que monta um select apenas com as colunas pedidas, como
+     * exemplo: "select u.id, u.name from users u where u.id = ?". O resultado é uma Tuple, não uma
+     * entidade, então nada é guardado no contexto de persistência e as colunas não pedidas (como a
+     * senha) nem chegam a ser lidas do banco.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findFieldsById(Integer id, List<String> fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Users> root = query.from(Users.class);
+        query.multiselect(selections(root, fields))
+                .where(builder.equal(root.get("id"), id));
+        return entityManager.createQuery(query).getResultStream()
+                .findFirst()
+                .map(UserRepositoryCustomImpl::toMap);
+    }
+
+    /**
+     * Implementação do método findFieldsAfter que monta a mesma consulta por cursor (keyset) do
+     * findByIdGreaterThanOrderByIdAsc, mas selecionando apenas as colunas pedidas e o id.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFieldsAfter(Integer afterId, List<String> fields, int limit) {
+        List<String> columns = fields;
+        if (!fields.contains("id")) {
+            columns = new ArrayList<>(fields.size() + 1);
+            columns.add("id");
+            columns.addAll(fields);
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Users> root = query.from(Users.class);
+        query.multiselect(selections(root, columns))
+                .where(builder.greaterThan(root.get("id"), afterId))
+                .orderBy(builder.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(UserRepositoryCustomImpl::toMap)
+                .toList();
+    }
+
+    /**
+     * Implementação do método searchByPrefix que transforma cada prefixo em um intervalo da coluna em
+     * minúsculas, como exemplo: o prefixo "ad" vira "name_lower >= 'ad' and name_lower < 'ad' seguido de
+     * Character.MAX_VALUE". Um "like 'ad%'" teria o mesmo resultado, mas o intervalo é aproveitado pelo
+     * índice em qualquer banco, inclusive com o prefixo vindo de um parâmetro, e dispensa escapar os
+     * caracteres % e _ digitados pelo cliente.
+     * <p>
+     * A ordenação segue o índice usado (coluna em minúsculas e id), então o banco lê as linhas já na
+     * ordem da página e para ao atingir o limite, sem ordenar todas as linhas que começam pelo prefixo.
+     * A próxima página continua pelo cursor (keyset): linhas com valor maior que o último entregue, ou
+     * com o mesmo valor e id maior.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Users> searchByPrefix(String name, String email, String afterValue, Integer afterId, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Users> query = builder.createQuery(Users.class);
+        Root<Users> root = query.from(Users.class);
+        Path<String> column = root.get(email != null ? "emailLower" : "nameLower");
+
+        List<Predicate> where = new ArrayList<>(3);
+        if (name != null)
+            where.add(startsWith(builder, root.get("nameLower"), name));
+        if (email != null)
+            where.add(startsWith(builder, root.get("emailLower"), email));
+        if (afterValue != null)
+            where.add(builder.or(
+                    builder.greaterThan(column, afterValue),
+                    builder.and(builder.equal(column, afterValue), builder.greaterThan(root.get("id"), afterId))));
+        query.select(root)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(builder.asc(column), builder.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Método auxiliar privado que cria o intervalo das strings que começam pelo prefixo: maiores ou iguais
+     * ao prefixo e menores que o prefixo seguido do maior caractere (Character.MAX_VALUE).
+     */
+    private static Predicate startsWith(CriteriaBuilder builder, Path<String> column, String prefix) {
+        return builder.and(
+                builder.greaterThanOrEqualTo(column, prefix),
+                builder.lessThan(column, prefix + Character.MAX_VALUE));
+    }
+
+    /**
+     * Método auxiliar privado que cria a seleção de cada campo, com o próprio nome do campo como alias.
+     */
+    private static List<Selection<?>> selections(Root<Users> root, List<String> fields) {
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields)
+            selections.add(root.get(field).alias(field));
+        return selections;
+    }
+
+    /**
+     * Método auxiliar privado que converte a Tuple em um mapa do alias para o valor, na ordem da seleção.
+     */
+    private static Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (TupleElement<?> element : tuple.getElements())
+            map.put(element.getAlias(), tuple.get(element));
+        return map;
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.adison.api_rest_testes.configure;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Esta classe de configuração VirtualThreadConfigure troca o pool de threads de plataforma do
+ * Tomcat por threads virtuais do Java 21, ela é ativada apenas quando o perfil "virtual" estiver
+ * ativo e só é compilada pelo perfil maven "jdk21" (fica em src/main/java21).
+ * <p>
+ * Cada requisição do UserResource fica bloqueada no JDBC enquanto o UserRepository consulta o
+ * banco. Com threads de plataforma isso prende uma das 200 threads do Tomcat durante toda a
+ * consulta, e em rajadas de carga o pool satura muito antes da CPU. Com threads virtuais cada
+ * requisição ganha a sua própria thread, que libera a thread do sistema operacional enquanto
+ * espera o banco, então o limite passa a ser o pool de conexões do Hikari, dimensionado no
+ * application-virtual.properties.
+ * <p>
+ * A anotação @Profile("virtual") indica que esta configuração deve ser ativada apenas quando o
+ * perfil "virtual" estiver ativo, por exemplo com --spring.profiles.active=local,virtual.
+ */
+@Configuration
+@Profile("virtual")
+public class VirtualThreadConfigure {
+    /**
+     * O método, public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler(), troca o
+     * executor do conector HTTP do Tomcat por um executor que cria uma thread virtual nova para
+     * cada requisição recebida. As propriedades server.tomcat.threads.* deixam de ter efeito.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+        return (ProtocolHandler protocolHandler) ->
+                protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * O método, public AsyncTaskExecutor applicationTaskExecutor(), substitui o executor padrão
+     * do Spring Boot, usado pelo @Async e pelas requisições assíncronas do Spring MVC, por um
+     * executor de threads virtuais. O nome do bean é o mesmo do executor padrão, então os
+     * executores de serviço que procuram o "applicationTaskExecutor" passam a usar threads virtuais.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.adison.api_rest_testes.benchmark;
+
+import br.com.adison.api_rest_testes.controller.resources.exceptions.ResourceExceptionHandler;
+import br.com.adison.api_rest_testes.model.service.exceptions.DataIntegratyViolationException;
+import br.com.adison.api_rest_testes.model.service.exceptions.ObjectNotFoundException;
+import br.com.adison.api_rest_testes.model.service.exceptions.ServiceException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Resumo: Benchmark JMH dos caminhos de erro do ResourceExceptionHandler. Cada operacao cria a
+ * exception como o servico faz, gera a resposta pelo handler e serializa o StandardError do corpo,
+ * que eh o custo completo de um 404 ou 400 dentro da aplicacao.<p>
+ *
+ * @Parametros:
+ * * stackTrace (true: exceptions com o rastro da pilha, como antes; false: sem rastro, o padrao da aplicacao)<p>
+ * * serializer (bean: serializador generico do Jackson, como antes; standard: StandardErrorSerializer)<p>
+ *
+ * @Observacao: O rastro da pilha aqui eh curto (so os quadros do JMH); dentro da aplicacao a exception
+ * eh criada abaixo de uma centena de quadros do Spring, entao a diferenca real do stackTrace eh maior.<p>
+ *
+ * @Execucao: Para comparar a alocacao por resposta de erro execute com o profiler "gc" (-prof gc).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceExceptionHandlerBenchmark {
+    @Param({"true", "false"})
+    private boolean stackTrace;
+
+    @Param({"bean", "standard"})
+    private String serializer;
+
+    private ResourceExceptionHandler exceptionHandler;
+    private ObjectMapper objectMapper;
+    private MockHttpServletRequest request;
+    private boolean previous;
+
+    @Setup
+    public void setUp() {
+        exceptionHandler = new ResourceExceptionHandler();
+        previous = ServiceException.isStackTraceEnabled();
+        ServiceException.setStackTraceEnabled(stackTrace);
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("bean".equals(serializer))
+            builder.featuresToDisable(MapperFeature.USE_ANNOTATIONS);
+        objectMapper = builder.build();
+        request = new MockHttpServletRequest("GET", "/user/99");
+    }
+
+    @TearDown
+    public void tearDown() {
+        ServiceException.setStackTraceEnabled(previous);
+    }
+
+    @Benchmark
+    public byte[] objectNotFound() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(exceptionHandler
+                .objectNotFound(new ObjectNotFoundException("Objeto não encontrado!"), request)
+                .getBody());
+    }
+
+    @Benchmark
+    public byte[] dataIntegrityViolation() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(exceptionHandler
+                .dataIntegrityViolationException(new DataIntegratyViolationException("E-mail já cadastrado!"), request)
+                .getBody());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResourceExceptionHandlerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.adison.api_rest_testes.benchmark;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.mapper.UserMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * @Resumo: Benchmark JMH que compara o mapeamento entidade -> DTO feito pelo ModelMapper, como era
+ * feito antes no UserResource, com o mapeamento especializado da classe UserMapper.<p>
+ *
+ * @Parametros:
+ * * size (quantidade de objetos users da lista mapeada, 1 simula o findById e os demais o findAll)<p>
+ *
+ * @Execucao: O metodo main executa apenas esta classe, o resultado eh o tempo medio em nanossegundos
+ * por operacao. Para medir tambem a alocacao use o profiler "gc" (-prof gc) do JMH.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+    @Param({"1", "100", "1000"})
+    private int size;
+
+    private List<Users> users;
+    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        userMapper = new UserMapper();
+        users = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++)
+            users.add(new Users(i, "nome" + i, "email" + i + "@gmail.com", "123"));
+    }
+
+    @Benchmark
+    public List<UserDTO> modelMapper() {
+        return users.stream()
+                .map(object -> modelMapper.map(object, UserDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<UserDTO> userMapper() {
+        return userMapper.toDTOList(users);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
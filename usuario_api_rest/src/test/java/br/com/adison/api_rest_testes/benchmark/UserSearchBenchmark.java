@@ -0,0 +1,110 @@
+package br.com.adison.api_rest_testes.benchmark;
+
+import br.com.adison.api_rest_testes.ApiRestTestesApplication;
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.CursorPage;
+import br.com.adison.api_rest_testes.model.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Resumo: Benchmark JMH da busca por prefixo (UserService.search) sobre uma tabela users com milhões de
+ * linhas no H2 em memória, comparada com a mesma busca escrita com "lower(coluna) like 'prefixo%'", que é
+ * o que um cliente faria sem as colunas geradas name_lower e email_lower e seus índices.<p>
+ *
+ * @Setup: O contexto é iniciado uma vez por execução, sem o servidor web, e a tabela é preenchida com um
+ * único "insert ... select" sobre o system_range do H2, com nomes começando por duas letras variadas e
+ * e-mails únicos. Em seguida o plano (explain) das duas consultas é registrado no log, no nível INFO que o
+ * contexto mantém para o pacote benchmark, e o benchmark é interrompido se a busca não estiver usando os
+ * índices idx_users_name_lower e idx_users_email_lower.<p>
+ *
+ * @Observacao: O preenchimento de alguns milhões de linhas leva dezenas de segundos e cerca de 1GB de heap,
+ * por isso o fork recebe -Xmx3g. A quantidade de linhas pode ser alterada com -p rows=500000. O aquecimento
+ * é mais longo que o dos outros benchmarks porque o caminho do Hibernate (Criteria, hidratação das
+ * entidades) leva dezenas de segundos para ser compilado pelo JIT em máquinas com poucos núcleos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+@Slf4j
+public class UserSearchBenchmark {
+    private static final String LIKE_SCAN = "select id, name, email from users where lower(name) like ? "
+            + "order by lower(name), id fetch first 50 rows only";
+
+    @Param({"2000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private UserService service;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiRestTestesApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("local")
+                .properties("logging.level.root=WARN", "logging.level.br.com.adison.api_rest_testes.benchmark=INFO",
+                        "api.slow-query.threshold-ms=60000")
+                .run();
+        service = context.getBean(UserService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into users (id, name, email, password, version) "
+                + "select x + 1000, concat(char(65 + mod(x, 26)), char(97 + mod(x / 26, 26)), 'nome', x), "
+                + "concat(char(97 + mod(x / 7, 26)), 'email', x, '@gmail.com'), '123', 0 "
+                + "from system_range(1, ?)", rows);
+        jdbcTemplate.execute("analyze");
+
+        String namePlan = explain("select * from users where name_lower >= 'ab' and name_lower < 'ab"
+                + Character.MAX_VALUE + "' order by name_lower, id fetch first 51 rows only");
+        String emailPlan = explain("select * from users where email_lower >= 'qemail1' and email_lower < 'qemail1"
+                + Character.MAX_VALUE + "' order by email_lower, id fetch first 51 rows only");
+        log.info("Planos da busca por prefixo:\nsearch(name):\n{}\nsearch(email):\n{}\nlike:\n{}",
+                namePlan, emailPlan, explain(LIKE_SCAN.replace("?", "'ab%'")));
+        if (!namePlan.contains("IDX_USERS_NAME_LOWER") || !emailPlan.contains("IDX_USERS_EMAIL_LOWER"))
+            throw new IllegalStateException("A busca não está usando os índices das colunas em minúsculas");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<Users> searchByName() {
+        return service.search("Ab", null, null, 50);
+    }
+
+    @Benchmark
+    public CursorPage<Users> searchByEmail() {
+        return service.search(null, "QEmail1", null, 50);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> lowerLikeScan() {
+        return jdbcTemplate.queryForList(LIKE_SCAN, "ab%");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.adison.api_rest_testes.benchmark;
+
+import br.com.adison.api_rest_testes.model.domain.dto.UserSearchHit;
+import br.com.adison.api_rest_testes.model.service.index.UserSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Resumo: Benchmark JMH da busca tolerante a erros de digitação do UserSearchIndex, sem Spring e sem
+ * banco, com o índice preenchido por nomes gerados a partir de sílabas (nome e sobrenome) e e-mails
+ * derivados deles.<p>
+ *
+ * @Parametros:
+ * * size (quantidade de usuários indexados)<p>
+ *
+ * @Benchmarks:
+ * * typo (nome com duas letras trocadas, o caso que o índice existe para resolver)<p>
+ * * fullName (nome e sobrenome completos, com mais trigramas e listas maiores)<p>
+ * * put (reindexação de um usuário, o custo acrescentado a cada create, update e patch)<p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class UserSearchIndexBenchmark {
+    private static final String[] SYLLABLES = {"ad", "li", "so", "ma", "ri", "na", "lo", "va", "ce", "ju",
+            "pe", "ro", "ta", "be", "ni", "ca", "du", "fe", "gu", "te"};
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private UserSearchIndex index;
+    private String typo;
+    private String fullName;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        index = new UserSearchIndex();
+        ReflectionTestUtils.setField(index, "minScore", 0.3);
+        Random random = new Random(42);
+        for (int id = 1; id <= size; id++) {
+            String first = word(random, 3);
+            String last = word(random, 3);
+            index.put(id, capitalize(first) + " " + capitalize(last), first + "." + last + id + "@gmail.com");
+        }
+        typo = "Adlisoma";
+        fullName = "Adsoli Marina";
+    }
+
+    @Benchmark
+    public List<UserSearchHit> typo() {
+        return index.search(typo, 10);
+    }
+
+    @Benchmark
+    public List<UserSearchHit> fullName() {
+        return index.search(fullName, 10);
+    }
+
+    @Benchmark
+    public void put() {
+        int id = 1 + (next++ % size);
+        index.put(id, "Reindexado " + id, null);
+    }
+
+    private static String word(Random random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++)
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        return word.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserSearchIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
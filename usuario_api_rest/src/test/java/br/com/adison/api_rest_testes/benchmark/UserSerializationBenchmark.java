@@ -0,0 +1,57 @@
+package br.com.adison.api_rest_testes.benchmark;
+
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Resumo: Benchmark JMH da serializacao Jackson de listas de UserDTO, o trabalho feito pelo
+ * Spring para escrever o corpo das respostas do UserResource.<p>
+ *
+ * @Parametros:
+ * * size (quantidade de objetos userDTO da lista serializada)<p>
+ *
+ * @Setup: O ObjectMapper eh criado pelo Jackson2ObjectMapperBuilder, o mesmo construtor usado
+ * pelo Spring Boot, para ter os mesmos modulos e configuracoes da aplicacao.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserSerializationBenchmark {
+    @Param({"1", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<UserDTO> users;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        users = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++)
+            users.add(new UserDTO(i, "nome" + i, "email" + i + "@gmail.com", "123"));
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
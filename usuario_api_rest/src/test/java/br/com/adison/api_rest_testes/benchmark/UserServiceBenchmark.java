@@ -0,0 +1,79 @@
+package br.com.adison.api_rest_testes.benchmark;
+
+import br.com.adison.api_rest_testes.ApiRestTestesApplication;
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Resumo: Benchmark JMH dos metodos findById, create e update de UserServiceImplement executados
+ * sobre o banco H2 em memoria do perfil "local", com o contexto Spring completo (repository,
+ * transacoes e mapeamento), mas sem o servidor web.<p>
+ *
+ * @Setup: O contexto eh iniciado uma vez por execucao com o perfil "local", que ja grava os usuarios
+ * iniciais, e eh criado um usuario proprio do benchmark para as leituras e atualizacoes.<p>
+ *
+ * @Observacao: O create grava um usuario novo a cada operacao, com e-mail unico gerado por um contador,
+ * entao a tabela cresce durante a medicao como aconteceria em producao.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private ConfigurableApplicationContext context;
+    private UserService service;
+    private Integer id;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiRestTestesApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("local")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        service = context.getBean(UserService.class);
+        id = service.create(new UserDTO(null, "benchmark", "benchmark@gmail.com", "123")).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Users findById() {
+        return service.findById(id);
+    }
+
+    @Benchmark
+    public Users create() {
+        int next = sequence.incrementAndGet();
+        return service.create(new UserDTO(null, "nome" + next, "email" + next + "@gmail.com", "123"));
+    }
+
+    @Benchmark
+    public Users update() {
+        return service.update(new UserDTO(id, "benchmark" + sequence.incrementAndGet(), "benchmark@gmail.com", "123"), null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.adison.api_rest_testes.controller.limit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Resumo: Classe criada para testar os metodos de AdaptiveConcurrencyLimit, o limite de requisicoes
+ * simultaneas ajustado pela latencia (AIMD).<p>
+ *
+ * @Instancias:
+ * * limit (objeto da classe testado, com limite inicial 4, minimo 2, maximo 6, reducao de 0.5, tolerancia
+ * de 2 vezes a media, latencia minima de 10ms e maxima de 500ms)<p>
+ */
+class AdaptiveConcurrencyLimitTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private AdaptiveConcurrencyLimit limit;
+
+    @BeforeEach
+    void setUp() {
+        limit = new AdaptiveConcurrencyLimit(4, 2, 6, 0.5, 2.0,
+                TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Recusa as requisicoes que passam do limite e volta a aceitar
+     * depois que uma vaga eh devolvida. (tryAcquire e release)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que as 4 primeiras sao aceitas e a quinta eh recusada e contada.<p>
+     * * SEGUNDA: afirma que depois de uma devolucao ha novamente uma vaga.<p>
+     */
+    @Test
+    void whenTheLimitIsReachedThenRejectUntilASlotIsReleased() {
+        for (int i = 0; i < 4; i++)
+            Assertions.assertTrue(limit.tryAcquire());
+        Assertions.assertFalse(limit.tryAcquire());
+        Assertions.assertEquals(1, limit.getRejected());
+        Assertions.assertEquals(4, limit.getInFlight());
+
+        limit.release(FAST, false);
+        Assertions.assertTrue(limit.tryAcquire());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Respostas normais com o limite em uso aumentam o limite de 1 em 1
+     * ate o maximo, e uma resposta acima da tolerancia sobre a media reduz o limite pela metade. (release)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o limite chega ao maximo de 6 e nao passa dele.<p>
+     * * SEGUNDA: afirma que a resposta 5 vezes mais lenta que a media reduz o limite para 3.<p>
+     */
+    @Test
+    void whenResponsesAreFastThenIncreaseAndWhenOneIsSlowThenDecrease() {
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release(FAST, false);
+            limit.release(FAST, false);
+            limit.release(FAST, false);
+        }
+        Assertions.assertEquals(6, limit.getLimit());
+
+        limit.tryAcquire();
+        limit.release(SLOW, false);
+        Assertions.assertEquals(3, limit.getLimit());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Erros do servidor reduzem o limite ate o minimo, e respostas
+     * rapidas com o limite ocioso nao o aumentam. (release)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que as falhas param no limite minimo de 2.<p>
+     * * SEGUNDA: afirma que uma resposta rapida com uma unica requisicao nao aumenta o limite de 4.<p>
+     */
+    @Test
+    void whenResponsesFailThenStopAtTheMinimumAndIdleResponsesDoNotIncrease() {
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, true);
+        }
+        Assertions.assertEquals(2, limit.getLimit());
+
+        AdaptiveConcurrencyLimit idle = new AdaptiveConcurrencyLimit(4, 2, 6, 0.5, 2.0,
+                TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(500));
+        for (int i = 0; i < 5; i++) {
+            idle.tryAcquire();
+            idle.release(FAST, false);
+        }
+        Assertions.assertEquals(4, idle.getLimit());
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.adison.api_rest_testes.controller.limit;
+
+import br.com.adison.api_rest_testes.model.service.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * @Resumo: Classe criada para testar os metodos de ConcurrencyLimitInterceptor, que aplica os limites de
+ * leitura e gravacao as requisicoes do UserResource.<p>
+ *
+ * @Instancias:
+ * * interceptor (objeto da classe testada, com 1 vaga de leitura e 1 de gravacao)<p>
+ * * registry (registro de metricas em memoria)<p>
+ */
+class ConcurrencyLimitInterceptorTest {
+    private ConcurrencyLimitInterceptor interceptor;
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new ConcurrencyLimitInterceptor();
+        registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(interceptor, "registry", registry);
+        ReflectionTestUtils.setField(interceptor, "enabled", true);
+        ReflectionTestUtils.setField(interceptor, "readInitial", 1);
+        ReflectionTestUtils.setField(interceptor, "readMax", 10);
+        ReflectionTestUtils.setField(interceptor, "writeInitial", 1);
+        ReflectionTestUtils.setField(interceptor, "writeMax", 10);
+        ReflectionTestUtils.setField(interceptor, "minLimit", 1);
+        ReflectionTestUtils.setField(interceptor, "backoffRatio", 0.9);
+        ReflectionTestUtils.setField(interceptor, "tolerance", 2.0);
+        ReflectionTestUtils.setField(interceptor, "minLatencyMs", 10L);
+        ReflectionTestUtils.setField(interceptor, "maxLatencyMs", 500L);
+        ReflectionTestUtils.setField(interceptor, "retryAfterSeconds", 3L);
+        interceptor.start();
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Com a vaga de leitura ocupada, uma segunda leitura eh recusada com
+     * ServiceUnavailableException, mas uma gravacao usa o proprio limite. (preHandle)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que a segunda leitura termina com ServiceUnavailableException de 3 segundos.<p>
+     * * SEGUNDA: afirma que a gravacao eh aceita, mas o POST de "/user/lookup", que eh leitura, nao.<p>
+     * * TERCEIRA: afirma que as metricas mostram 1 leitura em execucao e 2 recusadas.<p>
+     */
+    @Test
+    void whenTheReadLimitIsFullThenRejectReadsButAcceptWrites() {
+        Assertions.assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/user/1"), new MockHttpServletResponse(), null));
+
+        ServiceUnavailableException ex = Assertions.assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest("GET", "/user/2"), new MockHttpServletResponse(), null));
+        Assertions.assertEquals(3, ex.getRetryAfterSeconds());
+        Assertions.assertTrue(interceptor.preHandle(new MockHttpServletRequest("POST", "/user"), new MockHttpServletResponse(), null));
+        Assertions.assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest("POST", "/user/lookup"), new MockHttpServletResponse(), null));
+        Assertions.assertEquals(1, registry.get("user.concurrency.in-flight").tag("group", "read").gauge().value());
+        Assertions.assertEquals(2, registry.get("user.concurrency.rejected").tag("group", "read").functionCounter().count());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: O afterCompletion devolve a vaga reservada no preHandle uma unica
+     * vez, mesmo se chamado de novo. (preHandle e afterCompletion)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que depois da devolucao nenhuma leitura esta em execucao.<p>
+     * * SEGUNDA: afirma que uma nova leitura eh aceita.<p>
+     */
+    @Test
+    void whenAfterCompletionThenReleaseTheSlotOnce() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        Assertions.assertEquals(0, interceptor.getReads().getInFlight());
+        Assertions.assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/user/2"), new MockHttpServletResponse(), null));
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.adison.api_rest_testes.controller.resources;
+
+import br.com.adison.api_rest_testes.model.mapper.UserMapper;
+import br.com.adison.api_rest_testes.model.service.implement.ReactiveUserServiceImplement;
+import br.com.adison.api_rest_testes.repository.ReactiveUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * @Resumo: Classe criada para testar as respostas de erro de ReactiveUserResource pelo WebFlux. O
+ * controlador, o ReactiveUserServiceImplement, o UserMapper, o validador e o
+ * ReactiveResourceExceptionHandler sao os beans reais do perfil "reactive", apenas o repositorio R2DBC
+ * eh mockado.<p>
+ *
+ * @Instancias:
+ * * client (cliente que executa as requisicoes no controlador reativo)<p>
+ * * repository (objeto falso da classe de comunicacao reativa com o banco)<p>
+ * * ID, EMAIL, PASSWORD, GRAVACAO (constantes usadas nas requisicoes e no repositorio falso).<p>
+ *
+ * @Anotacoes:
+ * * @WebFluxTest (inicia apenas a camada WebFlux com o ReactiveUserResource e o tratamento de erros)<p>
+ * * @ActiveProfiles (ativa o perfil "reactive", do qual o controlador e o servico dependem)<p>
+ * * @Import (registra o servico reativo e o mapeador)<p>
+ * * @MockBean (cria o repositorio falso no contexto)<p>
+ * * @BeforeEach (metodos que executam antes de tudo)<p>
+ * * @Test (metodos testados).<p>
+ */
+@WebFluxTest(ReactiveUserResource.class)
+@ActiveProfiles("reactive")
+@Import({ReactiveUserServiceImplement.class, UserMapper.class})
+class ReactiveUserResourceTest {
+    public static final Integer ID = 1;
+    public static final String EMAIL = "emailTeste@gmail.com";
+    public static final String PASSWORD = "123";
+    public static final String GRAVACAO = "O corpo invalido nao deveria ser gravado!";
+
+    @Autowired
+    private WebTestClient client;
+    @MockBean
+    private ReactiveUserRepository repository;
+
+    /**
+     * @Finalidade: Prepara o repositorio falso: a busca por e-mail nao encontra ninguem e a gravacao
+     * termina com erro, que responderia 500 se o corpo invalido chegasse ao repositorio.
+     */
+    @BeforeEach
+    void setUp() {
+        Mockito.when(repository.findByEmail(any())).thenReturn(Mono.empty());
+        Mockito.when(repository.insert(any())).thenReturn(Mono.error(new IllegalStateException(GRAVACAO)));
+        Mockito.when(repository.update(any())).thenReturn(Mono.error(new IllegalStateException(GRAVACAO)));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Cadastra um usuario no modo reativo, validando os campos
+     * obrigatorios antes da gravacao. (create)<p>
+     *
+     * @Nomeacao: Quando executar Create com corpo invalido retorna bad request,
+     * (whenRunnigCreateWithInvalidBodyThenReturnBadRequest).<p>
+     *
+     * @Mockito: o repositorio do setUp, cuja gravacao termina com erro.<p>
+     *
+     * @Assertions: afirma o status 400 e a mensagem do campo name, a mesma do modo servlet, e o
+     * caminho da requisicao no corpo do erro.<p>
+     */
+    @Test
+    void whenRunnigCreateWithInvalidBodyThenReturnBadRequest() {
+        client.post().uri("/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.error").isEqualTo("name: Campo obrigatório!")
+                .jsonPath("$.path").isEqualTo("/user");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Atualiza um usuario no modo reativo, validando os campos
+     * obrigatorios antes da gravacao. (update)<p>
+     *
+     * @Nomeacao: Quando executar Update com corpo invalido retorna bad request,
+     * (whenRunnigUpdateWithInvalidBodyThenReturnBadRequest).<p>
+     *
+     * @Mockito: o repositorio do setUp, cuja gravacao termina com erro.<p>
+     *
+     * @Assertions: afirma o status 400 com os dois campos na mensagem, em ordem alfabetica.<p>
+     */
+    @Test
+    void whenRunnigUpdateWithInvalidBodyThenReturnBadRequest() {
+        client.put().uri("/user/{id}", ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"nomeTeste\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("email: Campo obrigatório!, password: Campo obrigatório!");
+    }
+}
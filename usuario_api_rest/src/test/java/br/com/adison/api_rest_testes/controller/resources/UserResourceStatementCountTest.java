@@ -0,0 +1,383 @@
+package br.com.adison.api_rest_testes.controller.resources;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.service.UserService;
+import br.com.adison.api_rest_testes.model.service.implement.UserServiceImplement;
+import br.com.adison.api_rest_testes.support.SqlStatementRecorder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * @Resumo: Classe criada para afirmar a quantidade e o tipo exatos dos comandos SQL que cada endpoint
+ * de UserResource envia ao banco. Diferente de UserResourceTest, aqui nada eh mockado: as requisicoes
+ * passam pelo MockMvc, pelo servico com o cache "users" e pelo banco H2 real, e o SqlStatementRecorder
+ * registra os comandos executados. Se uma alteracao acrescentar uma consulta em algum caminho, o teste
+ * do endpoint falha mostrando os comandos executados.<p>
+ *
+ * @Preparacao: Antes de cada teste eh criado um usuario com e-mail unico, o cache "users" eh limpo (para
+ * que a leitura nao dependa do teste anterior) e os comandos registrados sao descartados.<p>
+ *
+ * @Instancias:
+ * * mockMvc (cliente que executa as requisicoes nos controladores)<p>
+ * * recorder (registro dos comandos SQL executados)<p>
+ * * service (bean do servico, usado apenas para criar o usuario do teste)<p>
+ * * cacheManager (gerenciador usado para limpar o cache)<p>
+ * * jdbcTemplate (executa o explain das consultas registradas)<p>
+ * * users (usuario criado antes de cada teste)<p>
+ *
+ * @Anotacoes:
+ * * @SpringBootTest (inicia o contexto completo da aplicacao, com a conferencia das estatisticas adiada
+ * para que a consulta dela nao entre na contagem)<p>
+ * * @AutoConfigureMockMvc (cria o MockMvc sobre os controladores do contexto)<p>
+ * * @Import (registra o SqlStatementRecorder no contexto)<p>
+ */
+@SpringBootTest(properties = "api.stats.reconcile-initial-delay-ms=3600000")
+@AutoConfigureMockMvc
+@Import(SqlStatementRecorder.class)
+class UserResourceStatementCountTest {
+    public static final String NOME = "nomeTeste";
+    public static final String PASSWORD = "123";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SqlStatementRecorder recorder;
+    @Autowired
+    private UserService service;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Users users;
+
+    /**
+     * @Finalidade: Cria o usuario do teste, limpa o cache e descarta os comandos da preparacao.
+     */
+    @BeforeEach
+    void setUp() {
+        users = service.create(new UserDTO(null, NOME, uniqueEmail(), PASSWORD));
+        cacheManager.getCache(UserServiceImplement.USERS_CACHE).clear();
+        recorder.reset();
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Com o cache vazio e sem If-None-Match a leitura carrega o usuario
+     * com um unico select, e o ETag vem da versao do proprio usuario. (findById)<p>
+     *
+     * @Assertions: afirma o status 200, o ETag da versao atual e um unico select.
+     */
+    @Test
+    void whenFindByIdThenSelectTheUserOnce() throws Exception {
+        mockMvc.perform(get("/user/{id}", users.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag(users.getVersion())));
+
+        recorder.assertStatements("select");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Com o usuario no cache a leitura nao chega ao banco. (findById)<p>
+     *
+     * @Assertions: afirma o status 200 da segunda leitura e que ela nao executou nenhum comando.
+     */
+    @Test
+    void whenFindByIdTwiceThenTheSecondReadSendNoStatement() throws Exception {
+        mockMvc.perform(get("/user/{id}", users.getId()));
+        recorder.reset();
+
+        mockMvc.perform(get("/user/{id}", users.getId()))
+                .andExpect(status().isOk());
+
+        recorder.assertStatements();
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Com o If-None-Match da versao atual apenas a versao eh consultada,
+     * sem carregar o usuario. (findById)<p>
+     *
+     * @Assertions: afirma o status 304 e um unico select.
+     */
+    @Test
+    void whenFindByIdWithCurrentETagThenSelectOnlyTheVersion() throws Exception {
+        mockMvc.perform(get("/user/{id}", users.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag(users.getVersion())))
+                .andExpect(status().isNotModified());
+
+        recorder.assertStatements("select");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Um id inexistente termina com 404 depois de um unico select. (findById)<p>
+     *
+     * @Assertions: afirma o status 404 e um unico select.
+     */
+    @Test
+    void whenFindByIdWithUnknownIdThenSelectOnce() throws Exception {
+        mockMvc.perform(get("/user/{id}", Integer.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        recorder.assertStatements("select");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A pagina de usuarios eh lida com uma unica consulta, sem count
+     * e sem um select por usuario. (findAll)<p>
+     *
+     * @Assertions: afirma o status 200 e um unico select.
+     */
+    @Test
+    void whenFindAllThenSelectOnce() throws Exception {
+        mockMvc.perform(get("/user").param("limit", "10"))
+                .andExpect(status().isOk());
+
+        recorder.assertStatements("select");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Com o parametro "fields" a leitura seleciona apenas as colunas
+     * pedidas, sem a senha. (findFieldsById)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma o status 200 e um unico select.<p>
+     * * SEGUNDA: afirma que o select nao le as colunas password e email.<p>
+     */
+    @Test
+    void whenFindByIdWithFieldsThenSelectOnlyTheRequestedColumns() throws Exception {
+        mockMvc.perform(get("/user/{id}", users.getId()).param("fields", "id,name"))
+                .andExpect(status().isOk());
+
+        recorder.assertStatements("select");
+        Assertions.assertFalse(recorder.statements().get(0).contains("password"));
+        Assertions.assertFalse(recorder.statements().get(0).contains("email"));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A pagina com o parametro "fields" eh lida com uma unica consulta
+     * das colunas pedidas e do id. (findFieldsPage)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma o status 200 e um unico select.<p>
+     * * SEGUNDA: afirma que o select nao le a coluna password.<p>
+     */
+    @Test
+    void whenFindAllWithFieldsThenSelectOnlyTheRequestedColumns() throws Exception {
+        mockMvc.perform(get("/user").param("fields", "name").param("limit", "10"))
+                .andExpect(status().isOk());
+
+        recorder.assertStatements("select");
+        Assertions.assertFalse(recorder.statements().get(0).contains("password"));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A busca por ids com o parametro "fields" eh recusada com 400, sem
+     * disputar a requisicao com o findFieldsPage e sem consultar o banco. (findAllById)<p>
+     *
+     * @Assertions: afirma o status 400 e que nenhum comando foi executado.
+     */
+    @Test
+    void whenFindAllByIdWithFieldsThenReturnBadRequestWithoutStatements() throws Exception {
+        mockMvc.perform(get("/user").param("ids", users.getId() + ",2").param("fields", "id"))
+                .andExpect(status().isBadRequest());
+
+        recorder.assertStatements();
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A busca por prefixo do e-mail eh feita com uma unica consulta que
+     * compara a coluna gerada email_lower com o intervalo do prefixo, e o H2 resolve essa consulta pelo
+     * indice idx_users_email_lower. (search)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma o status 200 e um unico select.<p>
+     * * SEGUNDA: afirma que o select compara a coluna email_lower, sem aplicar lower() nas linhas.<p>
+     * * TERCEIRA: afirma que o plano (explain) do select usa o indice idx_users_email_lower.<p>
+     */
+    @Test
+    void whenSearchByEmailThenSelectOnceUsingTheLowerEmailIndex() throws Exception {
+        String prefix = users.getEmail().substring(0, 8);
+        mockMvc.perform(get("/user/search").param("email", prefix.toUpperCase()).param("limit", "10"))
+                .andExpect(status().isOk());
+
+        recorder.assertStatements("select");
+        String sql = recorder.statements().get(0);
+        Assertions.assertTrue(sql.contains("email_lower>=?"), sql);
+        Assertions.assertFalse(sql.contains("lower("), sql);
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class,
+                prefix, prefix + Character.MAX_VALUE, 11);
+        Assertions.assertTrue(plan.contains("IDX_USERS_EMAIL_LOWER"), plan);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A exportacao le todos os usuarios com uma unica consulta. (export)<p>
+     *
+     * @Assertions: afirma o status 200 e um unico select.
+     */
+    @Test
+    void whenExportThenSelectOnce() throws Exception {
+        mockMvc.perform(get("/user/export"))
+                .andExpect(status().isOk());
+
+        recorder.assertStatements("select");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A criacao grava o usuario com um unico insert, pois o indice de
+     * e-mails dispensa a consulta do e-mail. (create)<p>
+     *
+     * @Assertions: afirma o status 201 e um unico insert.
+     */
+    @Test
+    void whenCreateThenInsertOnce() throws Exception {
+        mockMvc.perform(post("/user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(NOME, uniqueEmail())))
+                .andExpect(status().isCreated());
+
+        recorder.assertStatements("insert");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Um e-mail que o indice de e-mails associa a outro usuario eh
+     * confirmado com um select e recusado sem insert. (create)<p>
+     *
+     * @Assertions: afirma o status 400 e um unico select.
+     */
+    @Test
+    void whenCreateWithDuplicatedEmailThenSelectOnceAndDoNotInsert() throws Exception {
+        mockMvc.perform(post("/user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(NOME, users.getEmail())))
+                .andExpect(status().isBadRequest());
+
+        recorder.assertStatements("select");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A criacao em lote de e-mails novos dispensa a consulta dos e-mails
+     * (o indice nao conhece nenhum) e grava todos os usuarios em um unico lote JDBC. (createAll)<p>
+     *
+     * @Assertions: afirma o status 200 e um unico insert em lote.
+     */
+    @Test
+    void whenCreateAllThenInsertInOneBatch() throws Exception {
+        mockMvc.perform(post("/user/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + json(NOME, uniqueEmail()) + "," + json(NOME, uniqueEmail()) + ","
+                                + json(NOME, uniqueEmail()) + "]"))
+                .andExpect(status().isOk());
+
+        recorder.assertStatements("insert");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A atualizacao com If-Match eh um unico update condicional. (update)<p>
+     *
+     * @Assertions: afirma o status 200 e um unico update.
+     */
+    @Test
+    void whenUpdateWithIfMatchThenUpdateOnce() throws Exception {
+        mockMvc.perform(put("/user/{id}", users.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag(users.getVersion()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json("nomeNovo", users.getEmail())))
+                .andExpect(status().isOk());
+
+        recorder.assertStatements("update");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Uma versao desatualizada so eh investigada depois que o update
+     * nao altera nenhuma linha. (update)<p>
+     *
+     * @Assertions: afirma o status 412, o update e o select da versao atual.
+     */
+    @Test
+    void whenUpdateWithStaleIfMatchThenUpdateAndSelectTheVersion() throws Exception {
+        mockMvc.perform(put("/user/{id}", users.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag(users.getVersion() + 1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json("nomeNovo", users.getEmail())))
+                .andExpect(status().isPreconditionFailed());
+
+        recorder.assertStatements("update", "select");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: O patch altera apenas as colunas informadas com um unico update. (patch)<p>
+     *
+     * @Assertions: afirma o status 204 e um unico update.
+     */
+    @Test
+    void whenPatchThenUpdateOnce() throws Exception {
+        mockMvc.perform(patch("/user/{id}", users.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"nomeNovo\"}"))
+                .andExpect(status().isNoContent());
+
+        recorder.assertStatements("update");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A exclusao eh um unico delete. (delete)<p>
+     *
+     * @Assertions: afirma o status 204 e um unico delete.
+     */
+    @Test
+    void whenDeleteThenDeleteOnce() throws Exception {
+        mockMvc.perform(delete("/user/{id}", users.getId()))
+                .andExpect(status().isNoContent());
+
+        recorder.assertStatements("delete");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A exclusao de um id inexistente so consulta a versao depois que o
+     * delete nao exclui nenhuma linha. (delete)<p>
+     *
+     * @Assertions: afirma o status 404, o delete e o select da versao.
+     */
+    @Test
+    void whenDeleteWithUnknownIdThenDeleteAndSelectTheVersion() throws Exception {
+        mockMvc.perform(delete("/user/{id}", Integer.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        recorder.assertStatements("delete", "select");
+    }
+
+    /**
+     * @Finalidade: Monta o corpo JSON de um usuario com o nome e o e-mail informados.
+     */
+    private static String json(String name, String email) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    /**
+     * @Finalidade: Monta o ETag da versao informada, no formato usado pelo UserResource.
+     */
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @Finalidade: Gera um e-mail que ainda nao existe no banco compartilhado pelos testes.
+     */
+    private static String uniqueEmail() {
+        return System.nanoTime() + "@contagem.com";
+    }
+}
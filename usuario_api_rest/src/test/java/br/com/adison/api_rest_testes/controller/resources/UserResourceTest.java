@@ -1,8 +1,15 @@
 package br.com.adison.api_rest_testes.controller.resources;
 
 import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.BatchItemResult;
+import br.com.adison.api_rest_testes.model.domain.dto.CursorPage;
+import br.com.adison.api_rest_testes.model.domain.dto.MultiGetResult;
 import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.domain.dto.UserSearchHit;
+import br.com.adison.api_rest_testes.model.domain.dto.UserStats;
+import br.com.adison.api_rest_testes.model.mapper.UserMapper;
 import br.com.adison.api_rest_testes.model.service.implement.UserServiceImplement;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,13 +17,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -49,6 +62,9 @@ class UserResourceTest {
     public static final String NOME = "nomeTeste";
     public static final String EMAIL = "emailTeste@gmail.com";
     public static final String PASSWORD = "123";
+    public static final String CURSOR = "aWQ6MQ";
+    public static final int LIMIT = 50;
+    public static final Long VERSION = 3L;
 
     private Users users;
     private UserDTO userDTO;
@@ -56,9 +72,11 @@ class UserResourceTest {
     @InjectMocks
     private UserResource resource;
     @Mock
-    private ModelMapper mapper;
+    private UserMapper mapper;
     @Mock
     private UserServiceImplement service;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * @Finalidade: Metodo criado para inicializar os mocks desta/this classe,
@@ -82,7 +100,7 @@ class UserResourceTest {
      * @Mockito:
      * * PRIMEIRA: Eh mockado o chamado do metodo "findById" da classe "UserServiceImplement"
      * passando qualquer/any nemero de Id e retornando um objeto "users" com sucesso.<p>
-     * * SEGUNDA: Eh mockado o mapeamento de qualquer tipo de objeto para qualquer tipo de objeto para
+     * * SEGUNDA: Eh mockado o mapeamento de qualquer objeto "users" para
      * retornar um objeto do tipo "userDTO" com sucesso.<p>
      *
      * @Response: Ao chamar o metodo "findById" da classe "UserResource" passando o ID criado eh possível
@@ -114,10 +132,10 @@ class UserResourceTest {
 
         Mockito
                 .when(mapper
-                        .map(any(), any()))
+                        .toDTO(any()))
                 .thenReturn(userDTO);
 
-        ResponseEntity<UserDTO> response = resource.findById(ID);
+        ResponseEntity<UserDTO> response = resource.findById(ID, getRequest(null));
 
         Assertions.assertNotNull(response);
         Assertions.assertNotNull(response.getBody());
@@ -131,33 +149,62 @@ class UserResourceTest {
     }
 
     /**
-     * @Funcionalidade_original_testada: Esse metodo eh para testar o "findAll" que retorna uma lista
-     * de objetos "ResponseEntity" do tipo "<List<UserDTO>>" sem parametros. (findAll)<p>
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "findById" sem o cabecalho
+     * If-None-Match. (findById)<p>
+     *
+     * @Nomeacao: Quando executar "findById" sem If-None-Match retorna o ETag da versao do usuario carregado,
+     * sem consultar a versao a parte. (whenFindByIdWithoutIfNoneMatchThenDoNotFindTheVersion)<p>
+     *
+     * @Mockito: Eh mockado o chamado do metodo "findById" da classe "UserServiceImplement" retornando o
+     * usuario na versao VERSION.<p>
+     *
+     * @Assertions: verifica se o cabecalho ETag do response corresponde a versao VERSION.<p>
+     *
+     * @Verify: verifica que o metodo "findVersion" nunca foi chamado.
+     */
+    @Test
+    void whenFindByIdWithoutIfNoneMatchThenDoNotFindTheVersion() {
+        Mockito
+                .when(service
+                        .findById(anyInt()))
+                .thenReturn(new Users(ID, NOME, EMAIL, PASSWORD, VERSION));
+
+        ResponseEntity<UserDTO> response = resource.findById(ID, getRequest(null));
+
+        Assertions.assertEquals("\"" + VERSION + "\"", response.getHeaders().getETag());
+        Mockito.verify(service, Mockito.never()).findVersion(anyInt());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "findAll" que retorna um objeto
+     * "ResponseEntity" do tipo "<CursorPage<UserDTO>>" com a pagina de usuarios posicionada apos o
+     * cursor "after" e limitada pelo parametro "limit". (findAll)<p>
      *
      * @Nomeacao: Quando executar "FindAll" retorna um objeto "ResponseEntity" com sucesso, mapeando a lista
-     * de objetos "users" para "userDTO" e retornando essa lista no corpo. (whenFindAllThenReturnAListOfUserDTO)<p>
+     * de objetos "users" da pagina para "userDTO" e retornando essa pagina no corpo. (whenFindAllThenReturnAListOfUserDTO)<p>
      *
      * @Mockito:
-     * * PRIMEIRA: Eh mockado o chamado do metodo "findAll" da classe "UserServiceImplement" e retornando
-     * uma lista de "users" com sucesso.<p>
-     * * SEGUNDA: Eh mockado o mapeamento de qualquer tipo de objeto para qualquer tipo de objeto para
-     * retornar um objeto do tipo "userDTO" com sucesso.<p>
+     * * PRIMEIRA: Eh mockado o chamado do metodo "findPage" da classe "UserServiceImplement" e retornando
+     * uma pagina com uma lista de "users" e o cursor CURSOR com sucesso.<p>
+     * * SEGUNDA: Eh mockado o mapeamento de qualquer lista de objetos "users" para retornar uma lista
+     * com o objeto "userDTO" com sucesso.<p>
      *
-     * @Response: Ao chamar o metodo "findAll" da classe "UserResource" eh possivel armazenar seu
-     * retorno "ResponseEntity" com o "status", "headers" e "body" do tipo "<List<UserDTO>>" para
-     * testar as afirmativas.<p>
+     * @Response: Ao chamar o metodo "findAll" da classe "UserResource" sem cursor e com o limite padrao
+     * eh possivel armazenar seu retorno "ResponseEntity" com o "status", "headers" e "body" do tipo
+     * "<CursorPage<UserDTO>>" para testar as afirmativas.<p>
      *
      * @Assertions:
      * * PRIMEIRA: verifica se o response esta nulo.<p>
      * * SEGUNDA: verifica se o corpo/body do response esta nulo.<p>
      * * TERCEIRA: verifica se a mensagem do response corresponde a "HttpStatus.OK".<p>
      * * QUARTA: verifica se a classe do responde corresponde a "ResponseEntity.class".<p>
-     * * QUINTA: verifica se o corpo do response esta retornando uma classe "ArrayList.class".<p>
-     * * SEXTA: verifica se no primeiro indice do corpo do response esta retornado uma classe do tipo "UserDTO.class".<p>
-     * * SETIMA: verifica se o id do primeiro indice do corpo do response esta sendo retornado o ID estatico.<p>
-     * * OITAVA: verifica se o nome do primeiro indice do corpo do response esta sendo retornado o NOME estatico.<p>
-     * * NONA: verifica se o email do primeiro indice do corpo do response esta sendo retornado o EMAIL estatico.<p>
-     * * DECIMA: verifica se a senha do primeiro indice do corpo do response esta sendo retornado o PASSWORD estatico.<p>
+     * * QUINTA: verifica se o conteudo do corpo do response esta retornando uma classe "ArrayList.class".<p>
+     * * SEXTA: verifica se o cursor da proxima pagina corresponde ao CURSOR estatico.<p>
+     * * SETIMA: verifica se no primeiro indice do conteudo esta retornado uma classe do tipo "UserDTO.class".<p>
+     * * OITAVA: verifica se o id do primeiro indice do conteudo esta sendo retornado o ID estatico.<p>
+     * * NONA: verifica se o nome do primeiro indice do conteudo esta sendo retornado o NOME estatico.<p>
+     * * DECIMA: verifica se o email do primeiro indice do conteudo esta sendo retornado o EMAIL estatico.<p>
+     * * DECIMA PRIMEIRA: verifica se a senha do primeiro indice do conteudo esta sendo retornado o PASSWORD estatico.<p>
      *
      * @Assertions_notNull: Verifica se o objeto da classe passada nao esta nulo.<p>
      *
@@ -171,27 +218,68 @@ class UserResourceTest {
     void whenFindAllThenReturnAListOfUserDTO() {
         Mockito
                 .when(service
-                        .findAll())
-                .thenReturn(List.of(users));
+                        .findPage(Mockito.isNull(), Mockito.anyInt()))
+                .thenReturn(new CursorPage<>(List.of(users), CURSOR));
         Mockito
                 .when(mapper
-                        .map(any(), any()))
-                .thenReturn(userDTO);
+                        .toDTOList(any()))
+                .thenReturn(new ArrayList<>(List.of(userDTO)));
 
-        ResponseEntity<List<UserDTO>> response = resource.findAll();
+        ResponseEntity<CursorPage<UserDTO>> response = resource.findAll(null, LIMIT, getRequest(null));
 
         Assertions.assertNotNull(response);
         Assertions.assertNotNull(response.getBody());
 
         Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
         Assertions.assertEquals(ResponseEntity.class, response.getClass());
-        Assertions.assertEquals(ArrayList.class, response.getBody().getClass());
+        Assertions.assertEquals(ArrayList.class, response.getBody().getContent().getClass());
+        Assertions.assertEquals(CURSOR, response.getBody().getNextCursor());
+
+        Assertions.assertEquals(UserDTO.class, response.getBody().getContent().get(INDEX_ZERO).getClass());
+        Assertions.assertEquals(ID, response.getBody().getContent().get(INDEX_ZERO).getId());
+        Assertions.assertEquals(NOME, response.getBody().getContent().get(INDEX_ZERO).getName());
+        Assertions.assertEquals(EMAIL, response.getBody().getContent().get(INDEX_ZERO).getEmail());
+        Assertions.assertEquals(PASSWORD, response.getBody().getContent().get(INDEX_ZERO).getPassword());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "export" que escreve todos os usuarios
+     * direto na resposta em formato NDJSON, um objeto JSON por linha. (export)<p>
+     *
+     * @Nomeacao: Quando executar "export" escreve na resposta uma linha JSON por usuario, sem expor a senha.
+     * (whenExportThenWriteOneJsonLinePerUser)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: Eh mockado o chamado do metodo "export" da classe "UserServiceImplement" entregando o objeto
+     * "users" duas vezes ao consumer recebido.<p>
+     * * SEGUNDA: Eh mockado o mapeamento de qualquer objeto "users" para retornar o objeto "userDTO".<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: verifica se o tipo do conteudo da resposta comeca com "application/x-ndjson".<p>
+     * * SEGUNDA: verifica se o corpo da resposta tem duas linhas JSON do userDTO, sem a senha.<p>
+     */
+    @Test
+    void whenExportThenWriteOneJsonLinePerUser() throws Exception {
+        Mockito
+                .doAnswer(invocation -> {
+                    Consumer<Users> consumer = invocation.getArgument(0);
+                    consumer.accept(users);
+                    consumer.accept(users);
+                    return null;
+                })
+                .when(service)
+                        .export(any());
+        Mockito
+                .when(mapper
+                        .toDTO(any()))
+                .thenReturn(userDTO);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        resource.export(response);
 
-        Assertions.assertEquals(UserDTO.class, response.getBody().get(INDEX_ZERO).getClass());
-        Assertions.assertEquals(ID, response.getBody().get(INDEX_ZERO).getId());
-        Assertions.assertEquals(NOME, response.getBody().get(INDEX_ZERO).getName());
-        Assertions.assertEquals(EMAIL, response.getBody().get(INDEX_ZERO).getEmail());
-        Assertions.assertEquals(PASSWORD, response.getBody().get(INDEX_ZERO).getPassword());
+        String line = "{\"id\":1,\"name\":\"nomeTeste\",\"email\":\"emailTeste@gmail.com\"}\n";
+        Assertions.assertTrue(response.getContentType().startsWith(MediaType.APPLICATION_NDJSON_VALUE));
+        Assertions.assertEquals(line + line, response.getContentAsString());
     }
 
     /**
@@ -239,6 +327,34 @@ class UserResourceTest {
         Assertions.assertNull(response.getBody());
     }
 
+    /**
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "createAll" que retorna um objeto
+     * "ResponseEntity" com a lista de resultados do cadastro em lote. (createAll)<p>
+     *
+     * @Nomeacao: Quando executar "createAll" retorna um objeto "ResponseEntity" com o resultado de cada item.
+     * (whenCreateAllThenReturnTheResultOfEachItem)<p>
+     *
+     * @Mockito: Eh mockado o chamado do metodo "createAll" da classe "UserServiceImplement" retornando o
+     * resultado de um usuario criado.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: verifica se o status do response corresponde a "HttpStatus.OK".<p>
+     * * SEGUNDA: verifica se o corpo do response corresponde a lista de resultados do servico.<p>
+     */
+    @Test
+    void whenCreateAllThenReturnTheResultOfEachItem() {
+        List<BatchItemResult> results = List.of(new BatchItemResult(0, BatchItemResult.Status.CREATED, ID, null));
+        Mockito
+                .when(service
+                        .createAll(any()))
+                .thenReturn(results);
+
+        ResponseEntity<List<BatchItemResult>> response = resource.createAll(List.of(userDTO));
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(results, response.getBody());
+    }
+
     /**
      * @Funcionalidade_original_testada: Esse metodo eh para testar o "update" que retorna
      *
@@ -248,7 +364,7 @@ class UserResourceTest {
      * @Mockito:
      * - PRIMEIRA: Eh mockado o chamado do metodo "update" da classe "UserServiceImplement"
      * passando o objeto estatico "userDTO" e retornando um objeto "users" com sucesso.<p>
-     * - SEGUNDA: Eh mockado o mapeamento de qualquer tipo de objeto para qualquer tipo de objeto para
+     * - SEGUNDA: Eh mockado o mapeamento de qualquer objeto "users" para
      * retornar um objeto do tipo "userDTO" com sucesso.<p>
      *
      * @Response: Ao chamar o metodo "update" da classe "UserResource" passando o ID e userDTO estatico criados
@@ -279,14 +395,14 @@ class UserResourceTest {
     void whenUpdateThenReturnSucess() {
         Mockito
                 .when(service
-                        .update(userDTO))
+                        .update(userDTO, null))
                 .thenReturn(users);
         Mockito
                 .when(mapper
-                        .map(any(), any()))
+                        .toDTO(any()))
                 .thenReturn(userDTO);
 
-        ResponseEntity<UserDTO> response = resource.update(ID, userDTO);
+        ResponseEntity<UserDTO> response = resource.update(ID, null, userDTO);
 
         Assertions.assertNotNull(response);
         Assertions.assertNotNull(response.getBody());
@@ -339,15 +455,243 @@ class UserResourceTest {
         Mockito
                 .doNothing()
                 .when(service)
-                        .delete(anyInt());
+                        .delete(anyInt(), any());
 
-        ResponseEntity<UserDTO> response = resource.delete(ID);
+        ResponseEntity<UserDTO> response = resource.delete(ID, null);
 
         Assertions.assertNotNull(response);
         Assertions.assertNull(response.getBody());
         Assertions.assertEquals(ResponseEntity.class, response.getClass());
         Assertions.assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        Mockito.verify(service, Mockito.times(1)).delete(anyInt());
+        Mockito.verify(service, Mockito.times(1)).delete(anyInt(), any());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "findById" com o cabecalho
+     * If-None-Match igual a versao atual do usuario. (findById)<p>
+     *
+     * @Nomeacao: Quando executar "findById" com o ETag atual retorna 304 sem carregar o usuario.
+     * (whenFindByIdWithCurrentETagThenReturnNotModified)<p>
+     *
+     * @Mockito: Eh mockado o chamado do metodo "findVersion" da classe "UserServiceImplement" retornando
+     * a versao VERSION.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: verifica se o response esta nulo, o Spring escreve a resposta 304 sem corpo.<p>
+     * * SEGUNDA: verifica se o status da resposta corresponde a "HttpStatus.NOT_MODIFIED".<p>
+     *
+     * @Verify: verifica que o usuario nunca foi carregado nem mapeado.
+     */
+    @Test
+    void whenFindByIdWithCurrentETagThenReturnNotModified() {
+        Mockito
+                .when(service
+                        .findVersion(anyInt()))
+                .thenReturn(VERSION);
+        ServletWebRequest request = getRequest("\"" + VERSION + "\"");
+
+        ResponseEntity<UserDTO> response = resource.findById(ID, request);
+
+        Assertions.assertNull(response);
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED.value(), request.getResponse().getStatus());
+        Mockito.verify(service, Mockito.never()).findById(anyInt());
+        Mockito.verify(mapper, Mockito.never()).toDTO(any());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "update" com o cabecalho If-Match.
+     * (update)<p>
+     *
+     * @Nomeacao: Quando executar "update" com If-Match repassa a versao ao servico e retorna o novo ETag.
+     * (whenUpdateWithIfMatchThenPassTheVersionAndReturnTheNewETag)<p>
+     *
+     * @Mockito: Eh mockado o chamado do metodo "update" da classe "UserServiceImplement" com a versao
+     * VERSION retornando o usuario na versao seguinte.<p>
+     *
+     * @Assertions: verifica se o cabecalho ETag do response corresponde a versao seguinte.<p>
+     */
+    @Test
+    void whenUpdateWithIfMatchThenPassTheVersionAndReturnTheNewETag() {
+        Mockito
+                .when(service
+                        .update(userDTO, VERSION))
+                .thenReturn(new Users(ID, NOME, EMAIL, PASSWORD, VERSION + 1));
+
+        ResponseEntity<UserDTO> response = resource.update(ID, "\"" + VERSION + "\"", userDTO);
+
+        Assertions.assertEquals("\"" + (VERSION + 1) + "\"", response.getHeaders().getETag());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "patch" que altera apenas os campos
+     * informados e retorna 204 sem corpo. (patch)<p>
+     *
+     * @Nomeacao: Quando executar "patch" com If-Match retorna 204 com o ETag da nova versao.
+     * (whenPatchThenReturnNoContentWithTheNewETag)<p>
+     *
+     * @Mockito: Eh mockado o chamado do metodo "patch" da classe "UserServiceImplement" com a versao
+     * VERSION retornando a versao seguinte.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: verifica se o status do response corresponde a "HttpStatus.NO_CONTENT".<p>
+     * * SEGUNDA: verifica se o cabecalho ETag corresponde a versao seguinte.<p>
+     */
+    @Test
+    void whenPatchThenReturnNoContentWithTheNewETag() {
+        Mockito
+                .when(service
+                        .patch(any(), Mockito.eq(VERSION)))
+                .thenReturn(VERSION + 1);
+
+        ResponseEntity<UserDTO> response = resource.patch(ID, "\"" + VERSION + "\"", new UserDTO(null, NOME, null, null));
+
+        Assertions.assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        Assertions.assertEquals("\"" + (VERSION + 1) + "\"", response.getHeaders().getETag());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "findFieldsById", que retorna apenas
+     * os campos pedidos no parametro "fields". (findFieldsById)<p>
+     *
+     * @Nomeacao: Quando executar "findFieldsById" retorna o mapa com os campos pedidos.
+     * (whenFindFieldsByIdThenReturnTheRequestedFields)<p>
+     *
+     * @Mockito: Eh mockado o "findFieldsById" do servico retornando o id e o nome.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o status corresponde a "HttpStatus.OK".<p>
+     * * SEGUNDA: afirma que o corpo corresponde ao mapa retornado pelo servico.<p>
+     * * TERCEIRA: afirma que a resposta nao traz ETag.<p>
+     */
+    @Test
+    void whenFindFieldsByIdThenReturnTheRequestedFields() {
+        Map<String, Object> fields = Map.of("id", ID, "name", NOME);
+        Mockito
+                .when(service.findFieldsById(ID, "id,name"))
+                .thenReturn(fields);
+
+        ResponseEntity<Map<String, Object>> response = resource.findFieldsById(ID, "id,name");
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(fields, response.getBody());
+        Assertions.assertNull(response.getHeaders().getETag());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "search", que retorna a pagina dos
+     * usuarios encontrados pelo prefixo do nome ou do e-mail. (search)<p>
+     *
+     * @Nomeacao: Quando executar "search" retorna a pagina de UserDTO com o proximo cursor.
+     * (whenSearchThenReturnAPageOfUserDTOWithNextCursor)<p>
+     *
+     * @Mockito: Eh mockado o "search" do servico retornando uma pagina com um usuario e o cursor "proximo",
+     * e o "toDTOList" do mapper retornando a lista com o userDTO.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o status corresponde a "HttpStatus.OK".<p>
+     * * SEGUNDA: afirma que o conteudo corresponde a lista com o userDTO.<p>
+     * * TERCEIRA: afirma que o proximo cursor eh repassado no corpo.<p>
+     */
+    @Test
+    void whenSearchThenReturnAPageOfUserDTOWithNextCursor() {
+        Mockito
+                .when(service.search(NOME, null, null, 10))
+                .thenReturn(new CursorPage<>(List.of(users), "proximo"));
+        Mockito
+                .when(mapper.toDTOList(List.of(users)))
+                .thenReturn(List.of(userDTO));
+
+        ResponseEntity<CursorPage<UserDTO>> response = resource.search(NOME, null, null, 10);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(List.of(userDTO), response.getBody().getContent());
+        Assertions.assertEquals("proximo", response.getBody().getNextCursor());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "fuzzySearch", que retorna os usuarios
+     * mais parecidos com o texto do parametro "q". (fuzzySearch)<p>
+     *
+     * @Nomeacao: Quando executar "fuzzySearch" retorna a lista de resultados do servico.
+     * (whenFuzzySearchThenReturnTheHitsOfTheService)<p>
+     *
+     * @Mockito: Eh mockado o "fuzzySearch" do servico retornando um resultado.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o status corresponde a "HttpStatus.OK".<p>
+     * * SEGUNDA: afirma que o corpo corresponde a lista retornada pelo servico.<p>
+     */
+    @Test
+    void whenFuzzySearchThenReturnTheHitsOfTheService() {
+        List<UserSearchHit> hits = List.of(new UserSearchHit(ID, NOME, EMAIL, 0.5));
+        Mockito
+                .when(service.fuzzySearch("nomeTset", 10))
+                .thenReturn(hits);
+
+        ResponseEntity<List<UserSearchHit>> response = resource.fuzzySearch("nomeTset", 10);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(hits, response.getBody());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "findAllById" e o "lookup", que
+     * retornam os usuarios de varios ids, pela url ou pelo corpo. (findAllById e lookup)<p>
+     *
+     * @Mockito: Eh mockado o "findAllById" do servico retornando o userDTO e o id 2 como inexistente.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o status das duas respostas corresponde a "HttpStatus.OK".<p>
+     * * SEGUNDA: afirma que o corpo das duas respostas corresponde ao resultado do servico.<p>
+     */
+    @Test
+    void whenFindAllByIdOrLookupThenReturnTheResultOfTheService() {
+        MultiGetResult result = new MultiGetResult(List.of(userDTO), List.of(2));
+        Mockito
+                .when(service.findAllById(List.of(ID, 2)))
+                .thenReturn(result);
+
+        ResponseEntity<MultiGetResult> response = resource.findAllById(List.of(ID, 2), null);
+        ResponseEntity<MultiGetResult> lookup = resource.lookup(List.of(ID, 2));
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(HttpStatus.OK, lookup.getStatusCode());
+        Assertions.assertEquals(result, response.getBody());
+        Assertions.assertEquals(result, lookup.getBody());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse metodo eh para testar o "stats", que retorna o total de
+     * usuarios e a quantidade por dominio de e-mail. (stats)<p>
+     *
+     * @Mockito: Eh mockado o "stats" do servico.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o status corresponde a "HttpStatus.OK".<p>
+     * * SEGUNDA: afirma que o corpo corresponde as estatisticas do servico.<p>
+     */
+    @Test
+    void whenStatsThenReturnTheStatisticsOfTheService() {
+        UserStats stats = new UserStats(2, Map.of("gmail.com", 2L));
+        Mockito
+                .when(service.stats())
+                .thenReturn(stats);
+
+        ResponseEntity<UserStats> response = resource.stats();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(stats, response.getBody());
+    }
+
+    /**
+     * @Finalidade: Metodo que cria a requisicao GET usada pelas leituras condicionais, com o cabecalho
+     * If-None-Match quando informado.<p>
+     */
+    private ServletWebRequest getRequest(String ifNoneMatch){
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user");
+        if (ifNoneMatch != null)
+            request.addHeader("If-None-Match", ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
     }
 
     /**
@@ -1,15 +1,22 @@
 package br.com.adison.api_rest_testes.controller.resources.exceptions;
 
 import br.com.adison.api_rest_testes.model.service.exceptions.DataIntegratyViolationException;
+import br.com.adison.api_rest_testes.model.service.exceptions.InvalidParameterException;
 import br.com.adison.api_rest_testes.model.service.exceptions.ObjectNotFoundException;
+import br.com.adison.api_rest_testes.model.service.exceptions.PreconditionFailedException;
+import br.com.adison.api_rest_testes.model.service.exceptions.ServiceUnavailableException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
 import java.time.LocalDateTime;
 
@@ -149,4 +156,107 @@ class ResourceExceptionHandlerTest {
         Assertions.assertNotEquals("/user/2", response.getBody().getPath());
         Assertions.assertNotEquals(LocalDateTime.now(), response.getBody().getTimestamp());
     }
-}
\ No newline at end of file
+
+    /**
+     * @Funcionalidade_original_testada: Esse método é para testar o "invalidParameter" que retorna um objeto
+     * "ResponseEntity" do tipo "<StandardError>" com status 400 quando um parâmetro da requisição, como o
+     * cursor de paginação, não pode ser interpretado. (invalidParameter)<p>
+     *
+     * @Nomeação: Quando executar "invalidParameter" então retorne um objeto "ResponseEntity" de
+     * requisição inválida. (whenInvalidParameterThenReturnsABadRequestResponseEntity).<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o corpo/body do response nao esta nulo.<p>
+     * * SEGUNDA: afirma que o status do response corresponde a "HttpStatus.BAD_REQUEST".<p>
+     * * TERCEIRA: afirma que a mensagem do body do responde corresponde a "Cursor inválido!".<p>
+     * * QUARTA: afirma que o status do body do responde corresponde a 400.<p>
+     */
+    @Test
+    void whenInvalidParameterThenReturnsABadRequestResponseEntity() {
+        ResponseEntity<StandardError> response = exceptionHandler
+                .invalidParameter(
+                        new InvalidParameterException("Cursor inválido!"),
+                        new MockHttpServletRequest());
+
+        Assertions.assertNotNull(response.getBody());
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        Assertions.assertEquals("Cursor inválido!", response.getBody().getError());
+        Assertions.assertEquals(400, response.getBody().getStatus());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse método é para testar o "preconditionFailed" que retorna um objeto
+     * "ResponseEntity" do tipo "<StandardError>" com status 412 quando a versão do If-Match não é mais a
+     * versão atual do usuário. (preconditionFailed)<p>
+     *
+     * @Nomeação: Quando executar "preconditionFailed" então retorne um objeto "ResponseEntity" de
+     * pré-condição falha. (whenPreconditionFailedThenReturnsAPreconditionFailedResponseEntity).<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o corpo/body do response nao esta nulo.<p>
+     * * SEGUNDA: afirma que o status do response corresponde a "HttpStatus.PRECONDITION_FAILED".<p>
+     * * TERCEIRA: afirma que o status do body do responde corresponde a 412.<p>
+     */
+    @Test
+    void whenPreconditionFailedThenReturnsAPreconditionFailedResponseEntity() {
+        ResponseEntity<StandardError> response = exceptionHandler
+                .preconditionFailed(
+                        new PreconditionFailedException("O usuário foi alterado por outra requisição!"),
+                        new MockHttpServletRequest());
+
+        Assertions.assertNotNull(response.getBody());
+        Assertions.assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        Assertions.assertEquals(412, response.getBody().getStatus());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse método é para testar o "serviceUnavailable" que retorna um objeto
+     * "ResponseEntity" do tipo "<StandardError>" com status 503 e o cabeçalho Retry-After quando o aplicativo
+     * recusa a requisição por sobrecarga. (serviceUnavailable)<p>
+     *
+     * @Nomeação: Quando executar "serviceUnavailable" então retorne um objeto "ResponseEntity" de serviço
+     * indisponível com o Retry-After. (whenServiceUnavailableThenReturnsAServiceUnavailableResponseEntityWithRetryAfter).<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o status do response corresponde a "HttpStatus.SERVICE_UNAVAILABLE".<p>
+     * * SEGUNDA: afirma que o status do body do responde corresponde a 503.<p>
+     * * TERCEIRA: afirma que o cabeçalho Retry-After traz os segundos da exceção.<p>
+     */
+    @Test
+    void whenServiceUnavailableThenReturnsAServiceUnavailableResponseEntityWithRetryAfter() {
+        ResponseEntity<StandardError> response = exceptionHandler
+                .serviceUnavailable(
+                        new ServiceUnavailableException("Muitos cadastros em andamento, tente novamente em instantes!", 2),
+                        new MockHttpServletRequest());
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        Assertions.assertEquals(503, response.getBody().getStatus());
+        Assertions.assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Esse método é para testar se o "objectNotFound" registra a exceção
+     * tratada na observação da requisição, usada pela métrica "http.server.requests" na tag exception.
+     * (objectNotFound)<p>
+     *
+     * @Nomeação: Quando executar "objectNotFound" então a exceção fica registrada na observação da requisição.
+     * (whenObjectNotFoundThenRecordTheExceptionOnTheObservation).<p>
+     *
+     * @Request: eh criada uma requisição com o contexto de observação que o ServerHttpObservationFilter
+     * guardaria nos atributos da requisição.<p>
+     *
+     * @Assertions: afirma que o erro do contexto corresponde a exceção passada ao método.<p>
+     */
+    @Test
+    void whenObjectNotFoundThenRecordTheExceptionOnTheObservation() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        ServerRequestObservationContext context =
+                new ServerRequestObservationContext(request, new MockHttpServletResponse());
+        request.setAttribute(ServerHttpObservationFilter.CURRENT_OBSERVATION_CONTEXT_ATTRIBUTE, context);
+        ObjectNotFoundException exception = new ObjectNotFoundException("Objeto não encontrado!");
+
+        exceptionHandler.objectNotFound(exception, request);
+
+        Assertions.assertEquals(exception, context.getError());
+    }
+}
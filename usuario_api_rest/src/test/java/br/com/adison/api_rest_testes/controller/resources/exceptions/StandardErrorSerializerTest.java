@@ -0,0 +1,58 @@
+package br.com.adison.api_rest_testes.controller.resources.exceptions;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * @Resumo: Classe criada para garantir que o StandardErrorSerializer escreve exatamente o mesmo JSON que o
+ * serializador generico do Jackson escrevia antes dele, configurado como o Spring Boot configura (datas
+ * em texto ISO, WRITE_DATES_AS_TIMESTAMPS desligado).<p>
+ *
+ * @Instancias:
+ * * objectMapper (usa o StandardErrorSerializer indicado pela anotacao @JsonSerialize)<p>
+ * * beanMapper (ignora as anotacoes, usando o serializador generico de beans)<p>
+ */
+class StandardErrorSerializerTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper beanMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, MapperFeature.USE_ANNOTATIONS)
+            .build();
+
+    /**
+     * @Funcionalidade_original_testada: Escreve o StandardError completo, com acentos e aspas na mensagem.
+     * (serialize)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o JSON corresponde ao do serializador generico.<p>
+     * * SEGUNDA: afirma o mesmo na segunda escrita, com a mensagem vinda do cache de mensagens.<p>
+     */
+    @Test
+    void whenSerializeThenWriteTheSameJsonAsTheBeanSerializer() throws JsonProcessingException {
+        StandardError error = new StandardError(LocalDateTime.of(2023, 11, 20, 10, 15, 30, 123_000_000),
+                404, "Objeto não encontrado! \"99\"", "/user/99");
+
+        Assertions.assertEquals(beanMapper.writeValueAsString(error), objectMapper.writeValueAsString(error));
+        Assertions.assertEquals(beanMapper.writeValueAsString(error), objectMapper.writeValueAsString(error));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Escreve null nos campos nulos. (serialize)<p>
+     *
+     * @Assertions: afirma que o JSON corresponde ao do serializador generico.
+     */
+    @Test
+    void whenSerializeWithNullFieldsThenWriteNulls() throws JsonProcessingException {
+        StandardError error = new StandardError();
+
+        Assertions.assertEquals(beanMapper.writeValueAsString(error), objectMapper.writeValueAsString(error));
+    }
+}
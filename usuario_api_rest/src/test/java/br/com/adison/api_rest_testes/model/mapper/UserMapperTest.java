@@ -0,0 +1,78 @@
+package br.com.adison.api_rest_testes.model.mapper;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Resumo: Classe criada para testar os metodos de UserMapper, garantindo que a conversao
+ * entre "Users" e "UserDTO" copia os mesmos atributos que o ModelMapper copiava.<p>
+ *
+ * @Instancias:
+ * * mapper (objeto da classe testada, instanciado diretamente pois nao tem dependencias)<p>
+ * * ID, NOME, EMAIL, PASSWORD (constantes iniciadas para preencher construtores dos objetos user).<p>
+ */
+class UserMapperTest {
+    public static final Integer ID = 1;
+    public static final String NOME = "nomeTeste";
+    public static final String EMAIL = "emailTeste@gmail.com";
+    public static final String PASSWORD = "123";
+
+    private UserMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new UserMapper();
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Converte uma entidade "Users" em um "UserDTO". (toDTO)<p>
+     *
+     * @Assertions: afirma que todos os atributos, inclusive a senha, foram copiados.<p>
+     */
+    @Test
+    void whenToDTOThenReturnAnUserDTOWithAllAttributes() {
+        UserDTO response = mapper.toDTO(new Users(ID, NOME, EMAIL, PASSWORD));
+
+        Assertions.assertEquals(new UserDTO(ID, NOME, EMAIL, PASSWORD), response);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Converte um "UserDTO" em uma entidade "Users". (toEntity)<p>
+     *
+     * @Assertions: afirma que todos os atributos, inclusive a senha, foram copiados.<p>
+     */
+    @Test
+    void whenToEntityThenReturnAnUsersWithAllAttributes() {
+        Users response = mapper.toEntity(new UserDTO(ID, NOME, EMAIL, PASSWORD));
+
+        Assertions.assertEquals(new Users(ID, NOME, EMAIL, PASSWORD), response);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Converte uma lista de "Users" em uma lista de "UserDTO",
+     * mantendo a ordem. (toDTOList)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que a lista retornada eh um "ArrayList".<p>
+     * * SEGUNDA: afirma que os objetos convertidos estao na mesma ordem da lista original.<p>
+     * * TERCEIRA: afirma que objetos nulos sao convertidos para nulo.<p>
+     */
+    @Test
+    void whenToDTOListThenReturnTheListInTheSameOrder() {
+        List<UserDTO> response = mapper.toDTOList(List.of(
+                new Users(ID, NOME, EMAIL, PASSWORD),
+                new Users(2, NOME, "outro@gmail.com", PASSWORD)));
+
+        Assertions.assertEquals(ArrayList.class, response.getClass());
+        Assertions.assertEquals(List.of(
+                new UserDTO(ID, NOME, EMAIL, PASSWORD),
+                new UserDTO(2, NOME, "outro@gmail.com", PASSWORD)), response);
+        Assertions.assertNull(mapper.toDTO(null));
+    }
+}
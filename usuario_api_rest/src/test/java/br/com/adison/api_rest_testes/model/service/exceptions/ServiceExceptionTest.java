@@ -0,0 +1,91 @@
+package br.com.adison.api_rest_testes.model.service.exceptions;
+
+import br.com.adison.api_rest_testes.configure.ExceptionConfigure;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * @Resumo: Classe criada para testar a opcao de criar as exceptions do aplicativo sem o rastro da pilha.
+ * Cada teste define a opcao que usa, pois um contexto do Spring iniciado antes na mesma JVM aplica a
+ * propriedade "api.exceptions.stack-trace", e ao final devolve o valor encontrado, que pode ser o de um
+ * contexto reaproveitado pelas proximas classes de teste.<p>
+ *
+ * @Instancias:
+ * * previous (valor da opcao antes de cada teste)<p>
+ */
+class ServiceExceptionTest {
+    private boolean previous;
+
+    /**
+     * @Finalidade: Guarda o valor da opcao antes do teste.
+     */
+    @BeforeEach
+    void setUp() {
+        previous = ServiceException.isStackTraceEnabled();
+    }
+
+    /**
+     * @Finalidade: Devolve a opcao ao valor anterior para nao afetar os outros testes.
+     */
+    @AfterEach
+    void tearDown() {
+        ServiceException.setStackTraceEnabled(previous);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Com o rastro desligado a exception eh criada sem os quadros da
+     * pilha e mantem a mensagem. (ServiceException)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o rastro da pilha esta vazio.<p>
+     * * SEGUNDA: afirma que a mensagem foi mantida.<p>
+     */
+    @Test
+    void whenStackTraceIsDisabledThenCreateTheExceptionWithoutStackTrace() {
+        ServiceException.setStackTraceEnabled(false);
+
+        ObjectNotFoundException ex = new ObjectNotFoundException("Objeto não encontrado!");
+
+        Assertions.assertEquals(0, ex.getStackTrace().length);
+        Assertions.assertEquals("Objeto não encontrado!", ex.getMessage());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Com o rastro ligado a exception eh criada como uma RuntimeException
+     * comum. (ServiceException)<p>
+     *
+     * @Assertions: afirma que o rastro da pilha nao esta vazio.
+     */
+    @Test
+    void whenStackTraceIsEnabledThenCreateTheExceptionWithStackTrace() {
+        ServiceException.setStackTraceEnabled(true);
+
+        ObjectNotFoundException ex = new ObjectNotFoundException("Objeto não encontrado!");
+
+        Assertions.assertTrue(ex.getStackTrace().length > 0);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: O ExceptionConfigure aplica a propriedade enquanto o contexto
+     * existe e devolve o valor anterior quando ele eh fechado. (ExceptionConfigure apply e restore)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que a propriedade desligada vale depois do apply.<p>
+     * * SEGUNDA: afirma que o valor anterior (ligado) volta depois do restore.<p>
+     */
+    @Test
+    void whenExceptionConfigureIsClosedThenRestoreThePreviousValue() {
+        ServiceException.setStackTraceEnabled(true);
+        ExceptionConfigure configure = new ExceptionConfigure();
+        ReflectionTestUtils.setField(configure, "stackTrace", false);
+
+        configure.apply();
+        Assertions.assertFalse(ServiceException.isStackTraceEnabled());
+
+        configure.restore();
+        Assertions.assertTrue(ServiceException.isStackTraceEnabled());
+    }
+}
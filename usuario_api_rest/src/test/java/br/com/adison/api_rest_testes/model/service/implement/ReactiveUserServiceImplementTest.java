@@ -0,0 +1,220 @@
+package br.com.adison.api_rest_testes.model.service.implement;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.mapper.UserMapper;
+import br.com.adison.api_rest_testes.model.service.exceptions.DataIntegratyViolationException;
+import br.com.adison.api_rest_testes.model.service.exceptions.ObjectNotFoundException;
+import br.com.adison.api_rest_testes.repository.ReactiveUserRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.*;
+
+/**
+ * @Resumo: Classe criada para testar os metodos de ReactiveUserServiceImplement, a versao reativa do
+ * servico de usuarios. Cada Mono devolvido pelo servico eh executado com "block()", que espera o
+ * resultado ou relanca o erro emitido, assim as afirmacoes ficam iguais as do UserServiceImplementTest.<p>
+ *
+ * @Instancias:
+ * * users (objeto da classe domain)<p>
+ * * userDTO (objeto da classe de transferencia de dados)<p>
+ * * service (objeto da classe testada para implementar seus metodos)<p>
+ * * repository (objeto falso do repositorio R2DBC)<p>
+ * * mapper (objeto falso da classe de conversao)<p>
+ * * validator (objeto falso do validador dos campos obrigatorios)<p>
+ *
+ * @Anotacoes:
+ * * @SpringBootTest (indica ao spring que essa classe eh de testes)<p>
+ * * @InjectMocks (cria uma instancia real do objeto instanciado)<p>
+ * * @Mock (cria uma instancia falsa do objeto instanciado)<p>
+ */
+@SpringBootTest
+class ReactiveUserServiceImplementTest {
+
+    private Users users;
+    private UserDTO userDTO;
+    @InjectMocks
+    private ReactiveUserServiceImplement service;
+    @Mock
+    private ReactiveUserRepository repository;
+    @Mock
+    private UserMapper mapper;
+    @Mock
+    private Validator validator;
+    public static final Integer ID = 1;
+    public static final String NOME = "nomeTeste";
+    public static final String PASSWORD = "123";
+    public static final String EMAIL = "emailTeste@gmail.com";
+    public static final String OBJETO_NAO_ENCONTRADO = "Objeto não encontrado!";
+    public static final String EMAIL_JA_CADASTRADO = "E-mail já cadastrado!";
+
+    /**
+     * @Finalidade: Metodo criado para inicializar os mocks desta/this classe e os objetos user.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        users = new Users(ID, NOME, EMAIL, PASSWORD);
+        userDTO = new UserDTO(ID, NOME, EMAIL, PASSWORD);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Emite o usuario com o id informado. (findById)<p>
+     *
+     * @Nomeacao: Quando executar findById retorna uma instancia de usuario.
+     * (whenRunnigFindByIdThenReturnAnUserInstance)<p>
+     *
+     * @Mockito: eh mockado o findById do repository emitindo o objeto users.<p>
+     *
+     * @Assertions: afirma que o response corresponde ao objeto users emitido pelo repository.
+     */
+    @Test
+    void whenRunnigFindByIdThenReturnAnUserInstance() {
+        Mockito.when(repository.findById(anyInt())).thenReturn(Mono.just(users));
+
+        Users response = service.findById(ID).block();
+
+        Assertions.assertEquals(users, response);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Termina com ObjectNotFoundException quando o id nao existe. (findById)<p>
+     *
+     * @Nomeacao: Quando executar findById retorna uma exception de objeto nao encontrado.
+     * (whenRunnigFindByIdThenReturnAnObjectNotFoundException)<p>
+     *
+     * @Mockito: eh mockado o findById do repository terminando vazio.<p>
+     *
+     * @Assertions: afirma que o erro emitido eh ObjectNotFoundException com a mensagem OBJETO_NAO_ENCONTRADO.
+     */
+    @Test
+    void whenRunnigFindByIdThenReturnAnObjectNotFoundException() {
+        Mockito.when(repository.findById(anyInt())).thenReturn(Mono.empty());
+
+        ObjectNotFoundException ex = Assertions.assertThrows(ObjectNotFoundException.class,
+                () -> service.findById(ID).block());
+
+        Assertions.assertEquals(OBJETO_NAO_ENCONTRADO, ex.getMessage());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Grava um novo usuario quando o e-mail nao esta cadastrado. (create)<p>
+     *
+     * @Nomeacao: Quando executar create retorna o usuario gravado.
+     * (whenRunnigCreateThenReturnSuccess)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o mapeamento do userDTO para o objeto users.<p>
+     * * SEGUNDA: eh mockada a busca por e-mail terminando vazia.<p>
+     * * TERCEIRA: eh mockado o insert do repository emitindo o objeto gravado.<p>
+     *
+     * @Assertions: afirma que o response corresponde ao objeto gravado.
+     */
+    @Test
+    void whenRunnigCreateThenReturnSuccess() {
+        Mockito.when(mapper.toEntity(any())).thenReturn(users);
+        Mockito.when(repository.findByEmail(anyString())).thenReturn(Mono.empty());
+        Mockito.when(repository.insert(any())).thenReturn(Mono.just(users));
+
+        Users response = service.create(userDTO).block();
+
+        Assertions.assertEquals(users, response);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Termina com DataIntegratyViolationException quando o e-mail ja
+     * pertence a outro usuario. (create)<p>
+     *
+     * @Nomeacao: Quando executar create retorna uma exception de violacao de integridade.
+     * (whenRunnigCreateThenReturnAnDataIntegrityViolationException)<p>
+     *
+     * @Mockito: eh mockada a busca por e-mail emitindo um usuario com id diferente.<p>
+     *
+     * @Assertions: afirma que o erro emitido eh DataIntegratyViolationException com a mensagem
+     * EMAIL_JA_CADASTRADO.<p>
+     *
+     * @Verify: verifica que o insert nunca chegou a ser executado.
+     */
+    @Test
+    void whenRunnigCreateThenReturnAnDataIntegrityViolationException() {
+        Mockito.when(mapper.toEntity(any())).thenReturn(users);
+        Mockito.when(repository.findByEmail(anyString())).thenReturn(Mono.just(new Users(2, NOME, EMAIL, PASSWORD)));
+        Mono<Users> insert = Mono.fromSupplier(() -> Assertions.fail("insert nao deveria executar"));
+        Mockito.when(repository.insert(any())).thenReturn(insert);
+
+        DataIntegratyViolationException ex = Assertions.assertThrows(DataIntegratyViolationException.class,
+                () -> service.create(userDTO).block());
+
+        Assertions.assertEquals(EMAIL_JA_CADASTRADO, ex.getMessage());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Termina com ObjectNotFoundException quando nenhuma linha eh
+     * alterada pela atualizacao. (update)<p>
+     *
+     * @Nomeacao: Quando executar update de um id inexistente retorna uma exception de objeto nao encontrado.
+     * (whenRunnigUpdateWithUnknownIdThenReturnAnObjectNotFoundException)<p>
+     *
+     * @Mockito: eh mockado o update do repository informando zero linhas alteradas.<p>
+     *
+     * @Assertions: afirma que o erro emitido eh ObjectNotFoundException.
+     */
+    @Test
+    void whenRunnigUpdateWithUnknownIdThenReturnAnObjectNotFoundException() {
+        Mockito.when(mapper.toEntity(any())).thenReturn(users);
+        Mockito.when(repository.findByEmail(anyString())).thenReturn(Mono.empty());
+        Mockito.when(repository.update(any())).thenReturn(Mono.just(0L));
+
+        Assertions.assertThrows(ObjectNotFoundException.class, () -> service.update(userDTO).block());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Exclui o usuario com um unico comando. (delete)<p>
+     *
+     * @Nomeacao: Quando executar delete termina com sucesso.
+     * (whenRunnigDeleteThenReturnSuccess)<p>
+     *
+     * @Mockito: eh mockado o deleteById do repository informando uma linha excluida.<p>
+     *
+     * @Verify: verifica se o deleteById foi chamado uma vez e a busca por id nenhuma.
+     */
+    @Test
+    void whenRunnigDeleteThenReturnSuccess() {
+        Mockito.when(repository.deleteById(anyInt())).thenReturn(Mono.just(1L));
+
+        service.delete(ID).block();
+
+        Mockito.verify(repository, Mockito.times(1)).deleteById(ID);
+        Mockito.verify(repository, Mockito.never()).findById(anyInt());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Termina com ObjectNotFoundException quando nenhuma linha eh
+     * excluida. (delete)<p>
+     *
+     * @Nomeacao: Quando executar delete de um id inexistente retorna uma exception de objeto nao encontrado.
+     * (whenRunnigDeleteThenReturnAnObjectNotFoundException)<p>
+     *
+     * @Mockito: eh mockado o deleteById do repository informando zero linhas excluidas.<p>
+     *
+     * @Assertions: afirma que o erro emitido eh ObjectNotFoundException com a mensagem OBJETO_NAO_ENCONTRADO.
+     */
+    @Test
+    void whenRunnigDeleteThenReturnAnObjectNotFoundException() {
+        Mockito.when(repository.deleteById(anyInt())).thenReturn(Mono.just(0L));
+
+        ObjectNotFoundException ex = Assertions.assertThrows(ObjectNotFoundException.class,
+                () -> service.delete(ID).block());
+
+        Assertions.assertEquals(OBJETO_NAO_ENCONTRADO, ex.getMessage());
+    }
+}
@@ -0,0 +1,213 @@
+package br.com.adison.api_rest_testes.model.service.implement;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.service.UserService;
+import br.com.adison.api_rest_testes.model.service.exceptions.ObjectNotFoundException;
+import br.com.adison.api_rest_testes.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * @Resumo: Classe criada para testar o cache "users" aplicado em UserServiceImplement. Diferente de
+ * UserServiceImplementTest, aqui o servico eh o bean do Spring, pois o cache so funciona quando as
+ * chamadas passam pelo proxy criado pelo Spring.<p>
+ *
+ * @Instancias:
+ * * service (bean do servico com as anotacoes de cache interceptadas)<p>
+ * * repository (bean falso/mock que substitui o repository real no contexto)<p>
+ * * cacheManager (gerenciador usado para limpar e inspecionar o cache)<p>
+ * * ID, NOME, EMAIL, PASSWORD, VERSION (constantes iniciadas para preencher construtores dos objetos user).<p>
+ *
+ * @Anotacoes:
+ * * @SpringBootTest (inicia o contexto completo da aplicacao)<p>
+ * * @MockBean (substitui o bean do contexto por uma instancia falsa)<p>
+ */
+@SpringBootTest
+class UserServiceCacheTest {
+    public static final Integer ID = 1;
+    public static final String NOME = "nomeTeste";
+    public static final String EMAIL = "emailTeste@gmail.com";
+    public static final String PASSWORD = "123";
+    public static final Long VERSION = 3L;
+
+    @Autowired
+    private UserService service;
+    @Autowired
+    private CacheManager cacheManager;
+    @MockBean
+    private UserRepository repository;
+
+    /**
+     * @Finalidade: Limpa o cache antes de cada teste para que um teste nao dependa do outro.
+     */
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(UserServiceImplement.USERS_CACHE).clear();
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A segunda leitura do mesmo id eh respondida pelo cache. (findById)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que as duas leituras retornam o mesmo usuario.<p>
+     * * SEGUNDA: afirma que o cache registrou um acerto (hit).<p>
+     *
+     * @Verify: verifica se o repository foi consultado apenas uma vez.
+     */
+    @Test
+    void whenFindByIdTwiceThenQueryTheRepositoryOnlyOnce() {
+        Mockito
+                .when(repository.findById(ID))
+                .thenReturn(Optional.of(new Users(ID, NOME, EMAIL, PASSWORD)));
+
+        Users first = service.findById(ID);
+        Users second = service.findById(ID);
+
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(1, nativeCache().stats().hitCount());
+        Mockito.verify(repository, Mockito.times(1)).findById(ID);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A atualizacao condicional substitui a entrada do cache pelo usuario
+     * na nova versao. (update e findById)<p>
+     *
+     * @Assertions: afirma que a leitura apos a atualizacao retorna o nome novo e a versao seguinte, sem
+     * consultar o banco.<p>
+     */
+    @Test
+    void whenUpdateThenFindByIdReturnTheUpdatedUser() {
+        Mockito
+                .when(repository.findById(ID))
+                .thenReturn(Optional.of(new Users(ID, NOME, EMAIL, PASSWORD, VERSION)));
+        Mockito
+                .when(repository.findByEmail(anyString()))
+                .thenReturn(Optional.empty());
+        Mockito
+                .when(repository.updatePartially(anyInt(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        service.findById(ID);
+        service.update(new UserDTO(ID, "nomeNovo", EMAIL, PASSWORD), VERSION);
+
+        Users response = service.findById(ID);
+        Assertions.assertEquals("nomeNovo", response.getName());
+        Assertions.assertEquals(VERSION + 1, response.getVersion());
+        Mockito.verify(repository, Mockito.times(1)).findById(ID);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Uma leitura feita durante a atualizacao incondicional, depois da
+     * remocao da entrada e antes do fim da gravacao, nao deixa o usuario antigo no cache. (update e findById)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o findById retornando o usuario antigo ate a gravacao e o novo depois dela.<p>
+     * * SEGUNDA: eh mockado o updatePartially executando um findById no meio da gravacao.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que a leitura intercalada retornou o usuario antigo.<p>
+     * * SEGUNDA: afirma que a leitura apos a atualizacao busca o banco e retorna o nome novo.<p>
+     */
+    @Test
+    void whenFindByIdRunsDuringUpdateWithoutVersionThenDoNotCacheTheOldUser() {
+        Users old = new Users(ID, NOME, EMAIL, PASSWORD, VERSION);
+        Users[] interleaved = new Users[1];
+        Mockito
+                .when(repository.findById(ID))
+                .thenReturn(Optional.of(old));
+        Mockito
+                .when(repository.findByEmail(anyString()))
+                .thenReturn(Optional.empty());
+        Mockito
+                .when(repository.updatePartially(anyInt(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    interleaved[0] = service.findById(ID);
+                    Mockito
+                            .when(repository.findById(ID))
+                            .thenReturn(Optional.of(new Users(ID, "nomeNovo", EMAIL, PASSWORD, VERSION + 1)));
+                    return 1;
+                });
+
+        service.findById(ID);
+        service.update(new UserDTO(ID, "nomeNovo", EMAIL, PASSWORD), null);
+
+        Assertions.assertEquals(NOME, interleaved[0].getName());
+        Assertions.assertEquals("nomeNovo", service.findById(ID).getName());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A atualizacao incondicional nao conhece a nova versao, entao
+     * remove a entrada do cache em vez de substitui-la. (update e findById)<p>
+     *
+     * @Assertions: afirma que a leitura apos a atualizacao busca o usuario no banco, retornando o nome novo.<p>
+     */
+    @Test
+    void whenUpdateWithoutVersionThenFindByIdQueryTheRepositoryAgain() {
+        Mockito
+                .when(repository.findById(ID))
+                .thenReturn(Optional.of(new Users(ID, NOME, EMAIL, PASSWORD, VERSION)));
+        Mockito
+                .when(repository.findByEmail(anyString()))
+                .thenReturn(Optional.empty());
+        Mockito
+                .when(repository.updatePartially(anyInt(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        service.findById(ID);
+        service.update(new UserDTO(ID, "nomeNovo", EMAIL, PASSWORD), null);
+
+        Mockito
+                .when(repository.findById(ID))
+                .thenReturn(Optional.of(new Users(ID, "nomeNovo", EMAIL, PASSWORD, VERSION + 1)));
+        Assertions.assertEquals("nomeNovo", service.findById(ID).getName());
+        Mockito.verify(repository, Mockito.times(2)).findById(ID);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A exclusao remove a entrada do cache. (delete e findById)<p>
+     *
+     * @Assertions: afirma que a leitura apos a exclusao consulta o banco e lanca ObjectNotFoundException,
+     * em vez de devolver o usuario guardado no cache.<p>
+     */
+    @Test
+    void whenDeleteThenFindByIdDoNotReturnTheCachedUser() {
+        Mockito
+                .when(repository.findById(ID))
+                .thenReturn(Optional.of(new Users(ID, NOME, EMAIL, PASSWORD)));
+
+        Mockito
+                .when(repository.deleteByIdReturningCount(ID))
+                .thenReturn(1);
+
+        service.findById(ID);
+        service.delete(ID, null);
+
+        Mockito
+                .when(repository.findById(ID))
+                .thenReturn(Optional.empty());
+        Assertions.assertThrows(ObjectNotFoundException.class, () -> service.findById(ID));
+    }
+
+    /**
+     * @Finalidade: Retorna o cache nativo do Caffeine para consultar as estatisticas.
+     */
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache() {
+        return ((CaffeineCache) cacheManager.getCache(UserServiceImplement.USERS_CACHE)).getNativeCache();
+    }
+}
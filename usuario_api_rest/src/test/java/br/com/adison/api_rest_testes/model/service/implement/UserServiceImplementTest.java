@@ -1,10 +1,26 @@
 package br.com.adison.api_rest_testes.model.service.implement;
 
 import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.BatchItemResult;
+import br.com.adison.api_rest_testes.model.domain.dto.CursorPage;
+import br.com.adison.api_rest_testes.model.domain.dto.MultiGetResult;
 import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.domain.dto.UserSearchHit;
+import br.com.adison.api_rest_testes.model.domain.dto.UserStats;
+import br.com.adison.api_rest_testes.model.mapper.UserMapper;
 import br.com.adison.api_rest_testes.model.service.exceptions.DataIntegratyViolationException;
+import br.com.adison.api_rest_testes.model.service.exceptions.InvalidParameterException;
 import br.com.adison.api_rest_testes.model.service.exceptions.ObjectNotFoundException;
+import br.com.adison.api_rest_testes.model.service.exceptions.PreconditionFailedException;
+import br.com.adison.api_rest_testes.model.service.index.UserEmailIndex;
+import br.com.adison.api_rest_testes.model.service.index.UserSearchIndex;
+import br.com.adison.api_rest_testes.model.service.loader.UserBatchLoader;
+import br.com.adison.api_rest_testes.model.service.queue.UserCreateQueue;
+import br.com.adison.api_rest_testes.model.service.stats.UserStatistics;
 import br.com.adison.api_rest_testes.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,11 +28,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.*;
 
@@ -53,9 +78,28 @@ class UserServiceImplementTest {
     @Mock
     private UserRepository repository;
     @Mock
-    private ModelMapper mapper;
+    private UserMapper mapper;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private UserEmailIndex emailIndex;
+    @Mock
+    private UserSearchIndex searchIndex;
+    @Mock
+    private Validator validator;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private UserCreateQueue createQueue;
+    @Mock
+    private UserBatchLoader batchLoader;
+    @Mock
+    private UserStatistics statistics;
     public static final int INDEX = 0;
     public static final Integer ID = 1;
+    public static final Long VERSION = 3L;
     public static final String NOME = "nomeTeste";
     public static final String PASSWORD = "123";
     public static final String EMAIL = "emailTeste@gmail.com";
@@ -64,12 +108,16 @@ class UserServiceImplementTest {
     /**
      * @Finalidade: Metodo criado para inicializar os mocks desta/this classe,
      * e iniciar o metodo que foi feito para criar construtores aos objetos user
-     * para nao acontecer um lançamento de nullpointerexception.
+     * para nao acontecer um lançamento de nullpointerexception. O mapeamento do DTO para a entidade
+     * retorna o objeto users, pois o create valida a entidade antes de grava-la.
      */
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         startUser();
+        Mockito
+                .when(mapper.toEntity(any()))
+                .thenReturn(users);
     }
 
     /**
@@ -152,6 +200,29 @@ class UserServiceImplementTest {
         }
     }
 
+    /**
+     * @Funcionalidade_original_testada: Com o batchLoader ligado, a leitura do id passa pelo lote em vez
+     * do findById do repository. (findById)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o batchLoader como ligado e o load do ID retornando o optionalUser.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o usuario retornado eh o do lote.<p>
+     *
+     * @Verify: verifica que o findById do repository nao foi chamado.<p>
+     */
+    @Test
+    void whenFindByIdWithTheBatchLoaderEnabledThenLoadThroughTheBatch() {
+        Mockito.when(batchLoader.isEnabled()).thenReturn(true);
+        Mockito.when(batchLoader.load(ID)).thenReturn(optionalUser);
+
+        Users response = service.findById(ID);
+
+        Assertions.assertEquals(ID, response.getId());
+        Mockito.verify(repository, Mockito.never()).findById(Mockito.anyInt());
+    }
+
     /**
      * @Funcionalidade_original_testada: Retorna uma lista com todos os objetos users guardados
      * no banco. (findAll)<p>
@@ -199,6 +270,118 @@ class UserServiceImplementTest {
         Assertions.assertEquals(PASSWORD, response.get(INDEX).getPassword());
     }
 
+    /**
+     * @Funcionalidade_original_testada: Retorna uma pagina de objetos users posicionada apos o cursor
+     * informado, buscando um registro a mais que o limite para saber se existe proxima pagina. (findPage)<p>
+     *
+     * @Nomeacao: Quando executar "findPage" e existir mais registros que o limite entao retorne a pagina
+     * com o cursor da proxima pagina. (whenRunnigFindPageThenReturnAPageWithNextCursor)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockada a consulta por chave do repository retornando dois objetos users, um a mais
+     * que o limite 1 passado.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o conteudo da pagina tem apenas 1 objeto, o limite pedido.<p>
+     * * SEGUNDA: afirma que o id do objeto da pagina corresponde a ID.<p>
+     * * TERCEIRA: afirma que o cursor da proxima pagina corresponde ao cursor gerado para o ID.<p>
+     * * QUARTA: afirma que o cursor decodificado corresponde ao ID, ou seja, a proxima pagina comeca apos ele.<p>
+     *
+     * @Verify: verifica se a consulta foi feita a partir do id 0 (primeira pagina) pedindo limite + 1 registros.
+     */
+    @Test
+    void whenRunnigFindPageThenReturnAPageWithNextCursor() {
+        Mockito
+                .when(repository
+                        .findByIdGreaterThanOrderByIdAsc(anyInt(), any()))
+                .thenReturn(List.of(users, new Users(2, NOME, "outro@gmail.com", PASSWORD)));
+        CursorPage<Users> response = service.findPage(null, 1);
+
+        Assertions.assertEquals(1, response.getContent().size());
+        Assertions.assertEquals(ID, response.getContent().get(INDEX).getId());
+        Assertions.assertEquals(UserServiceImplement.encodeCursor(ID), response.getNextCursor());
+        Assertions.assertEquals(ID, UserServiceImplement.decodeCursor(response.getNextCursor()));
+
+        Mockito.verify(repository, Mockito.times(1))
+                .findByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 2));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Retorna a ultima pagina sem cursor quando a consulta devolve
+     * no maximo o limite de registros. (findPage)<p>
+     *
+     * @Nomeacao: Quando executar "findPage" na ultima pagina entao retorne a pagina sem cursor.
+     * (whenRunnigFindPageOnLastPageThenReturnANullCursor)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o conteudo da pagina tem o unico objeto retornado.<p>
+     * * SEGUNDA: afirma que o cursor da proxima pagina esta nulo.<p>
+     */
+    @Test
+    void whenRunnigFindPageOnLastPageThenReturnANullCursor() {
+        Mockito
+                .when(repository
+                        .findByIdGreaterThanOrderByIdAsc(anyInt(), any()))
+                .thenReturn(List.of(users));
+        CursorPage<Users> response = service.findPage(UserServiceImplement.encodeCursor(ID), 50);
+
+        Assertions.assertEquals(1, response.getContent().size());
+        Assertions.assertNull(response.getNextCursor());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Lanca uma exception quando o cursor recebido nao foi gerado
+     * pela api. (findPage e decodeCursor)<p>
+     *
+     * @Nomeacao: Quando executar "findPage" com cursor invalido entao retorne uma exception
+     * InvalidParameterException. (whenFindPageWithInvalidCursorThenReturnAnInvalidParameterException)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que a exception capturada eh igual a InvalidParameterException.class.<p>
+     * * SEGUNDA: afirma que a mensagem da exception corresponde a "Cursor inválido!".<p>
+     */
+    @Test
+    void whenFindPageWithInvalidCursorThenReturnAnInvalidParameterException() {
+        try {
+            service.findPage("cursor-invalido", 50);
+            Assertions.fail();
+        } catch (InvalidParameterException ex){
+            Assertions.assertEquals(InvalidParameterException.class, ex.getClass());
+            Assertions.assertEquals("Cursor inválido!", ex.getMessage());
+        }
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Percorre todos os objetos users do banco por meio de um Stream,
+     * entregando cada um ao consumer e desanexando a entidade do contexto de persistencia. (export)<p>
+     *
+     * @Nomeacao: Quando executar "export" entao entregue cada objeto users ao consumer.
+     * (whenRunnigExportThenDeliverEachUserToTheConsumer)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o Stream do repository retornando o objeto users.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o consumer recebeu apenas 1 objeto.<p>
+     * * SEGUNDA: afirma que o objeto recebido corresponde ao objeto users.<p>
+     *
+     * @Verify: verifica se o objeto users foi desanexado do contexto de persistencia apos ser entregue.
+     */
+    @Test
+    void whenRunnigExportThenDeliverEachUserToTheConsumer() {
+        Mockito
+                .when(repository
+                        .streamAll())
+                .thenReturn(Stream.of(users));
+        List<Users> response = new ArrayList<>();
+        service.export(response::add);
+
+        Assertions.assertEquals(1, response.size());
+        Assertions.assertEquals(users, response.get(INDEX));
+
+        Mockito.verify(entityManager, Mockito.times(1)).detach(users);
+    }
+
     /**
      * @Funcionalidade_original_testada: Cria um objeto um novo usuario no banco, ou seja, um
      * objeto do tipo users, caso nao tenha sucesso lanca uma exception por testar email duplicado.
@@ -285,6 +468,221 @@ class UserServiceImplementTest {
         }
     }
 
+    /**
+     * @Funcionalidade_original_testada: Cria um novo usuario sem consultar o e-mail no banco quando o
+     * indice de e-mails em memoria esta pronto e nao conhece o e-mail. (create e findByEmail)<p>
+     *
+     * @Nomeacao: Quando executar create com e-mail novo e indice pronto entao nao consulte o e-mail no banco.
+     * (whenRunnigCreateWithNewEmailThenSkipTheEmailQuery)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o indice como pronto, retornando nulo para o id do e-mail, ou seja, sem conhecer o e-mail.<p>
+     * * SEGUNDA: eh mockado o save do repository retornando o objeto users.<p>
+     *
+     * @Verify:
+     * * PRIMEIRA: verifica se o findByEmail do repository nunca foi chamado.<p>
+     * * SEGUNDA: verifica se o e-mail do usuario criado foi registrado no indice.<p>
+     */
+    @Test
+    void whenRunnigCreateWithNewEmailThenSkipTheEmailQuery() {
+        Mockito
+                .when(emailIndex.isReady())
+                .thenReturn(true);
+        Mockito
+                .when(emailIndex.idOf(anyString()))
+                .thenReturn(null);
+        Mockito
+                .when(repository
+                        .save(any()))
+                .thenReturn(users);
+        service.create(userDTO);
+
+        Mockito.verify(repository, Mockito.never()).findByEmail(anyString());
+        Mockito.verify(emailIndex, Mockito.times(1)).put(ID, EMAIL);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Converte a violacao da restricao unique do e-mail informada pelo
+     * banco na exception da aplicacao, caso o indice em memoria nao conheca o e-mail. (create e save)<p>
+     *
+     * @Nomeacao: Quando o banco recusar o e-mail duplicado entao retorne DataIntegratyViolationException.
+     * (whenRunnigCreateAndTheDatabaseRejectsTheEmailThenReturnAnDataIntegratyViolationException)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que a exception capturada eh igual a DataIntegratyViolationException.class.<p>
+     * * SEGUNDA: afirma que a mensagem da exception corresponde a "E-mail já cadastrado!".<p>
+     *
+     * @Verify: verifica se nada foi registrado no indice.
+     */
+    @Test
+    void whenRunnigCreateAndTheDatabaseRejectsTheEmailThenReturnAnDataIntegratyViolationException() {
+        Mockito
+                .when(emailIndex.isReady())
+                .thenReturn(true);
+        Mockito
+                .when(emailIndex.idOf(anyString()))
+                .thenReturn(null);
+        Mockito
+                .when(repository
+                        .save(any()))
+                .thenThrow(new org.springframework.dao.DataIntegrityViolationException("unique"));
+        try {
+            service.create(userDTO);
+            Assertions.fail();
+        } catch (DataIntegratyViolationException ex){
+            Assertions.assertEquals(DataIntegratyViolationException.class, ex.getClass());
+            Assertions.assertEquals("E-mail já cadastrado!", ex.getMessage());
+        }
+        Mockito.verify(emailIndex, Mockito.never()).put(any(), any());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Com a gravacao adiada ligada, o cadastro recebe o id reservado
+     * pela fila e eh entregue a ela, sem gravar no banco durante a requisicao. (create e enqueue)<p>
+     *
+     * @Nomeacao: Quando executar create com a gravacao adiada entao coloque o usuario na fila sem salvar.
+     * (whenRunnigCreateWithWriteBehindThenSubmitToTheQueueWithoutSaving)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockada a fila como ligada, reservando o id 42.<p>
+     * * SEGUNDA: eh mockado o indice como pronto e sem conhecer o e-mail.<p>
+     *
+     * @Assertions: afirma que o usuario retornado tem o id reservado e a versao inicial 0.<p>
+     *
+     * @Verify:
+     * * PRIMEIRA: verifica se o usuario foi entregue a fila.<p>
+     * * SEGUNDA: verifica se o save do repository nunca foi chamado.<p>
+     * * TERCEIRA: verifica se o e-mail foi registrado no indice com o id reservado.<p>
+     */
+    @Test
+    void whenRunnigCreateWithWriteBehindThenSubmitToTheQueueWithoutSaving() {
+        Mockito
+                .when(createQueue.isEnabled())
+                .thenReturn(true);
+        Mockito
+                .when(createQueue.reserveId())
+                .thenReturn(42);
+        Mockito
+                .when(emailIndex.isReady())
+                .thenReturn(true);
+        Users response = service.create(userDTO);
+
+        Assertions.assertEquals(42, response.getId());
+        Assertions.assertEquals(0L, response.getVersion());
+        Mockito.verify(createQueue, Mockito.times(1)).submit(users);
+        Mockito.verify(repository, Mockito.never()).save(any());
+        Mockito.verify(emailIndex, Mockito.times(1)).put(42, EMAIL);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Recusa o corpo invalido antes de gravar, com a mesma exception da
+     * gravacao adiada, em vez de deixar a transacao falhar. (create e validate)<p>
+     *
+     * @Nomeacao: Quando executar create com o nome vazio entao retorne InvalidParameterException.
+     * (whenRunnigCreateWithInvalidBodyThenReturnAnInvalidParameterException)<p>
+     *
+     * @Mockito: eh usado o validador real do Bean Validation e mockado o mapeamento para um usuario sem nome.<p>
+     *
+     * @Assertions: afirma que a mensagem da exception informa o campo name.<p>
+     *
+     * @Verify: verifica se o save do repository nunca foi chamado.
+     */
+    @Test
+    void whenRunnigCreateWithInvalidBodyThenReturnAnInvalidParameterException() {
+        ReflectionTestUtils.setField(service, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        Mockito
+                .when(mapper.toEntity(any()))
+                .thenReturn(new Users(null, "", EMAIL, PASSWORD));
+
+        InvalidParameterException ex = Assertions.assertThrows(InvalidParameterException.class,
+                () -> service.create(userDTO));
+
+        Assertions.assertEquals("name: " + Users.CAMPO_OBRIGATORIO, ex.getMessage());
+        Mockito.verify(repository, Mockito.never()).save(any());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Recusa o e-mail que pertence a um cadastro ainda na fila de
+     * gravacao adiada, que o banco e o indice ainda nao conhecem. (create e findByEmail)<p>
+     *
+     * @Nomeacao: Quando executar create com o e-mail de um cadastro pendente entao retorne
+     * DataIntegratyViolationException. (whenRunnigCreateWithAPendingEmailThenReturnAnDataIntegratyViolationException)<p>
+     *
+     * @Mockito: eh mockada a fila informando que o e-mail pertence a outro cadastro pendente.<p>
+     *
+     * @Assertions: afirma que a exception capturada eh DataIntegratyViolationException.<p>
+     *
+     * @Verify: verifica se nada foi entregue a fila.
+     */
+    @Test
+    void whenRunnigCreateWithAPendingEmailThenReturnAnDataIntegratyViolationException() {
+        Mockito
+                .when(createQueue.isEnabled())
+                .thenReturn(true);
+        Mockito
+                .when(createQueue.isPendingEmail(EMAIL, ID))
+                .thenReturn(true);
+
+        Assertions.assertThrows(DataIntegratyViolationException.class, () -> service.create(userDTO));
+        Mockito.verify(createQueue, Mockito.never()).submit(any());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Cria em lote os usuarios recebidos, recusando os e-mails ja
+     * cadastrados no banco e os repetidos dentro do proprio lote. (createAll)<p>
+     *
+     * @Nomeacao: Quando executar "createAll" entao retorne o resultado de cada item na ordem recebida.
+     * (whenRunnigCreateAllThenReturnTheResultOfEachItem)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o mapeamento de cada userDTO para um objeto users com os mesmos dados.<p>
+     * * SEGUNDA: eh mockada a consulta "in" do repository informando que "cadastrado@gmail.com" ja existe.<p>
+     * * TERCEIRA: eh mockada a transacao executando a gravacao recebida.<p>
+     * * QUARTA: eh mockado o persist do entityManager gerando o id 10 para o usuario gravado.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o primeiro item foi criado com o id 10.<p>
+     * * SEGUNDA: afirma que o segundo item foi recusado pelo e-mail ja cadastrado no banco.<p>
+     * * TERCEIRA: afirma que o terceiro item foi recusado pelo e-mail repetido no lote.<p>
+     *
+     * @Verify: verifica se a consulta de e-mails foi feita apenas uma vez para o lote inteiro.
+     */
+    @Test
+    void whenRunnigCreateAllThenReturnTheResultOfEachItem() {
+        Mockito
+                .when(mapper.toEntity(any()))
+                .thenAnswer(invocation -> {
+                    UserDTO object = invocation.getArgument(0);
+                    return new Users(object.getId(), object.getName(), object.getEmail(), object.getPassword());
+                });
+        Mockito
+                .when(repository.findExistingEmails(any()))
+                .thenReturn(List.of("cadastrado@gmail.com"));
+        Mockito
+                .doAnswer(invocation -> {
+                    Consumer<Object> callback = invocation.getArgument(0);
+                    callback.accept(null);
+                    return null;
+                })
+                .when(transactionTemplate).executeWithoutResult(any());
+        Mockito
+                .doAnswer(invocation -> {
+                    invocation.<Users>getArgument(0).setId(10);
+                    return null;
+                })
+                .when(entityManager).persist(any());
+
+        List<BatchItemResult> response = service.createAll(List.of(
+                userDTO,
+                new UserDTO(null, NOME, "cadastrado@gmail.com", PASSWORD),
+                new UserDTO(null, NOME, EMAIL, PASSWORD)));
+
+        Assertions.assertEquals(new BatchItemResult(0, BatchItemResult.Status.CREATED, 10, null), response.get(0));
+        Assertions.assertEquals(BatchItemResult.Status.DUPLICATED_EMAIL, response.get(1).getStatus());
+        Assertions.assertEquals(BatchItemResult.Status.DUPLICATED_EMAIL, response.get(2).getStatus());
+        Mockito.verify(repository, Mockito.times(1)).findExistingEmails(any());
+    }
+
     /**
      * @Funcionalidade_original_testada: Atualiza um objeto, um usuário existente no banco, ou seja,
      * um objeto do tipo users, caso tenha email duplicado lança uma exception pelo teste feito antes.
@@ -294,8 +692,8 @@ class UserServiceImplementTest {
      * (whenRunnigUpdateThenReturnSucess).<p>
      *
      * @Mockito:
-     * * PRIMEIRA: eh mockado o retorno do metodo update de repository passando
-     * qualquer numero inteiro como id entao retorne o objeto sers.<p>
+     * * PRIMEIRA: eh mockado o mapeamento do userDTO para o objeto users.<p>
+     * * SEGUNDA: eh mockado o update condicional do repository informando uma linha alterada.<p>
      *
      * @Response: Eh chamado o metodo "update" da classe UserServiceImplement testada ,passando o userDTO estatico,
      * guardando seu objeto em "response" para testar.<p>
@@ -313,14 +711,19 @@ class UserServiceImplementTest {
      *
      * @Assertions_notNull: Verifica se o objeto da classe passada nao esta nulo.<p>
      *
+     * @Verify: verifica que o usuario foi gravado por um unico update, sem a busca da versao nem o save.
      */
     @Test
     void whenRunnigUpdateThenReturnSucess() {
         Mockito
-                .when(repository
-                        .save(any()))
+                .when(mapper
+                        .toEntity(any()))
                 .thenReturn(users);
-        Users response = service.update(userDTO);
+        Mockito
+                .when(repository
+                        .updatePartially(anyInt(), any(), any(), any(), any()))
+                .thenReturn(1);
+        Users response = service.update(userDTO, null);
 
         Assertions.assertNotNull(response);
         Assertions.assertEquals(Users.class, response.getClass());
@@ -329,6 +732,10 @@ class UserServiceImplementTest {
         Assertions.assertEquals(NOME, response.getName());
         Assertions.assertEquals(EMAIL, response.getEmail());
         Assertions.assertEquals(PASSWORD, response.getPassword());
+
+        Mockito.verify(repository, Mockito.times(1)).updatePartially(ID, null, NOME, EMAIL, PASSWORD);
+        Mockito.verify(repository, Mockito.never()).findVersionById(anyInt());
+        Mockito.verify(repository, Mockito.never()).save(any());
     }
 
     /**
@@ -361,62 +768,90 @@ class UserServiceImplementTest {
 
         try {
             optionalUser.get().setId(2);
-            service.update(userDTO);
+            service.update(userDTO, null);
         }catch (Exception ex){
             Assertions.assertEquals(DataIntegratyViolationException.class, ex.getClass());
             Assertions.assertEquals("E-mail já cadastrado!", ex.getMessage());
         }
     }
 
-/**
-     * @Funcionalidade_original_testada: Deleta um objeto users do banco, mas antes verifica se o
-     * objeto indicado no parametro para ser deletado existe por meio do metodo findById, caso
-     * exista o objeto eh deletado nao exista lanca uma exception. (delete).<p>
+    /**
+     * @Funcionalidade_original_testada: Deleta um objeto users do banco com um unico comando delete,
+     * que informa quantas linhas foram excluidas, caso nenhuma linha seja excluida lanca uma
+     * exception. (delete).<p>
      *
      * @Descricao: Quando executar delete remove o users com sucesso no banco,
      * (whenRunnigDeleteThenReturnSucess).<p>
      *
-     * @Mockito_when: Na primeira parte do teste eh feito um mock do objeto optionalUser no repository
-     * para nao apresentar a exception de email duplicado e passar no teste findById, pois esse
-     * teste e de sucesso para deletar.<p>
-     *
-     * @Mockito_doNothing: Esse comando do mockito indica para fazer nada quando chamar o metodo deleteById
-     * do repository passando qualquer número de id, "anyInt".<p>
+     * @Mockito: eh mockado o delete do repository informando uma linha excluida.<p>
      *
      * @Service: Apos preparar os dados mockados eh chamado o método delete do objeto "service"
      * passando o ID estatico criado.
      *
      * @Verify: Como esse método nao tem retorno eh preciso "verificar" no repository quantas vezes
-     * ele foi chamado usando o metodo deleteById, precisa ser apenas uma vez.
+     * ele foi chamado usando o metodo deleteByIdReturningCount, precisa ser apenas uma vez, e que a
+     * busca previa por findById nunca foi executada.
      *
      */
     @Test
     void whenRunnigDeleteThenReturnSucess() {
         Mockito
                 .when(repository
-                        .findById(anyInt()))
-                .thenReturn(optionalUser);
-
-        Mockito
-                .doNothing().when(repository).deleteById(anyInt());
+                        .deleteByIdReturningCount(anyInt()))
+                .thenReturn(1);
 
-        service.delete(ID);
+        service.delete(ID, null);
 
         Mockito.verify(repository, Mockito.times(1))
-                .deleteById(anyInt());
+                .deleteByIdReturningCount(ID);
+        Mockito.verify(repository, Mockito.never()).findById(anyInt());
+        Mockito.verify(repository, Mockito.never()).deleteById(anyInt());
+        Mockito.verify(searchIndex).remove(ID);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: O update informa as estatisticas da troca de e-mail, com o e-mail
+     * anterior vindo do indice, o delete desconta o e-mail excluido e o stats retorna os contadores.
+     * (update, delete e stats)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o indice de e-mails retornando "antigo@empresa.com" como e-mail anterior, e o
+     * EMAIL na exclusao.<p>
+     * * SEGUNDA: eh mockado o update e o delete do repository informando uma linha alterada.<p>
+     * * TERCEIRA: eh mockado o snapshot das estatisticas.<p>
+     *
+     * @Assertions: afirma que o stats retorna o snapshot das estatisticas.<p>
+     *
+     * @Verify: verifica a troca de e-mail e a exclusao informadas as estatisticas.<p>
+     */
+    @Test
+    void whenRunnigUpdateAndDeleteThenKeepTheStatisticsAndReturnThemOnStats() {
+        UserStats stats = new UserStats(1, Map.of("gmail.com", 1L));
+        Mockito.when(mapper.toEntity(any())).thenReturn(users);
+        Mockito.when(emailIndex.put(ID, EMAIL)).thenReturn("antigo@empresa.com");
+        Mockito.when(emailIndex.remove(ID)).thenReturn(EMAIL);
+        Mockito.when(repository.updatePartially(anyInt(), any(), any(), any(), any())).thenReturn(1);
+        Mockito.when(repository.deleteByIdReturningCount(anyInt())).thenReturn(1);
+        Mockito.when(statistics.snapshot()).thenReturn(stats);
+
+        service.update(userDTO, null);
+        service.delete(ID, null);
+
+        Assertions.assertEquals(stats, service.stats());
+        Mockito.verify(statistics).changed("antigo@empresa.com", EMAIL);
+        Mockito.verify(statistics).removed(EMAIL);
     }
 
     /**
-     * @Funcionalidade_original_testada: Deleta um objeto users do banco, mas antes verifica se o
-     * objeto indicado no parametro para ser deletado existe por meio do metodo findById, caso
-     * exista o objeto eh deletado nao exista lanca uma exception. (delete e findById).<p>
+     * @Funcionalidade_original_testada: Deleta um objeto users do banco com um unico comando delete,
+     * caso nenhuma linha seja excluida e o usuario nao exista lanca uma exception. (delete).<p>
      *
      * @Descricao: Quando executar delete nao remove o users do banco e lanca uma exception,
      * (whenRunnigDeleteThenReturnAnObjectNotFoundException).<p>
      *
-     * @Mockito: Eh feito um mock do objeto optionalUser no repository porem seu retorno deve ser
-     * o lancamento de uma exception, pois esse teste não eh de sucesso para deletar mas para
-     * testar a exception lancada.<p>
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o delete do repository informando zero linhas excluidas.<p>
+     * * SEGUNDA: eh mockada a busca da versao terminando vazia, pois o usuario nao existe.<p>
      *
      * @Try: Eh tentada a execucao do metodo "delete" por meio do service passando
      * o ID estatico que vai gerar a exception mockada, essa exception vai ser capturada
@@ -433,16 +868,456 @@ class UserServiceImplementTest {
     @Test
     void  whenRunnigDeleteThenReturnAnObjectNotFoundException(){
         Mockito
-                .when(repository.findById(anyInt()))
-                .thenThrow(new ObjectNotFoundException("Objeto não encontrado!"));
+                .when(repository.deleteByIdReturningCount(anyInt()))
+                .thenReturn(0);
+        Mockito
+                .when(repository.findVersionById(anyInt()))
+                .thenReturn(Optional.empty());
         try {
-            service.delete(ID);
+            service.delete(ID, null);
+            Assertions.fail("delete deveria lancar ObjectNotFoundException");
         }catch (Exception ex){
             Assertions.assertEquals(ObjectNotFoundException.class, ex.getClass());
             Assertions.assertEquals("Objeto não encontrado!", ex.getMessage());
         }
     }
 
+    /**
+     * @Funcionalidade_original_testada: Retorna a versao atual do usuario, lida do cache "users" quando
+     * ele ja esta guardado, sem consultar o banco. (findVersion)<p>
+     *
+     * @Nomeacao: Quando executar findVersion com o usuario no cache retorna a versao do cache.
+     * (whenRunnigFindVersionWithCachedUserThenReturnTheCachedVersion)<p>
+     *
+     * @Mockito: eh mockado o cacheManager retornando um cache em memoria com o usuario na versao VERSION.<p>
+     *
+     * @Assertions: afirma que a versao retornada corresponde a VERSION.<p>
+     *
+     * @Verify: verifica que a consulta da versao no repository nunca foi executada.
+     */
+    @Test
+    void whenRunnigFindVersionWithCachedUserThenReturnTheCachedVersion() {
+        ConcurrentMapCache cache = new ConcurrentMapCache(UserServiceImplement.USERS_CACHE);
+        cache.put(ID, new Users(ID, NOME, EMAIL, PASSWORD, VERSION));
+        Mockito
+                .when(cacheManager.getCache(UserServiceImplement.USERS_CACHE))
+                .thenReturn(cache);
+
+        Assertions.assertEquals(VERSION, service.findVersion(ID));
+        Mockito.verify(repository, Mockito.never()).findVersionById(anyInt());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Recusa a atualizacao quando a versao do If-Match nao eh mais a
+     * versao atual do usuario. (update)<p>
+     *
+     * @Nomeacao: Quando executar update com versao desatualizada retorna uma exception de pre-condicao.
+     * (whenRunnigUpdateWithStaleVersionThenReturnAnPreconditionFailedException)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o update condicional do repository informando zero linhas alteradas.<p>
+     * * SEGUNDA: eh mockada a versao atual do usuario no repository (VERSION).<p>
+     *
+     * @Assertions: afirma que a exception lancada eh PreconditionFailedException com a mensagem
+     * VERSAO_DESATUALIZADA.<p>
+     *
+     * @Verify: verifica que o indice de e-mails nao foi alterado.
+     */
+    @Test
+    void whenRunnigUpdateWithStaleVersionThenReturnAnPreconditionFailedException() {
+        Mockito
+                .when(repository.updatePartially(anyInt(), any(), any(), any(), any()))
+                .thenReturn(0);
+        Mockito
+                .when(repository.findVersionById(anyInt()))
+                .thenReturn(Optional.of(VERSION));
+
+        PreconditionFailedException ex = Assertions.assertThrows(PreconditionFailedException.class,
+                () -> service.update(userDTO, VERSION - 1));
+
+        Assertions.assertEquals(UserServiceImplement.VERSAO_DESATUALIZADA, ex.getMessage());
+        Mockito.verify(emailIndex, Mockito.never()).put(anyInt(), anyString());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Recusa a exclusao condicional quando outra requisicao alterou o
+     * usuario entre a verificacao da versao e o comando delete. (delete)<p>
+     *
+     * @Nomeacao: Quando executar delete com versao e nenhuma linha for excluida retorna uma exception de
+     * pre-condicao. (whenRunnigDeleteWithVersionAndNoRowDeletedThenReturnAnPreconditionFailedException)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockada a versao atual do usuario no repository (VERSION).<p>
+     * * SEGUNDA: eh mockado o delete condicional do repository retornando zero linhas excluidas.<p>
+     *
+     * @Assertions: afirma que a exception lancada eh PreconditionFailedException.<p>
+     *
+     * @Verify: verifica que o indice de e-mails nao foi alterado.
+     */
+    @Test
+    void whenRunnigDeleteWithVersionAndNoRowDeletedThenReturnAnPreconditionFailedException() {
+        Mockito
+                .when(repository.findVersionById(anyInt()))
+                .thenReturn(Optional.of(VERSION));
+        Mockito
+                .when(repository.deleteByIdAndVersion(anyInt(), anyLong()))
+                .thenReturn(0);
+
+        Assertions.assertThrows(PreconditionFailedException.class, () -> service.delete(ID, VERSION));
+        Mockito.verify(emailIndex, Mockito.never()).remove(anyInt());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Altera apenas o nome do usuario com um unico update, sem
+     * consultar o e-mail. (patch)<p>
+     *
+     * @Nomeacao: Quando executar patch somente com o nome retorna a nova versao sem consultar o e-mail.
+     * (whenRunnigPatchWithOnlyNameThenUpdateWithoutCheckingTheEmail)<p>
+     *
+     * @Mockito: eh mockado o update parcial do repository informando uma linha alterada.<p>
+     *
+     * @Assertions: afirma que a versao retornada eh a versao informada mais um.<p>
+     *
+     * @Verify:
+     * * PRIMEIRA: verifica se o update parcial recebeu apenas o nome.<p>
+     * * SEGUNDA: verifica que a busca por e-mail nunca foi executada.<p>
+     * * TERCEIRA: verifica que o indice de busca recebeu apenas o nome novo.<p>
+     */
+    @Test
+    void whenRunnigPatchWithOnlyNameThenUpdateWithoutCheckingTheEmail() {
+        Mockito
+                .when(repository.updatePartially(anyInt(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        Long response = service.patch(new UserDTO(ID, NOME, null, null), VERSION);
+
+        Assertions.assertEquals(VERSION + 1, response);
+        Mockito.verify(repository, Mockito.times(1)).updatePartially(ID, VERSION, NOME, null, null);
+        Mockito.verify(repository, Mockito.never()).findByEmail(anyString());
+        Mockito.verify(searchIndex).put(ID, NOME, null);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Diferencia um id inexistente quando o update parcial nao altera
+     * nenhuma linha. (patch)<p>
+     *
+     * @Nomeacao: Quando executar patch de um id inexistente retorna uma exception de objeto nao encontrado.
+     * (whenRunnigPatchWithUnknownIdThenReturnAnObjectNotFoundException)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o update parcial do repository informando zero linhas alteradas.<p>
+     * * SEGUNDA: eh mockada a consulta da versao terminando vazia.<p>
+     *
+     * @Assertions: afirma que a exception lancada eh ObjectNotFoundException.
+     */
+    @Test
+    void whenRunnigPatchWithUnknownIdThenReturnAnObjectNotFoundException() {
+        Mockito
+                .when(repository.updatePartially(anyInt(), any(), any(), any(), any()))
+                .thenReturn(0);
+        Mockito
+                .when(repository.findVersionById(anyInt()))
+                .thenReturn(Optional.empty());
+
+        Assertions.assertThrows(ObjectNotFoundException.class,
+                () -> service.patch(new UserDTO(ID, NOME, null, null), null));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Recusa um campo informado vazio no patch. (patch)<p>
+     *
+     * @Nomeacao: Quando executar patch com o nome vazio retorna uma exception de parametro invalido.
+     * (whenRunnigPatchWithBlankNameThenReturnAnInvalidParameterException)<p>
+     *
+     * @Assertions: afirma que a exception lancada eh InvalidParameterException.<p>
+     *
+     * @Verify: verifica que o update parcial nunca foi executado.
+     */
+    @Test
+    void whenRunnigPatchWithBlankNameThenReturnAnInvalidParameterException() {
+        Assertions.assertThrows(InvalidParameterException.class,
+                () -> service.patch(new UserDTO(ID, "", null, null), null));
+        Mockito.verify(repository, Mockito.never()).updatePartially(anyInt(), any(), any(), any(), any());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Retorna apenas os campos pedidos do usuario, buscados no banco
+     * quando ele nao esta no cache, na ordem de PROJECTABLE_FIELDS. (findFieldsById)<p>
+     *
+     * @Nomeacao: Quando executar findFieldsById retorna o mapa com os campos pedidos.
+     * (whenRunnigFindFieldsByIdThenReturnOnlyTheRequestedFields)<p>
+     *
+     * @Mockito: eh mockada a consulta de campos do repository retornando id e nome.<p>
+     *
+     * @Assertions: afirma que o response corresponde ao mapa retornado pelo repository.<p>
+     *
+     * @Verify: verifica que o repository recebeu os campos em ordem, sem repeticoes, e que o findById
+     * nunca foi executado.
+     */
+    @Test
+    void whenRunnigFindFieldsByIdThenReturnOnlyTheRequestedFields() {
+        Map<String, Object> fields = new LinkedHashMap<>(Map.of("id", ID));
+        fields.put("name", NOME);
+        Mockito
+                .when(repository.findFieldsById(anyInt(), anyList()))
+                .thenReturn(Optional.of(fields));
+
+        Map<String, Object> response = service.findFieldsById(ID, "name, id,name");
+
+        Assertions.assertEquals(fields, response);
+        Mockito.verify(repository, Mockito.times(1)).findFieldsById(ID, List.of("id", "name"));
+        Mockito.verify(repository, Mockito.never()).findById(anyInt());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Retorna os campos de um usuario ainda na fila de gravacao adiada,
+     * como o findById, sem consultar o banco. (findFieldsById)<p>
+     *
+     * @Nomeacao: Quando executar findFieldsById de um cadastro pendente retorna os campos do pendente.
+     * (whenRunnigFindFieldsByIdWithAPendingUserThenReturnItsFields)<p>
+     *
+     * @Mockito: eh mockada a fila retornando o objeto users como pendente.<p>
+     *
+     * @Assertions: afirma que o response traz o id e o nome do usuario pendente.<p>
+     *
+     * @Verify: verifica que a consulta de campos do repository nunca foi executada.
+     */
+    @Test
+    void whenRunnigFindFieldsByIdWithAPendingUserThenReturnItsFields() {
+        Mockito
+                .when(createQueue.pending(ID))
+                .thenReturn(users);
+
+        Map<String, Object> response = service.findFieldsById(ID, "id,name");
+
+        Assertions.assertEquals(Map.of("id", ID, "name", NOME), response);
+        Mockito.verify(repository, Mockito.never()).findFieldsById(anyInt(), anyList());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Recusa um campo que nao pode ser projetado, como a senha.
+     * (findFieldsById)<p>
+     *
+     * @Nomeacao: Quando executar findFieldsById pedindo a senha retorna uma exception de parametro invalido.
+     * (whenRunnigFindFieldsByIdWithPasswordThenReturnAnInvalidParameterException)<p>
+     *
+     * @Assertions: afirma que a exception lancada eh InvalidParameterException com a mensagem CAMPOS_INVALIDOS.<p>
+     *
+     * @Verify: verifica que o banco nunca foi consultado.
+     */
+    @Test
+    void whenRunnigFindFieldsByIdWithPasswordThenReturnAnInvalidParameterException() {
+        InvalidParameterException ex = Assertions.assertThrows(InvalidParameterException.class,
+                () -> service.findFieldsById(ID, "id,password"));
+
+        Assertions.assertEquals(UserServiceImplement.CAMPOS_INVALIDOS, ex.getMessage());
+        Mockito.verify(repository, Mockito.never()).findFieldsById(anyInt(), anyList());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Pagina os campos pedidos por cursor, gerando o cursor pelo id
+     * mesmo quando o id nao foi pedido. (findFieldsPage)<p>
+     *
+     * @Nomeacao: Quando executar findFieldsPage sem o id retorna a pagina sem o id e com o proximo cursor.
+     * (whenRunnigFindFieldsPageWithoutIdThenReturnThePageWithNextCursor)<p>
+     *
+     * @Mockito: eh mockada a consulta de campos do repository retornando dois usuarios para o limite um.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que a pagina tem um usuario, apenas com o nome.<p>
+     * * SEGUNDA: afirma que o proximo cursor corresponde ao id do ultimo usuario da pagina.<p>
+     */
+    @Test
+    void whenRunnigFindFieldsPageWithoutIdThenReturnThePageWithNextCursor() {
+        Map<String, Object> first = new LinkedHashMap<>(Map.of("id", ID));
+        first.put("name", NOME);
+        Map<String, Object> second = new LinkedHashMap<>(Map.of("id", ID + 1));
+        second.put("name", NOME);
+        Mockito
+                .when(repository.findFieldsAfter(anyInt(), anyList(), anyInt()))
+                .thenReturn(List.of(first, second));
+
+        CursorPage<Map<String, Object>> response = service.findFieldsPage(null, 1, "name");
+
+        Assertions.assertEquals(List.of(Map.of("name", NOME)), response.getContent());
+        Assertions.assertEquals(UserServiceImplement.encodeCursor(ID), response.getNextCursor());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Busca por prefixo sem diferenciar maiusculas, ordenando pelo e-mail
+     * quando ele eh informado e gerando o cursor com o id e o e-mail em minusculas. (search)<p>
+     *
+     * @Nomeacao: Quando executar search com nome e e-mail retorna a pagina com o proximo cursor.
+     * (whenRunnigSearchThenReturnAPageWithNextCursor)<p>
+     *
+     * @Mockito: eh mockada a busca do repository retornando dois usuarios para o limite um.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que a pagina tem apenas o primeiro usuario.<p>
+     * * SEGUNDA: afirma que o proximo cursor corresponde ao id e ao e-mail em minusculas do ultimo usuario.<p>
+     *
+     * @Verify: verifica que o repository recebeu os prefixos em minusculas, sem cursor e com o limite mais um.
+     */
+    @Test
+    void whenRunnigSearchThenReturnAPageWithNextCursor() {
+        Mockito
+                .when(repository.searchByPrefix(anyString(), anyString(), any(), any(), anyInt()))
+                .thenReturn(List.of(users, new Users(ID + 1, NOME, "emailTeste2@gmail.com", PASSWORD)));
+
+        CursorPage<Users> response = service.search("NOME", " EmailTeste ", null, 1);
+
+        Assertions.assertEquals(List.of(users), response.getContent());
+        Assertions.assertEquals(UserServiceImplement.encodeSearchCursor(ID, EMAIL.toLowerCase()), response.getNextCursor());
+        Mockito.verify(repository).searchByPrefix("nome", "emailteste", null, null, 2);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Continua a busca a partir do cursor recebido. (search)<p>
+     *
+     * @Nomeacao: Quando executar search com cursor consulta apos o ultimo usuario e retorna o cursor nulo
+     * na ultima pagina. (whenRunnigSearchWithCursorThenQueryAfterTheLastUserAndReturnANullCursor)<p>
+     *
+     * @Mockito: eh mockada a busca do repository retornando um usuario.<p>
+     *
+     * @Assertions: afirma que o proximo cursor eh nulo.<p>
+     *
+     * @Verify: verifica que o repository recebeu o valor e o id guardados no cursor.
+     */
+    @Test
+    void whenRunnigSearchWithCursorThenQueryAfterTheLastUserAndReturnANullCursor() {
+        Mockito
+                .when(repository.searchByPrefix(anyString(), any(), anyString(), anyInt(), anyInt()))
+                .thenReturn(List.of(users));
+
+        CursorPage<Users> response = service.search("nome", null,
+                UserServiceImplement.encodeSearchCursor(ID, "nome:teste"), 10);
+
+        Assertions.assertNull(response.getNextCursor());
+        Mockito.verify(repository).searchByPrefix("nome", null, "nome:teste", ID, 11);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Recusa a busca sem nenhum prefixo e o cursor da paginacao comum.
+     * (search)<p>
+     *
+     * @Nomeacao: Quando executar search sem filtro ou com cursor invalido retorna uma exception de parametro
+     * invalido. (whenRunnigSearchWithoutFilterOrWithInvalidCursorThenReturnAnInvalidParameterException)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que a busca sem prefixo lanca InvalidParameterException com a mensagem BUSCA_SEM_FILTRO.<p>
+     * * SEGUNDA: afirma que o cursor do findPage eh recusado pela busca.<p>
+     *
+     * @Verify: verifica que o banco nunca foi consultado.
+     */
+    @Test
+    void whenRunnigSearchWithoutFilterOrWithInvalidCursorThenReturnAnInvalidParameterException() {
+        InvalidParameterException ex = Assertions.assertThrows(InvalidParameterException.class,
+                () -> service.search(" ", null, null, 10));
+        Assertions.assertEquals(UserServiceImplement.BUSCA_SEM_FILTRO, ex.getMessage());
+
+        Assertions.assertThrows(InvalidParameterException.class,
+                () -> service.search(NOME, null, UserServiceImplement.encodeCursor(ID), 10));
+        Mockito.verify(repository, Mockito.never()).searchByPrefix(any(), any(), any(), any(), anyInt());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Responde a busca tolerante a erros de digitacao pelo indice em
+     * memoria, sem consultar o banco, e recusa a busca sem texto. (fuzzySearch)<p>
+     *
+     * @Nomeacao: Quando executar fuzzySearch retorna o resultado do indice com o limite ajustado.
+     * (whenRunnigFuzzySearchThenReturnTheIndexHitsWithoutQueryingTheDatabase)<p>
+     *
+     * @Mockito: eh mockada a busca do indice retornando um resultado para o limite maximo.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o resultado eh o retornado pelo indice, com o limite reduzido a MAX_PAGE_SIZE.<p>
+     * * SEGUNDA: afirma que a busca sem texto lanca InvalidParameterException com a mensagem BUSCA_SEM_TEXTO.<p>
+     *
+     * @Verify: verifica que o repository nunca foi usado.
+     */
+    @Test
+    void whenRunnigFuzzySearchThenReturnTheIndexHitsWithoutQueryingTheDatabase() {
+        List<UserSearchHit> hits = List.of(new UserSearchHit(ID, NOME, EMAIL, 0.5));
+        Mockito
+                .when(searchIndex.search("nomeTset", UserServiceImplement.MAX_PAGE_SIZE))
+                .thenReturn(hits);
+
+        Assertions.assertEquals(hits, service.fuzzySearch("nomeTset", 10_000));
+        InvalidParameterException ex = Assertions.assertThrows(InvalidParameterException.class,
+                () -> service.fuzzySearch(" ", 10));
+        Assertions.assertEquals(UserServiceImplement.BUSCA_SEM_TEXTO, ex.getMessage());
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Retorna os usuarios dos ids pedidos na ordem do pedido, sem
+     * repetidos, com os ids inexistentes em missing, lendo do banco apenas os que nao estao no cache.
+     * (findAllById)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: o cache "users" guarda o usuario 2.<p>
+     * * SEGUNDA: eh mockado o findAllById do repository retornando apenas o usuario 1 (o 3 nao existe).<p>
+     * * TERCEIRA: eh mockado o toDTO do mapper convertendo o usuario recebido.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o conteudo traz os usuarios 1 e 2, na ordem do pedido.<p>
+     * * SEGUNDA: afirma que o id 3 esta em missing.<p>
+     *
+     * @Verify: verifica que o banco foi consultado uma vez, apenas com os ids 3 e 1.<p>
+     */
+    @Test
+    void whenRunnigFindAllByIdThenReturnTheUsersInTheRequestedOrderAndTheMissingIds() {
+        ConcurrentMapCache cache = new ConcurrentMapCache(UserServiceImplement.USERS_CACHE);
+        cache.put(2, new Users(2, NOME, "outro@gmail.com", PASSWORD));
+        Mockito
+                .when(cacheManager.getCache(UserServiceImplement.USERS_CACHE))
+                .thenReturn(cache);
+        Mockito
+                .when(repository.findAllById(List.of(3, 1)))
+                .thenReturn(List.of(users));
+        Mockito
+                .when(mapper.toDTO(any()))
+                .thenAnswer(invocation -> {
+                    Users object = invocation.getArgument(0);
+                    return new UserDTO(object.getId(), object.getName(), object.getEmail(), object.getPassword());
+                });
+
+        MultiGetResult response = service.findAllById(List.of(3, 1, 2, 3, 1));
+
+        Assertions.assertEquals(List.of(1, 2), response.getContent().stream().map(UserDTO::getId).toList());
+        Assertions.assertEquals(List.of(3), response.getMissing());
+        Mockito.verify(repository, Mockito.times(1)).findAllById(anyIterable());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Os ids sao buscados em blocos de ID_QUERY_CHUNK, e um pedido vazio
+     * ou com mais de MAX_MULTI_GET_IDS ids eh recusado. (findAllById)<p>
+     *
+     * @Mockito: eh mockado o findAllById do repository retornando uma lista vazia.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que todos os MAX_MULTI_GET_IDS ids estao em missing.<p>
+     * * SEGUNDA: afirma que o pedido vazio e o pedido grande demais lancam InvalidParameterException.<p>
+     *
+     * @Verify: verifica que o banco foi consultado uma vez por bloco.<p>
+     */
+    @Test
+    void whenRunnigFindAllByIdThenQueryInChunksAndRejectInvalidRequests() {
+        Mockito
+                .when(repository.findAllById(anyIterable()))
+                .thenReturn(List.of());
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= UserServiceImplement.MAX_MULTI_GET_IDS; id++)
+            ids.add(id);
+
+        Assertions.assertEquals(ids, service.findAllById(ids).getMissing());
+        Mockito.verify(repository, Mockito.times(UserServiceImplement.MAX_MULTI_GET_IDS / UserServiceImplement.ID_QUERY_CHUNK))
+                .findAllById(anyIterable());
+        ids.add(0);
+        Assertions.assertThrows(InvalidParameterException.class, () -> service.findAllById(ids));
+        Assertions.assertThrows(InvalidParameterException.class, () -> service.findAllById(List.of()));
+    }
+
     /**
      * @Finalidade: Metodo de inicializacao dos objetos users, caso nao sejam iniciados
      * ao serem usados acontece uma exception do tipo nullpointerexception.<p>
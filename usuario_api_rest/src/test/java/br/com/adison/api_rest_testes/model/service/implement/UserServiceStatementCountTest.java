@@ -0,0 +1,119 @@
+package br.com.adison.api_rest_testes.model.service.implement;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserDTO;
+import br.com.adison.api_rest_testes.model.service.UserService;
+import br.com.adison.api_rest_testes.model.service.exceptions.ObjectNotFoundException;
+import br.com.adison.api_rest_testes.model.service.exceptions.PreconditionFailedException;
+import br.com.adison.api_rest_testes.support.SqlStatementRecorder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+/**
+ * @Resumo: Classe criada para contar os comandos SQL que o update e o delete de UserServiceImplement
+ * enviam ao banco. O servico eh o bean do Spring sobre o banco H2 real e o SqlStatementRecorder registra
+ * cada comando executado, assim o teste falha se o caminho de sucesso voltar a ler o usuario antes de
+ * grava-lo ou exclui-lo.<p>
+ *
+ * @Instancias:
+ * * service (bean do servico de usuarios)<p>
+ * * recorder (registro dos comandos SQL executados)<p>
+ * * users (usuario criado no banco antes de cada teste)<p>
+ *
+ * @Anotacoes:
+ * * @SpringBootTest (inicia o contexto completo da aplicacao, com a conferencia das estatisticas adiada
+ * para que a consulta dela nao entre na contagem)<p>
+ * * @AutoConfigureMockMvc (nao eh usado aqui, mas deixa a configuracao igual a de
+ * UserResourceStatementCountTest, para que as duas classes compartilhem o mesmo contexto em cache em vez
+ * de iniciar a aplicacao duas vezes)<p>
+ * * @Import (registra o SqlStatementRecorder no contexto)<p>
+ */
+@SpringBootTest(properties = "api.stats.reconcile-initial-delay-ms=3600000")
+@AutoConfigureMockMvc
+@Import(SqlStatementRecorder.class)
+class UserServiceStatementCountTest {
+    public static final String NOME = "nomeTeste";
+    public static final String PASSWORD = "123";
+
+    @Autowired
+    private UserService service;
+    @Autowired
+    private SqlStatementRecorder recorder;
+
+    private Users users;
+
+    /**
+     * @Finalidade: Cria um usuario com e-mail unico para o teste e descarta os comandos da criacao, para
+     * registrar apenas os comandos do metodo testado.
+     */
+    @BeforeEach
+    void setUp() {
+        users = service.create(new UserDTO(null, NOME, System.nanoTime() + "@contagem.com", PASSWORD));
+        recorder.reset();
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A atualizacao condicional grava o usuario com um unico update. (update)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o usuario retornado esta na versao seguinte.<p>
+     * * SEGUNDA: afirma que apenas um update foi enviado ao banco.<p>
+     */
+    @Test
+    void whenUpdateWithVersionThenSendASingleStatement() {
+        Users response = service.update(new UserDTO(users.getId(), "nomeNovo", users.getEmail(), PASSWORD),
+                users.getVersion());
+
+        Assertions.assertEquals(users.getVersion() + 1, response.getVersion());
+        recorder.assertStatements("update");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A atualizacao incondicional tambem eh um unico update. (update)<p>
+     *
+     * @Assertions: afirma que apenas um update foi enviado ao banco.<p>
+     */
+    @Test
+    void whenUpdateWithoutVersionThenSendASingleStatement() {
+        service.update(new UserDTO(users.getId(), "nomeNovo", users.getEmail(), PASSWORD), null);
+
+        recorder.assertStatements("update");
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A exclusao remove o usuario com um unico delete. (delete)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que apenas um delete foi enviado ao banco.<p>
+     * * SEGUNDA: afirma que o usuario nao existe mais.<p>
+     */
+    @Test
+    void whenDeleteThenSendASingleStatement() {
+        service.delete(users.getId(), null);
+
+        recorder.assertStatements("delete");
+        Assertions.assertThrows(ObjectNotFoundException.class, () -> service.findVersion(users.getId()));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A versao so eh consultada quando o comando condicional nao altera
+     * nenhuma linha, para diferenciar 404 de 412, e como o usuario criado esta no cache "users" a versao
+     * vem dele, sem outro comando. (delete)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que a exclusao com versao desatualizada lanca PreconditionFailedException.<p>
+     * * SEGUNDA: afirma que apenas o delete foi enviado ao banco.<p>
+     */
+    @Test
+    void whenDeleteWithStaleVersionThenReadTheVersionFromTheCache() {
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> service.delete(users.getId(), users.getVersion() + 1));
+
+        recorder.assertStatements("delete");
+    }
+}
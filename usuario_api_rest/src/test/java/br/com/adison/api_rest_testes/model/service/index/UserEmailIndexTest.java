@@ -0,0 +1,110 @@
+package br.com.adison.api_rest_testes.model.service.index;
+
+import br.com.adison.api_rest_testes.repository.UserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.stream.Stream;
+
+/**
+ * @Resumo: Classe criada para testar os metodos de UserEmailIndex, o indice de e-mails em memoria.<p>
+ *
+ * @Instancias:
+ * * index (objeto da classe testada)<p>
+ * * repository (objeto falso da classe de comunicacao com o banco, usado na carga do indice)<p>
+ * * ID, EMAIL, OUTRO_EMAIL (constantes usadas para preencher o indice).<p>
+ */
+class UserEmailIndexTest {
+    public static final Integer ID = 1;
+    public static final String EMAIL = "emailTeste@gmail.com";
+    public static final String OUTRO_EMAIL = "outro@gmail.com";
+
+    @InjectMocks
+    private UserEmailIndex index;
+    @Mock
+    private UserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Carrega os e-mails do banco e marca o indice como pronto. (warmUp)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o indice esta pronto.<p>
+     * * SEGUNDA: afirma que o e-mail carregado aponta para o seu id.<p>
+     * * TERCEIRA: afirma que um e-mail desconhecido retorna nulo.<p>
+     */
+    @Test
+    void whenWarmUpThenIndexTheEmailsOfTheDatabase() {
+        Mockito
+                .when(repository.streamEmails())
+                .thenReturn(Stream.of(view(ID, EMAIL)));
+        index.warmUp();
+
+        Assertions.assertTrue(index.isReady());
+        Assertions.assertEquals(ID, index.idOf(EMAIL));
+        Assertions.assertNull(index.idOf(OUTRO_EMAIL));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A carga nao recoloca um usuario excluido nem sobrescreve um
+     * e-mail atualizado enquanto ela acontecia. (warmUp, put e remove)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o usuario excluido durante a carga nao esta no indice.<p>
+     * * SEGUNDA: afirma que o e-mail novo gravado durante a carga foi mantido.<p>
+     * * TERCEIRA: afirma que o e-mail antigo lido do banco nao foi recolocado.<p>
+     */
+    @Test
+    void whenWarmUpThenKeepTheChangesMadeWhileLoading() {
+        Mockito
+                .when(repository.streamEmails())
+                .thenReturn(Stream.of(view(ID, EMAIL), view(2, "excluido@gmail.com")));
+        index.put(ID, OUTRO_EMAIL);
+        index.remove(2);
+        index.warmUp();
+
+        Assertions.assertNull(index.idOf("excluido@gmail.com"));
+        Assertions.assertEquals(ID, index.idOf(OUTRO_EMAIL));
+        Assertions.assertNull(index.idOf(EMAIL));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A troca de e-mail remove o e-mail antigo e a exclusao remove
+     * o e-mail atual. (put e remove)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o e-mail antigo nao aponta mais para o id.<p>
+     * * SEGUNDA: afirma que o e-mail novo aponta para o id.<p>
+     * * TERCEIRA: afirma que apos a exclusao o e-mail novo nao esta no indice.<p>
+     */
+    @Test
+    void whenPutANewEmailAndRemoveThenUpdateTheIndex() {
+        index.put(ID, EMAIL);
+        index.put(ID, OUTRO_EMAIL);
+
+        Assertions.assertNull(index.idOf(EMAIL));
+        Assertions.assertEquals(ID, index.idOf(OUTRO_EMAIL));
+
+        index.remove(ID);
+        Assertions.assertNull(index.idOf(OUTRO_EMAIL));
+    }
+
+    /**
+     * @Finalidade: Cria a projecao id/e-mail devolvida pelo repository.
+     */
+    private UserRepository.EmailView view(Integer id, String email) {
+        return new UserRepository.EmailView() {
+            public Integer getId() { return id; }
+            public String getEmail() { return email; }
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.adison.api_rest_testes.model.service.index;
+
+import br.com.adison.api_rest_testes.model.domain.dto.UserSearchHit;
+import br.com.adison.api_rest_testes.repository.UserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * @Resumo: Classe criada para testar os metodos de UserSearchIndex, o indice de trigramas em memoria
+ * usado pela busca tolerante a erros de digitacao.<p>
+ *
+ * @Instancias:
+ * * index (objeto da classe testada, com a nota minima padrao de 0.3)<p>
+ * * repository (objeto falso da classe de comunicacao com o banco, usado na carga do indice)<p>
+ */
+class UserSearchIndexTest {
+    @InjectMocks
+    private UserSearchIndex index;
+    @Mock
+    private UserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(index, "minScore", 0.3);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Gera os trigramas das palavras normalizadas, sem acentos e em
+     * minusculas, com o preenchimento de espacos. (trigrams)<p>
+     *
+     * @Assertions: afirma os trigramas de "Ána" e de "a.b" (duas palavras de uma letra).
+     */
+    @Test
+    void whenTrigramsThenNormalizeAndPadEachWord() {
+        Assertions.assertEquals(Set.of("  a", " an", "ana", "na "), UserSearchIndex.trigrams("Ána", null));
+        Assertions.assertEquals(Set.of("  a", " a ", "  b", " b "), UserSearchIndex.trigrams(null, "a.b"));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Carrega os usuarios do banco e encontra um nome digitado com as
+     * letras trocadas, ordenando pela nota. (warmUp e search)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o indice esta pronto com os dois usuarios.<p>
+     * * SEGUNDA: afirma que "adsion" encontra apenas o Adison, com nota entre 0 e 1.<p>
+     * * TERCEIRA: afirma que a busca pelo dominio do e-mail traz os dois, o de texto mais curto primeiro.<p>
+     */
+    @Test
+    void whenWarmUpThenFindUsersWithTypos() {
+        Mockito
+                .when(repository.streamSearchViews())
+                .thenReturn(Stream.of(view(1, "Adison", "adison@gmail.com"), view(2, "Lorival", "lorival@gmail.com")));
+        index.warmUp();
+
+        Assertions.assertTrue(index.isReady());
+        Assertions.assertEquals(2, index.size());
+        List<UserSearchHit> hits = index.search("adsion", 10);
+        Assertions.assertEquals(List.of(1), hits.stream().map(UserSearchHit::getId).toList());
+        Assertions.assertTrue(hits.get(0).getScore() > 0 && hits.get(0).getScore() < 1);
+        Assertions.assertEquals(List.of(1, 2), index.search("gmail", 10).stream().map(UserSearchHit::getId).toList());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A alteracao troca os trigramas do usuario, a alteracao parcial
+     * mantem o campo nao informado e a exclusao retira o usuario. (put e remove)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o nome antigo nao encontra mais o usuario e o novo encontra.<p>
+     * * SEGUNDA: afirma que o e-mail continua indexado depois de alterar apenas o nome.<p>
+     * * TERCEIRA: afirma que depois da exclusao nada eh encontrado e o indice fica vazio.<p>
+     */
+    @Test
+    void whenPutAndRemoveThenUpdateThePostings() {
+        index.put(1, "Renata", "adison@gmail.com");
+        index.put(1, "Marcela", null);
+
+        Assertions.assertTrue(index.search("renata", 10).isEmpty());
+        Assertions.assertEquals("Marcela", index.search("marcela", 10).get(0).getName());
+        Assertions.assertEquals("adison@gmail.com", index.search("adison@gmail.com", 10).get(0).getEmail());
+
+        index.remove(1);
+        Assertions.assertTrue(index.search("marcela", 10).isEmpty());
+        Assertions.assertEquals(0, index.size());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A carga nao recoloca um usuario excluido nem sobrescreve um
+     * usuario alterado enquanto ela acontecia. (warmUp, put e remove)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o usuario excluido durante a carga nao eh encontrado.<p>
+     * * SEGUNDA: afirma que o nome gravado durante a carga foi mantido.<p>
+     */
+    @Test
+    void whenWarmUpThenKeepTheChangesMadeWhileLoading() {
+        Mockito
+                .when(repository.streamSearchViews())
+                .thenReturn(Stream.of(view(1, "Adison", "adison@gmail.com"), view(2, "Lorival", "lorival@gmail.com")));
+        index.put(1, "Marcela", "marcela@gmail.com");
+        index.remove(2);
+        index.warmUp();
+
+        Assertions.assertTrue(index.search("lorival", 10).isEmpty());
+        Assertions.assertEquals("Marcela", index.search("marcela", 10).get(0).getName());
+        Assertions.assertTrue(index.search("adison", 10).isEmpty());
+    }
+
+    /**
+     * @Finalidade: Cria a projecao id/nome/e-mail devolvida pelo repository.
+     */
+    private UserRepository.SearchView view(Integer id, String name, String email) {
+        return new UserRepository.SearchView() {
+            public Integer getId() { return id; }
+            public String getName() { return name; }
+            public String getEmail() { return email; }
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.adison.api_rest_testes.model.service.loader;
+
+import br.com.adison.api_rest_testes.model.service.exceptions.ObjectNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @Resumo: Classe criada para testar os metodos de SingleFlight, que agrupa as chamadas simultaneas da
+ * mesma chave em uma unica carga.<p>
+ *
+ * @Instancias:
+ * * flight (objeto da classe testada, com as metricas "teste.loads" e "teste.coalesced")<p>
+ * * executor (threads que fazem as chamadas simultaneas)<p>
+ */
+class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    private SingleFlight<Integer, String> flight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        flight = new SingleFlight<>("teste");
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    /**
+     * @Funcionalidade_original_testada: As chamadas que chegam durante a carga da mesma chave recebem o
+     * resultado dela, sem nova carga. (execute e bindTo)<p>
+     *
+     * @Funcionamento: a carga fica presa no latch ate as outras 7 chamadas estarem esperando por ela.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que todas as chamadas receberam o mesmo valor.<p>
+     * * SEGUNDA: afirma que a carga foi executada uma unica vez e que 7 chamadas foram agrupadas, tambem
+     * nas metricas.<p>
+     */
+    @Test
+    void whenCallsOverlapThenLoadOnceAndShareTheResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        List<Future<String>> results = callConcurrently(() -> {
+            executed.incrementAndGet();
+            await(release);
+            return "usuario";
+        });
+        waitUntilCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results)
+            Assertions.assertEquals("usuario", result.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, executed.get());
+        MeterRegistry registry = new SimpleMeterRegistry();
+        flight.bindTo(registry);
+        Assertions.assertEquals(1, registry.get("teste.loads").functionCounter().count());
+        Assertions.assertEquals(CALLERS - 1, registry.get("teste.coalesced").functionCounter().count());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A exception da carga chega a todas as chamadas agrupadas, sem o
+     * involucro do CompletableFuture, e a chave eh liberada depois. (execute)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que todas as chamadas terminaram com ObjectNotFoundException.<p>
+     * * SEGUNDA: afirma que a chamada seguinte executa uma nova carga.<p>
+     */
+    @Test
+    void whenTheLoadFailsThenEveryCallerReceivesTheException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = callConcurrently(() -> {
+            await(release);
+            throw new ObjectNotFoundException("Objeto não encontrado!");
+        });
+        waitUntilCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Exception ex = Assertions.assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(ObjectNotFoundException.class, ex.getCause().getClass());
+        }
+        Assertions.assertEquals("novo", flight.execute(1, () -> "novo"));
+        Assertions.assertEquals(2, flight.getLoads());
+    }
+
+    /**
+     * @Finalidade: Faz CALLERS chamadas simultaneas para a chave 1 com a mesma carga.
+     */
+    private List<Future<String>> callConcurrently(Supplier<String> loader) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++)
+            results.add(executor.submit(() -> flight.execute(1, loader)));
+        return results;
+    }
+
+    /**
+     * @Finalidade: Espera ate que a quantidade de chamadas agrupadas seja a esperada.
+     */
+    private void waitUntilCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getCoalesced() < expected && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        Assertions.assertEquals(expected, flight.getCoalesced());
+    }
+
+    /**
+     * @Finalidade: Espera o latch dentro da carga, sem excecao verificada.
+     */
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
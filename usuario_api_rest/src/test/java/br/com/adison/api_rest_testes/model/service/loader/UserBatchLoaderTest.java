@@ -0,0 +1,146 @@
+package br.com.adison.api_rest_testes.model.service.loader;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Resumo: Classe criada para testar os metodos de UserBatchLoader, que junta as leituras simultaneas de
+ * ids diferentes em uma unica consulta findAllById.<p>
+ *
+ * @Instancias:
+ * * loader (objeto da classe testada, com uma janela longa para que as leituras caiam no mesmo lote)<p>
+ * * repository (mock do banco)<p>
+ * * registry (SimpleMeterRegistry com a metrica "user.find-by-id.batch")<p>
+ */
+class UserBatchLoaderTest {
+    private static final int CALLERS = 4;
+
+    @InjectMocks
+    private UserBatchLoader loader;
+    @Mock
+    private UserRepository repository;
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(loader, "registry", registry);
+        ReflectionTestUtils.setField(loader, "enabled", true);
+        ReflectionTestUtils.setField(loader, "windowMs", 500L);
+        ReflectionTestUtils.setField(loader, "maxBatch", 100);
+        loader.start();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @Funcionalidade_original_testada: As leituras simultaneas de ids diferentes sao atendidas por uma
+     * unica consulta, e o id que nao existe recebe vazio. (load)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o findAllById retornando os usuarios 1, 2 e 3 (o id 4 nao existe).<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que cada leitura recebeu o seu usuario, e a do id 4 recebeu vazio.<p>
+     * * SEGUNDA: afirma que a metrica registrou uma consulta com os 4 ids.<p>
+     *
+     * @Verify: verifica que o findAllById foi chamado uma unica vez.<p>
+     */
+    @Test
+    void whenLoadsOverlapThenQueryOnceForEveryId() throws Exception {
+        Mockito.when(repository.findAllById(Mockito.anyIterable()))
+                .thenReturn(List.of(user(1), user(2), user(3)));
+
+        List<Future<Optional<Users>>> results = loadConcurrently(1, 2, 3, 4);
+
+        for (int i = 0; i < 3; i++)
+            Assertions.assertEquals(i + 1, results.get(i).get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        Assertions.assertTrue(results.get(3).get(5, TimeUnit.SECONDS).isEmpty());
+        Assertions.assertEquals(1, registry.get("user.find-by-id.batch").summary().count());
+        Assertions.assertEquals(CALLERS, registry.get("user.find-by-id.batch").summary().totalAmount());
+        Mockito.verify(repository, Mockito.times(1)).findAllById(Mockito.anyIterable());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A exception da consulta chega a todas as leituras do lote. (load)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o findAllById lancando DataAccessResourceFailureException.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que todas as leituras terminaram com a exception original.<p>
+     */
+    @Test
+    void whenTheQueryFailsThenEveryLoadReceivesTheException() throws Exception {
+        Mockito.when(repository.findAllById(Mockito.anyIterable()))
+                .thenThrow(new DataAccessResourceFailureException("banco fora"));
+
+        for (Future<Optional<Users>> result : loadConcurrently(1, 2, 3, 4)) {
+            Exception ex = Assertions.assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(DataAccessResourceFailureException.class, ex.getCause().getClass());
+        }
+    }
+
+    /**
+     * @Funcionalidade_original_testada: O lote que junta max-batch ids eh consultado sem esperar o fim
+     * da janela. (load)<p>
+     *
+     * @Funcionamento: a janela eh de 10 segundos e o max-batch eh 2, entao so o fechamento antecipado
+     * responde antes do tempo limite do teste.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que as duas leituras foram respondidas em menos de 5 segundos.<p>
+     */
+    @Test
+    void whenTheBatchIsFullThenQueryWithoutWaitingTheWindow() throws Exception {
+        ReflectionTestUtils.setField(loader, "windowMs", 10_000L);
+        ReflectionTestUtils.setField(loader, "maxBatch", 2);
+        Mockito.when(repository.findAllById(Mockito.anyIterable()))
+                .thenReturn(List.of(user(1), user(2)));
+
+        for (Future<Optional<Users>> result : loadConcurrently(1, 2))
+            Assertions.assertTrue(result.get(5, TimeUnit.SECONDS).isPresent());
+    }
+
+    /**
+     * @Finalidade: Faz uma leitura simultanea para cada id, na ordem recebida.
+     */
+    private List<Future<Optional<Users>>> loadConcurrently(Integer... ids) {
+        List<Future<Optional<Users>>> results = new ArrayList<>();
+        for (Integer id : ids)
+            results.add(executor.submit(() -> loader.load(id)));
+        return results;
+    }
+
+    /**
+     * @Finalidade: Cria um usuario com o id recebido.
+     */
+    private static Users user(Integer id) {
+        return new Users(id, "nome" + id, "email" + id + "@gmail.com", "123", 0L);
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.adison.api_rest_testes.model.service.queue;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.service.exceptions.DataIntegratyViolationException;
+import br.com.adison.api_rest_testes.model.service.exceptions.ServiceUnavailableException;
+import br.com.adison.api_rest_testes.model.service.index.UserEmailIndex;
+import br.com.adison.api_rest_testes.model.service.index.UserSearchIndex;
+import br.com.adison.api_rest_testes.model.service.stats.UserStatistics;
+import br.com.adison.api_rest_testes.repository.UserIdBlock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+
+/**
+ * @Resumo: Classe criada para testar os metodos de UserCreateQueue, a fila de gravacao adiada do
+ * cadastro. A thread de fundo nao eh iniciada (api.write-behind.enabled desligada), entao os lotes sao
+ * gravados pelo flush(id), na thread do teste.<p>
+ *
+ * @Instancias:
+ * * queue (objeto da classe testada, com fila de 2 posicoes e lotes de 10 usuarios)<p>
+ * * jdbcTemplate (objeto falso que recebe o insert em lote e os inserts um a um)<p>
+ * * transactionTemplate (objeto falso que executa a gravacao recebida)<p>
+ * * emailIndex, searchIndex, statistics e cacheManager (objetos falsos desfeitos quando um cadastro eh
+ * descartado)<p>
+ * * idBlock (bloco de ids real, o mesmo compartilhado com o modo reativo)<p>
+ * * registry (registro de metricas em memoria)<p>
+ */
+class UserCreateQueueTest {
+    @InjectMocks
+    private UserCreateQueue queue;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private UserEmailIndex emailIndex;
+    @Mock
+    private UserSearchIndex searchIndex;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private UserStatistics statistics;
+    @Spy
+    private UserIdBlock idBlock = new UserIdBlock();
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(queue, "registry", registry);
+        ReflectionTestUtils.setField(queue, "batchSize", 10);
+        ReflectionTestUtils.setField(queue, "queueCapacity", 2);
+        ReflectionTestUtils.setField(queue, "retryAfterSeconds", 2L);
+        queue.start();
+        Mockito
+                .doAnswer(invocation -> {
+                    invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+                    return null;
+                })
+                .when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Reserva os ids em blocos da sequence, com a mesma faixa do
+     * otimizador pooled do Hibernate. (reserveId)<p>
+     *
+     * @Mockito: eh mockada a sequence retornando 51 e depois 101.<p>
+     *
+     * @Assertions: afirma que o primeiro bloco vai de 2 a 51 e o proximo id eh 52.<p>
+     *
+     * @Verify: verifica se a sequence foi consultada apenas duas vezes para 51 ids.
+     */
+    @Test
+    void whenReserveIdThenUseTheSequenceBlock() {
+        Mockito
+                .when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+                .thenReturn(51L, 101L);
+
+        Assertions.assertEquals(2, queue.reserveId());
+        for (int id = 3; id <= 51; id++)
+            Assertions.assertEquals(id, queue.reserveId());
+        Assertions.assertEquals(52, queue.reserveId());
+        Mockito.verify(jdbcTemplate, Mockito.times(2)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Recusa o e-mail de outro cadastro pendente e, com a fila cheia,
+     * recusa o cadastro com Retry-After. (submit)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o e-mail repetido termina com DataIntegratyViolationException e que o e-mail
+     * pendente so eh de outro usuario para ids diferentes do dono.<p>
+     * * SEGUNDA: afirma que o terceiro cadastro termina com ServiceUnavailableException de 2 segundos.<p>
+     * * TERCEIRA: afirma que o recusado nao ficou pendente e que a recusa foi contada.<p>
+     */
+    @Test
+    void whenSubmitThenRejectPendingEmailsAndAFullQueue() {
+        queue.submit(users(1, "a@gmail.com"));
+        Assertions.assertThrows(DataIntegratyViolationException.class, () -> queue.submit(users(2, "a@gmail.com")));
+        queue.submit(users(3, "b@gmail.com"));
+        Assertions.assertTrue(queue.isPendingEmail("a@gmail.com", 2));
+        Assertions.assertFalse(queue.isPendingEmail("a@gmail.com", 1));
+
+        ServiceUnavailableException ex = Assertions.assertThrows(ServiceUnavailableException.class,
+                () -> queue.submit(users(4, "c@gmail.com")));
+        Assertions.assertEquals(2, ex.getRetryAfterSeconds());
+        Assertions.assertNull(queue.pending(4));
+        Assertions.assertFalse(queue.isPendingEmail("c@gmail.com", null));
+        Assertions.assertEquals(1, registry.counter("user.create.rejected").count());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: O flush(id) grava a fila em um unico lote e os usuarios deixam de
+     * ser pendentes. (flush e pending)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o usuario eh devolvido pela fila antes da gravacao.<p>
+     * * SEGUNDA: afirma que depois do flush nenhum dos dois esta pendente.<p>
+     * * TERCEIRA: afirma que foi registrado um lote de 2 usuarios.<p>
+     *
+     * @Verify: verifica se o insert em lote foi executado uma vez.
+     */
+    @Test
+    void whenFlushThenWriteTheQueueInASingleBatch() {
+        queue.submit(users(1, "a@gmail.com"));
+        queue.submit(users(2, "b@gmail.com"));
+        Assertions.assertEquals("a@gmail.com", queue.pending(1).getEmail());
+
+        queue.flush(1);
+
+        Assertions.assertNull(queue.pending(1));
+        Assertions.assertNull(queue.pending(2));
+        Assertions.assertEquals(2, registry.summary("user.create.batch").totalAmount());
+        Mockito.verify(jdbcTemplate, Mockito.times(1)).batchUpdate(anyString(), anyList(), eq(2), any());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Quando o banco recusa o lote por um e-mail gravado por outro
+     * caminho, os usuarios sao gravados um a um e apenas o recusado eh descartado. (flush, write e discard)<p>
+     *
+     * @Mockito:
+     * * PRIMEIRA: eh mockado o insert em lote lancando a violacao da restricao unique.<p>
+     * * SEGUNDA: eh mockado o insert do usuario 2 lancando a mesma violacao.<p>
+     *
+     * @Assertions: afirma que um cadastro foi contado como descartado.<p>
+     *
+     * @Verify:
+     * * PRIMEIRA: verifica se o usuario 1 foi gravado sozinho.<p>
+     * * SEGUNDA: verifica se apenas o usuario 2 saiu dos indices e das estatisticas.<p>
+     */
+    @Test
+    void whenTheBatchIsRejectedThenWriteEachAndDiscardOnlyTheRejected() {
+        Mockito
+                .when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any()))
+                .thenThrow(new DataIntegrityViolationException("unique"));
+        Mockito
+                .when(jdbcTemplate.update(anyString(), eq(2), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("unique"));
+        queue.submit(users(1, "a@gmail.com"));
+        queue.submit(users(2, "b@gmail.com"));
+
+        queue.flush(2);
+
+        Assertions.assertEquals(1, registry.counter("user.create.failed").count());
+        Mockito.verify(jdbcTemplate, Mockito.times(1)).update(anyString(), eq(1), any(), any(), any(), any());
+        Mockito.verify(emailIndex, Mockito.times(1)).remove(2);
+        Mockito.verify(emailIndex, Mockito.never()).remove(1);
+        Mockito.verify(searchIndex, Mockito.times(1)).remove(2);
+        Mockito.verify(statistics, Mockito.times(1)).removed("b@gmail.com");
+        Mockito.verify(statistics, Mockito.never()).removed("a@gmail.com");
+    }
+
+    /**
+     * @Finalidade: Cria um usuario validado, com o id reservado e a versao inicial.
+     */
+    private static Users users(Integer id, String email) {
+        return new Users(id, "nome" + id, email, "123", 0L);
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.adison.api_rest_testes.model.service.stats;
+
+import br.com.adison.api_rest_testes.model.domain.Users;
+import br.com.adison.api_rest_testes.model.domain.dto.UserStats;
+import br.com.adison.api_rest_testes.model.service.queue.UserCreateQueue;
+import br.com.adison.api_rest_testes.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * @Resumo: Classe criada para testar os metodos de UserStatistics, que mantem em memoria o total de
+ * usuarios e a quantidade por dominio de e-mail.<p>
+ *
+ * @Instancias:
+ * * statistics (objeto da classe testada)<p>
+ * * repository (mock da contagem agrupada do banco)<p>
+ * * createQueue, createQueueProvider (mock da fila de gravacao adiada, sem cadastros pendentes salvo
+ * quando o teste indicar)<p>
+ * * registry (SimpleMeterRegistry com as metricas "user.stats.total" e "user.stats.drift")<p>
+ */
+class UserStatisticsTest {
+    @InjectMocks
+    private UserStatistics statistics;
+    @Mock
+    private UserRepository repository;
+    @Mock
+    private UserCreateQueue createQueue;
+    @Mock
+    private ObjectProvider<UserCreateQueue> createQueueProvider;
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(statistics, "registry", registry);
+        ReflectionTestUtils.setField(statistics, "createQueue", createQueueProvider);
+        Mockito.when(createQueueProvider.getObject()).thenReturn(createQueue);
+        pending();
+        statistics.start();
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Os cadastros, trocas de e-mail e exclusoes mantem o total e os
+     * dominios, sem diferenciar maiusculas. (added, changed, removed e snapshot)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o total corresponde aos usuarios restantes, tambem na metrica.<p>
+     * * SEGUNDA: afirma que os dominios vem do que tem mais usuarios para o que tem menos, sem os vazios.<p>
+     */
+    @Test
+    void whenUsersChangeThenKeepTheTotalAndTheDomains() {
+        statistics.added("a@gmail.com");
+        statistics.added("B@GMAIL.com");
+        statistics.added("c@empresa.com");
+        statistics.added("d@outra.com");
+        statistics.changed("c@empresa.com", "c@gmail.com");
+        statistics.changed(null, "e@empresa.com");
+        statistics.removed("d@outra.com");
+
+        UserStats stats = statistics.snapshot();
+
+        Assertions.assertEquals(3, stats.getTotal());
+        Assertions.assertEquals(3, registry.get("user.stats.total").gauge().value());
+        Assertions.assertEquals(List.of(Map.entry("gmail.com", 3L)), List.copyOf(stats.getDomains().entrySet()));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: A conferencia leva os contadores a contagem do banco, e so as
+     * correcoes depois da carga inicial contam na metrica. (reconcile)<p>
+     *
+     * @Mockito: eh mockada a contagem do banco com 2 usuarios do gmail.com e 1 da empresa.com.<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que a carga inicial preenche os contadores sem contar como correcao.<p>
+     * * SEGUNDA: afirma que a segunda conferencia desfaz um cadastro que nao chegou ao banco e conta a
+     * correcao do total e do dominio.<p>
+     */
+    @Test
+    void whenReconcileThenMatchTheDatabaseAndCountTheDrift() {
+        Mockito
+                .when(repository.countByEmailDomain())
+                .thenReturn(List.of(count("gmail.com", 2L), count("empresa.com", 1L)));
+
+        statistics.reconcile();
+        Assertions.assertEquals(new UserStats(3, Map.of("gmail.com", 2L, "empresa.com", 1L)), statistics.snapshot());
+        Assertions.assertEquals(0, registry.get("user.stats.drift").functionCounter().count());
+
+        statistics.added("perdido@outra.com");
+        statistics.reconcile();
+        Assertions.assertEquals(new UserStats(3, Map.of("gmail.com", 2L, "empresa.com", 1L)), statistics.snapshot());
+        Assertions.assertEquals(2, registry.get("user.stats.drift").functionCounter().count());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Os cadastros ainda na fila de gravacao adiada ja estao nos
+     * contadores e ainda nao estao no banco, e a conferencia os soma a contagem do banco. (reconcile)<p>
+     *
+     * @Mockito: eh mockada a contagem do banco com 1 usuario do gmail.com e a fila com 1 cadastro
+     * pendente da empresa.com.<p>
+     *
+     * @Assertions: afirma que o cadastro pendente continua contado e que nao ha correcao na metrica.<p>
+     */
+    @Test
+    void whenReconcileWithPendingUsersThenKeepThemCounted() {
+        Mockito
+                .when(repository.countByEmailDomain())
+                .thenReturn(List.of(count("gmail.com", 1L)));
+        statistics.reconcile();
+
+        statistics.added("pendente@empresa.com");
+        pending(new Users(2, "pendente", "pendente@empresa.com", "123"));
+        statistics.reconcile();
+
+        Assertions.assertEquals(new UserStats(2, Map.of("gmail.com", 1L, "empresa.com", 1L)), statistics.snapshot());
+        Assertions.assertEquals(0, registry.get("user.stats.drift").functionCounter().count());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Um cadastro contado enquanto a consulta da conferencia executa
+     * nao eh apagado pela correcao. (reconcile)<p>
+     *
+     * @Mockito: eh mockada a contagem do banco com 1 usuario do gmail.com, e durante a segunda consulta
+     * outro usuario do gmail.com eh contado, como um cadastro concorrente.<p>
+     *
+     * @Assertions: afirma que o cadastro concorrente continua no total e no dominio e que nao ha correcao
+     * na metrica.<p>
+     */
+    @Test
+    void whenUserIsAddedDuringReconcileThenKeepIt() {
+        Mockito
+                .when(repository.countByEmailDomain())
+                .thenReturn(List.of(count("gmail.com", 1L)))
+                .thenAnswer(invocation -> {
+                    statistics.added("novo@gmail.com");
+                    return List.of(count("gmail.com", 1L));
+                });
+        statistics.reconcile();
+        statistics.reconcile();
+
+        Assertions.assertEquals(new UserStats(2, Map.of("gmail.com", 2L)), statistics.snapshot());
+        Assertions.assertEquals(0, registry.get("user.stats.drift").functionCounter().count());
+    }
+
+    /**
+     * @Finalidade: Faz a fila de gravacao adiada executar a acao da conferencia com os usuarios
+     * pendentes informados.
+     */
+    private void pending(Users... users) {
+        Mockito
+                .doAnswer(invocation -> invocation.<Function<Collection<Users>, Object>>getArgument(0)
+                        .apply(List.of(users)))
+                .when(createQueue).withPending(any());
+    }
+
+    /**
+     * @Finalidade: Cria uma linha da contagem agrupada por dominio.
+     */
+    private static UserRepository.DomainCount count(String domain, Long total) {
+        return new UserRepository.DomainCount() {
+            @Override
+            public String getDomain() {
+                return domain;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -0,0 +1,192 @@
+package br.com.adison.api_rest_testes.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @Resumo: Classe criada para testar a decisao do SlowQueryLogger sobre quais comandos SQL vao para o
+ * log. O logger eh criado sem o Spring, com as propriedades preenchidas por ReflectionTestUtils, e a
+ * saida do log eh capturada pelo OutputCaptureExtension do Spring Boot.<p>
+ *
+ * @Instancias:
+ * * logger (objeto da classe testada)<p>
+ * * SQL (comando usado nas execucoes simuladas)<p>
+ *
+ * @Anotacoes:
+ * * @ExtendWith(OutputCaptureExtension.class) (captura o que a aplicacao escreve no log)<p>
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLoggerTest {
+    public static final String SQL = "select u1_0.id from users u1_0 where u1_0.email=?";
+    public static final String EMAIL = "emailTeste@gmail.com";
+    public static final String SENHA = "senhaSecreta";
+
+    private SlowQueryLogger logger;
+
+    /**
+     * @Finalidade: Cria o logger com limite de 100ms, sem amostragem e com os parametros no log.
+     */
+    @BeforeEach
+    void setUp() {
+        logger = new SlowQueryLogger();
+        ReflectionTestUtils.setField(logger, "thresholdMs", 100L);
+        ReflectionTestUtils.setField(logger, "sampleRate", 0.0);
+        ReflectionTestUtils.setField(logger, "logParameters", true);
+        ReflectionTestUtils.setField(logger, "queueCapacity", 10);
+        logger.start();
+    }
+
+    /**
+     * @Finalidade: Encerra a thread de fundo, escrevendo o que estiver na fila.
+     */
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        logger.stop();
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Um comando acima do limite vai para o log com o tempo, o metodo do
+     * servico, o SQL e os parametros. (afterQuery)<p>
+     *
+     * @Mockito: eh mockado o ponto de juncao do ServiceMethodAspect, executando o comando dentro do metodo
+     * "findById" do servico.<p>
+     *
+     * @Assertions: afirma que a linha do log traz o motivo, o tempo, o metodo, o SQL e o e-mail vinculado.
+     */
+    @Test
+    void whenQueryIsSlowThenLogItWithMethodAndParameters(CapturedOutput output) throws Throwable {
+        ProceedingJoinPoint joinPoint = Mockito.mock(ProceedingJoinPoint.class);
+        Signature signature = Mockito.mock(Signature.class);
+        Mockito.when(joinPoint.getSignature()).thenReturn(signature);
+        Mockito.when(signature.getName()).thenReturn("findById");
+        Mockito.when(joinPoint.proceed()).then(invocation -> {
+            logger.afterQuery(execution(150), List.of(query()));
+            return null;
+        });
+
+        new ServiceMethodAspect().track(joinPoint);
+        logger.stop();
+
+        Assertions.assertTrue(output.getOut().contains("slow 150ms method=UserService.findById"), output.getOut());
+        Assertions.assertTrue(output.getOut().contains("sql=[" + SQL + "]"));
+        Assertions.assertTrue(output.getOut().contains("params=[(" + EMAIL + ")]"));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Um comando abaixo do limite, sem amostragem, nao vai para o log.
+     * (afterQuery)<p>
+     *
+     * @Assertions: afirma que o SQL nao aparece no log.
+     */
+    @Test
+    void whenQueryIsFastThenDoNotLogIt(CapturedOutput output) throws InterruptedException {
+        logger.afterQuery(execution(5), List.of(query()));
+        logger.stop();
+
+        Assertions.assertFalse(output.getOut().contains(SQL));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Com a amostragem em 1 todo comando rapido vai para o log como
+     * amostra, sem o metodo do servico quando nao ha um em execucao. (afterQuery)<p>
+     *
+     * @Assertions: afirma que a linha do log traz o motivo "sample" e o metodo vazio "-".
+     */
+    @Test
+    void whenSampleRateIsOneThenLogFastQueriesAsSamples(CapturedOutput output) throws InterruptedException {
+        ReflectionTestUtils.setField(logger, "sampleRate", 1.0);
+
+        logger.afterQuery(execution(5), List.of(query()));
+        logger.stop();
+
+        Assertions.assertTrue(output.getOut().contains("sample 5ms method=-"), output.getOut());
+    }
+
+    /**
+     * @Funcionalidade_original_testada: Com os parametros ligados, a senha vinculada a coluna password eh
+     * mascarada e os demais valores continuam no log. (afterQuery)<p>
+     *
+     * @Assertions:
+     * * PRIMEIRA: afirma que o log traz o e-mail e o id, com a senha trocada pela mascara.<p>
+     * * SEGUNDA: afirma que a senha nao aparece no log.<p>
+     */
+    @Test
+    void whenQueryBindsThePasswordThenMaskIt(CapturedOutput output) throws InterruptedException {
+        QueryInfo queryInfo = new QueryInfo("update users set email=?,password=?,version=version+1 where id=?");
+        queryInfo.getParametersList().add(List.of(setString(1, EMAIL), setString(2, SENHA), setString(3, "7")));
+
+        logger.afterQuery(execution(150), List.of(queryInfo));
+        logger.stop();
+
+        Assertions.assertTrue(output.getOut().contains("params=[(" + EMAIL + ", " + SlowQueryLogger.MASK + ", 7)]"),
+                output.getOut());
+        Assertions.assertFalse(output.getOut().contains(SENHA));
+    }
+
+    /**
+     * @Funcionalidade_original_testada: As posicoes da coluna password sao encontradas na lista de colunas
+     * do insert e nos "?" precedidos de "password =" dos demais comandos. (passwordParameters)<p>
+     *
+     * @Assertions: afirma a posicao da senha no insert do Hibernate, no insert da fila de gravacao adiada,
+     * no update, na comparacao do where e que um select sem senha nao tem posicao mascarada.<p>
+     */
+    @Test
+    void whenFindPasswordParametersThenReturnThePositionsOfThePasswordColumn() {
+        Assertions.assertEquals(Set.of(3), SlowQueryLogger.passwordParameters(
+                "insert into users (email,name,password,version,id) values (?,?,?,?,?)"));
+        Assertions.assertEquals(Set.of(4), SlowQueryLogger.passwordParameters(
+                "insert into users (id, name, email, password, version) values (?, ?, ?, ?, ?)"));
+        Assertions.assertEquals(Set.of(2), SlowQueryLogger.passwordParameters(
+                "update users set name=?,password=?,version=version+1 where id=?"));
+        Assertions.assertEquals(Set.of(1), SlowQueryLogger.passwordParameters(
+                "select u1_0.id from users u1_0 where u1_0.password = ?"));
+        Assertions.assertEquals(Set.of(), SlowQueryLogger.passwordParameters(SQL));
+    }
+
+    /**
+     * @Finalidade: Cria uma execucao bem sucedida com o tempo informado.
+     */
+    private static ExecutionInfo execution(long elapsed) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setElapsedTime(elapsed);
+        execInfo.setSuccess(true);
+        return execInfo;
+    }
+
+    /**
+     * @Finalidade: Cria o comando SQL com o e-mail vinculado ao primeiro parametro.
+     */
+    private static QueryInfo query() {
+        QueryInfo queryInfo = new QueryInfo(SQL);
+        queryInfo.getParametersList().add(List.of(setString(1, EMAIL)));
+        return queryInfo;
+    }
+
+    /**
+     * @Finalidade: Cria a vinculacao do valor informado na posicao informada, como o setString do JDBC.
+     */
+    private static ParameterSetOperation setString(int index, String value) {
+        try {
+            return new ParameterSetOperation(
+                    PreparedStatement.class.getMethod("setString", int.class, String.class), new Object[]{index, value});
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.adison.api_rest_testes.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestComponent;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @Resumo: Classe de apoio aos testes que registra os comandos SQL enviados ao banco H2 real, para que
+ * um teste possa afirmar a quantidade e o tipo exatos dos comandos de um endpoint ou de um metodo do
+ * servico. Assim uma alteracao que transforma uma consulta em tres (por exemplo um findById antes de
+ * cada gravacao, ou um N+1 ao montar uma lista) quebra o build em vez de passar despercebida.<p>
+ *
+ * @Funcionamento: Como BeanPostProcessor, ela envolve o DataSource do contexto com o proxy do
+ * datasource-proxy e se registra como ouvinte (QueryExecutionListener) de cada execucao. Cada
+ * comando executado eh guardado na ordem em que chegou ao banco; um lote JDBC (executeBatch) conta
+ * como um unico comando, pois eh uma unica ida ao banco.<p>
+ *
+ * @Sequence: A leitura da sequence users_seq ("next value for") eh ignorada. O Hibernate reserva
+ * blocos de 50 ids (allocationSize), entao essa leitura so acontece em uma a cada 50 insercoes e o
+ * momento dela depende da ordem em que os testes rodaram.<p>
+ *
+ * @Uso: A classe de teste importa esta classe com @Import(SqlStatementRecorder.class), recebe o bean
+ * com @Autowired, chama "reset()" depois de preparar os dados e ao final afirma os comandos com
+ * "assertStatements("select", "update")".<p>
+ *
+ * @Anotacoes:
+ * * @TestComponent (componente usado apenas pelos testes que o importam)<p>
+ */
+@TestComponent
+public class SqlStatementRecorder implements QueryExecutionListener, BeanPostProcessor {
+    private static final String SEQUENCE_FETCH = "next value for";
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    /**
+     * @Finalidade: Envolve o DataSource criado pelo Spring Boot com o proxy que avisa esta classe a cada
+     * comando executado. Se o DataSource ja for o proxy criado pelo SlowQueryConfigure, esta classe eh
+     * apenas acrescentada aos ouvintes dele. Os demais beans sao devolvidos sem alteracao.
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ProxyDataSource proxy) {
+            proxy.getProxyConfig().getQueryListener().addListener(this);
+            return proxy;
+        }
+        if (bean instanceof DataSource dataSource)
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(this)
+                    .build();
+        return bean;
+    }
+
+    /**
+     * @Finalidade: Nada a fazer antes da execucao, os comandos sao registrados apos executarem.
+     */
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    /**
+     * @Finalidade: Registra cada comando executado, menos a leitura da sequence.
+     */
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            String query = queryInfo.getQuery().trim();
+            if (!query.toLowerCase(Locale.ROOT).contains(SEQUENCE_FETCH))
+                statements.add(query);
+        }
+    }
+
+    /**
+     * @Finalidade: Descarta os comandos registrados ate aqui, normalmente depois da preparacao do teste.
+     */
+    public void reset() {
+        statements.clear();
+    }
+
+    /**
+     * @Finalidade: Retorna os comandos registrados desde o ultimo "reset()", na ordem de execucao.
+     */
+    public List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    /**
+     * @Finalidade: Retorna os tipos dos comandos registrados ("select", "insert", "update", "delete"),
+     * ou seja, a primeira palavra de cada comando em letras minusculas.
+     */
+    public List<String> types() {
+        return statements.stream()
+                .map(query -> query.split("\\s+", 2)[0].toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    /**
+     * @Finalidade: Afirma que foram executados exatamente os comandos dos tipos informados, na ordem
+     * informada. Sem argumentos afirma que nenhum comando chegou ao banco. A mensagem de falha lista os
+     * comandos executados para facilitar a investigacao.
+     */
+    public void assertStatements(String... expectedTypes) {
+        Assertions.assertEquals(List.of(expectedTypes), types(),
+                () -> "Comandos executados: " + statements);
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.adison.api_rest_testes.benchmark;
+
+import br.com.adison.api_rest_testes.ApiRestTestesApplication;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Resumo: Benchmark JMH de carga que compara o servidor web rodando com o pool de threads de
+ * plataforma do Tomcat, com threads virtuais (perfil "virtual") e no modo reativo com WebFlux e
+ * R2DBC (perfil "reactive"). Cada operacao dispara uma rajada de requisicoes simultaneas para
+ * "GET /user", que consulta o banco a cada chamada, e espera todas as respostas, entao o tempo
+ * medido eh o tempo para atender a rajada inteira. Com os dois usuarios iniciais a pagina do modo
+ * servlet e a lista do modo reativo trazem os mesmos dados.<p>
+ *
+ * @Parametros:
+ * * mode (platform: pool padrao do Tomcat e do Hikari, virtual: perfil "virtual", reactive: perfil "reactive")<p>
+ * * burst (quantidade de requisicoes simultaneas de cada rajada)<p>
+ *
+ * @Setup: A aplicacao completa eh iniciada uma vez por combinacao de parametros em uma porta
+ * aleatoria, com o perfil "local" e, nos outros modos, tambem o perfil do modo. O cliente HTTP usa
+ * threads virtuais para nao ser ele o gargalo da medicao.<p>
+ *
+ * @Observacao: So eh compilado pelo perfil maven "jdk21" e precisa rodar sobre um JDK 21:
+ * ./mvnw -Pjdk21,jmh verify -Djmh.includes=ThreadModeLoadBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadModeLoadBenchmark {
+    @Param({"platform", "virtual", "reactive"})
+    private String mode;
+
+    @Param({"200", "1000"})
+    private int burst;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiRestTestesApplication.class)
+                .profiles("platform".equals(mode) ? new String[]{"local"} : new String[]{"local", mode})
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        String port = context.getEnvironment().getProperty("local.server.port");
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/user?limit=50")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        clientExecutor.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int burstOfFindAll() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[burst];
+        for (int i = 0; i < burst; i++) {
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ThreadModeLoadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}